@@ -0,0 +1,403 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.configuration;
+
+import de.featjar.base.data.Result;
+import de.featjar.feature.configuration.Configuration.SelectionNotPossibleException;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents a configuration of Boolean variables and provides operations for the configuration process.
+ * In contrast to {@link Configuration}, the manual and automatic values of all variables are stored in four bit sets
+ * indexed by variable index, and the variable map is shared instead of copied.
+ * Thus, the variable map must not be modified as long as it is used by any configuration.
+ */
+public class BooleanConfiguration implements Cloneable {
+
+    private final VariableMap variableMap;
+    private final BitSet manualDefined;
+    private final BitSet manualValue;
+    private final BitSet automaticDefined;
+    private final BitSet automaticValue;
+
+    /**
+     * Creates a configuration in which all variables of the given variable map are undefined.
+     *
+     * @param variableMap the variable map, which is shared and must not be modified
+     */
+    public BooleanConfiguration(VariableMap variableMap) {
+        this.variableMap = Objects.requireNonNull(variableMap);
+        int size = variableMap.maxIndex() + 1;
+        manualDefined = new BitSet(size);
+        manualValue = new BitSet(size);
+        automaticDefined = new BitSet(size);
+        automaticValue = new BitSet(size);
+    }
+
+    /**
+     * Creates a configuration with the literals of the given assignment as manual values.
+     *
+     * @param booleanAssignment the assignment
+     * @param variableMap the variable map of the assignment, which is shared and must not be modified
+     */
+    public BooleanConfiguration(BooleanAssignment booleanAssignment, VariableMap variableMap) {
+        this(variableMap);
+        adopt(booleanAssignment);
+    }
+
+    /**
+     * Copy constructor. Copies the status of a given configuration and shares its variable map.
+     *
+     * @param configuration The configuration to clone
+     */
+    protected BooleanConfiguration(BooleanConfiguration configuration) {
+        variableMap = configuration.variableMap;
+        manualDefined = (BitSet) configuration.manualDefined.clone();
+        manualValue = (BitSet) configuration.manualValue.clone();
+        automaticDefined = (BitSet) configuration.automaticDefined.clone();
+        automaticValue = (BitSet) configuration.automaticValue.clone();
+    }
+
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+
+    /**
+     * {@return a list of all variables that have a manual and no automatic value}
+     */
+    public List<String> getManual() {
+        BitSet manual = (BitSet) manualDefined.clone();
+        manual.andNot(automaticDefined);
+        return getNames(manual);
+    }
+
+    /**
+     * {@return a list of all variables that have an automatic value}
+     */
+    public List<String> getAutomatic() {
+        return getNames(automaticDefined);
+    }
+
+    /**
+     * {@return a list of all selected variables}
+     */
+    public List<String> getSelected() {
+        return getNames(getValues(true));
+    }
+
+    /**
+     * {@return a list of all deselected variables}
+     */
+    public List<String> getDeselected() {
+        return getNames(getValues(false));
+    }
+
+    /**
+     * {@return a list of all undefined variables}
+     */
+    public List<String> getUndefined() {
+        BitSet undefined = new BitSet(variableMap.maxIndex() + 1);
+        undefined.set(1, variableMap.maxIndex() + 1);
+        undefined.andNot(manualDefined);
+        undefined.andNot(automaticDefined);
+        return getNames(undefined);
+    }
+
+    /**
+     * {@return the combined automatic and manual value of the variable with the given index}
+     * If an automatic value is set, this is returned. Otherwise the manual value is returned, which may be
+     * {@code null}.
+     *
+     * @param index the variable index
+     */
+    public Boolean getSelection(int index) {
+        return automaticDefined.get(index) ? getAutomatic(index) : getManual(index);
+    }
+
+    /**
+     * {@return the manual value of the variable with the given index, or {@code null} if it is undefined}
+     *
+     * @param index the variable index
+     */
+    public Boolean getManual(int index) {
+        return manualDefined.get(index) ? manualValue.get(index) : null;
+    }
+
+    /**
+     * {@return the automatic value of the variable with the given index, or {@code null} if it is undefined}
+     *
+     * @param index the variable index
+     */
+    public Boolean getAutomatic(int index) {
+        return automaticDefined.get(index) ? automaticValue.get(index) : null;
+    }
+
+    /**
+     * {@return the combined automatic and manual value of the variable with the given name}
+     *
+     * @param name the variable name
+     */
+    public Result<Boolean> getSelection(String name) {
+        return variableMap.get(name).map(this::getSelection);
+    }
+
+    /**
+     * Sets the manual value of the variable with the given index.
+     *
+     * @param index the variable index
+     * @param selection the value, {@code null} to make it undefined
+     *
+     * @throws SelectionNotPossibleException if the value contradicts the automatic value
+     */
+    public void setManual(int index, Boolean selection) {
+        set(index, selection, manualDefined, manualValue, automaticDefined, automaticValue);
+    }
+
+    /**
+     * Sets the automatic value of the variable with the given index.
+     *
+     * @param index the variable index
+     * @param selection the value, {@code null} to make it undefined
+     *
+     * @throws SelectionNotPossibleException if the value contradicts the manual value
+     */
+    public void setAutomatic(int index, Boolean selection) {
+        set(index, selection, automaticDefined, automaticValue, manualDefined, manualValue);
+    }
+
+    /**
+     * Sets the manual value of the variable with the given name.
+     *
+     * @param name the variable name
+     * @param selection the value, {@code null} to make it undefined
+     *
+     * @throws SelectionNotPossibleException if the value contradicts the automatic value
+     */
+    public void setManual(String name, Boolean selection) {
+        setManual(variableMap.get(name).orElseThrow(), selection);
+    }
+
+    /**
+     * Sets the automatic value of the variable with the given name.
+     *
+     * @param name the variable name
+     * @param selection the value, {@code null} to make it undefined
+     *
+     * @throws SelectionNotPossibleException if the value contradicts the manual value
+     */
+    public void setAutomatic(String name, Boolean selection) {
+        setAutomatic(variableMap.get(name).orElseThrow(), selection);
+    }
+
+    private static void set(
+            int index, Boolean selection, BitSet defined, BitSet value, BitSet otherDefined, BitSet otherValue) {
+        if (selection == null) {
+            defined.clear(index);
+            value.clear(index);
+        } else {
+            if (otherDefined.get(index) && otherValue.get(index) != selection) {
+                throw new SelectionNotPossibleException(selection);
+            }
+            defined.set(index);
+            value.set(index, selection);
+        }
+    }
+
+    /**
+     * Adopts the literals of the given assignment as manual values.
+     * Assumes that the variable map of the given assignment is the same as in this configuration.
+     *
+     * @param assignment the assignment to adopt
+     */
+    public void adopt(BooleanAssignment assignment) {
+        for (int literal : assignment.get()) {
+            if (literal != 0) {
+                setManual(Math.abs(literal), literal > 0);
+            }
+        }
+    }
+
+    /**
+     * Adopts the literals of the given assignment as manual values.
+     * Literals of variables that are not contained in this configuration's variable map are ignored.
+     *
+     * @param assignment the assignment to adopt
+     * @param variableMap maps the literals in the assignments to variable names
+     */
+    public void adopt(BooleanAssignment assignment, VariableMap variableMap) {
+        if (variableMap == this.variableMap) {
+            adopt(assignment);
+            return;
+        }
+        for (int literal : assignment.get()) {
+            if (literal != 0) {
+                Result<Integer> index = variableMap.get(Math.abs(literal)).mapResult(this.variableMap::get);
+                if (index.isPresent()) {
+                    setManual(index.get(), literal > 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adopts the manual and automatic values of all variables that are defined in the given configuration.
+     * Both configurations must share the same variable map.
+     *
+     * @param configuration the configuration to adopt
+     */
+    public void adopt(BooleanConfiguration configuration) {
+        if (configuration.variableMap != variableMap) {
+            throw new IllegalArgumentException("Configurations do not share the same variable map");
+        }
+        BitSet defined = (BitSet) configuration.manualDefined.clone();
+        defined.or(configuration.automaticDefined);
+        adopt(manualDefined, configuration.manualDefined, defined);
+        adopt(manualValue, configuration.manualValue, defined);
+        adopt(automaticDefined, configuration.automaticDefined, defined);
+        adopt(automaticValue, configuration.automaticValue, defined);
+    }
+
+    private static void adopt(BitSet bits, BitSet otherBits, BitSet mask) {
+        bits.andNot(mask);
+        bits.or(otherBits);
+    }
+
+    /**
+     * Turns all automatic into manual values.
+     */
+    public void makeManual() {
+        manualValue.andNot(automaticDefined);
+        manualValue.or(automaticValue);
+        manualDefined.or(automaticDefined);
+        automaticDefined.clear();
+        automaticValue.clear();
+    }
+
+    /**
+     * Resets all values to undefined.
+     */
+    public void reset() {
+        manualDefined.clear();
+        manualValue.clear();
+        automaticDefined.clear();
+        automaticValue.clear();
+    }
+
+    /**
+     * Resets all automatic values to undefined.
+     */
+    public void resetAutomatic() {
+        automaticDefined.clear();
+        automaticValue.clear();
+    }
+
+    /**
+     * Resets automatic values that equal the given selection.
+     *
+     * @param selection the selection to reset
+     */
+    public void resetAutomatic(boolean selection) {
+        if (selection) {
+            automaticDefined.andNot(automaticValue);
+            automaticValue.clear();
+        } else {
+            automaticDefined.and(automaticValue);
+        }
+    }
+
+    /**
+     * {@return an assignment that contains a literal for every defined variable}
+     */
+    public BooleanAssignment toBooleanAssignment() {
+        BitSet defined = (BitSet) manualDefined.clone();
+        defined.or(automaticDefined);
+        BitSet selected = getValues(true);
+        int[] literals = new int[defined.cardinality()];
+        int i = 0;
+        for (int index = defined.nextSetBit(0); index >= 0; index = defined.nextSetBit(index + 1)) {
+            literals[i++] = selected.get(index) ? index : -index;
+        }
+        return new BooleanAssignment(literals);
+    }
+
+    private BitSet getValues(boolean selected) {
+        BitSet manual = (BitSet) manualDefined.clone();
+        manual.andNot(automaticDefined);
+        BitSet automatic = (BitSet) automaticDefined.clone();
+        if (selected) {
+            manual.and(manualValue);
+            automatic.and(automaticValue);
+        } else {
+            manual.andNot(manualValue);
+            automatic.andNot(automaticValue);
+        }
+        manual.or(automatic);
+        return manual;
+    }
+
+    private List<String> getNames(BitSet indices) {
+        List<String> names = new ArrayList<>(indices.cardinality());
+        for (int index = indices.nextSetBit(0); index >= 0; index = indices.nextSetBit(index + 1)) {
+            Result<String> name = variableMap.get(index);
+            if (name.isPresent()) {
+                names.add(name.get());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Creates and returns a copy of this configuration, which shares the variable map of this configuration.
+     *
+     * @return configuration a clone of this configuration.
+     */
+    @Override
+    public BooleanConfiguration clone() {
+        return new BooleanConfiguration(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        BooleanConfiguration other = (BooleanConfiguration) obj;
+        return variableMap.equals(other.variableMap)
+                && manualDefined.equals(other.manualDefined)
+                && manualValue.equals(other.manualValue)
+                && automaticDefined.equals(other.automaticDefined)
+                && automaticValue.equals(other.automaticValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(manualDefined, manualValue, automaticDefined, automaticValue);
+    }
+
+    @Override
+    public String toString() {
+        return toBooleanAssignment().toString();
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.configuration;
+
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A sample of Boolean configurations stored column-wise.
+ * For each variable, two bit sets store in which configurations the variable is selected and deselected,
+ * such that feature-wise counts and filters operate on whole columns.
+ * The variable map is shared and must not be modified as long as it is used by the batch.
+ */
+public class ConfigurationBatch {
+
+    private final VariableMap variableMap;
+    private final int size;
+    private final BitSet[] selected;
+    private final BitSet[] deselected;
+
+    private ConfigurationBatch(VariableMap variableMap, int size) {
+        this.variableMap = Objects.requireNonNull(variableMap);
+        this.size = size;
+        int columnCount = variableMap.maxIndex() + 1;
+        selected = new BitSet[columnCount];
+        deselected = new BitSet[columnCount];
+        for (int i = 1; i < columnCount; i++) {
+            selected[i] = new BitSet(size);
+            deselected[i] = new BitSet(size);
+        }
+    }
+
+    /**
+     * Creates a batch that contains one configuration per assignment of the given list.
+     * If an assignment contains both literals of a variable, only the first one is used.
+     *
+     * @param assignments the assignments, whose variable map is shared with the batch
+     */
+    public ConfigurationBatch(BooleanAssignmentList assignments) {
+        this(assignments.getVariableMap(), assignments.getAll().size());
+        int row = 0;
+        for (BooleanAssignment assignment : assignments.getAll()) {
+            for (int literal : assignment.get()) {
+                int index = Math.abs(literal);
+                if (literal != 0
+                        && index < selected.length
+                        && !selected[index].get(row)
+                        && !deselected[index].get(row)) {
+                    (literal > 0 ? selected : deselected)[index].set(row);
+                }
+            }
+            row++;
+        }
+    }
+
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+
+    /**
+     * {@return the number of configurations in this batch}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return the configurations in which the given variable is selected}
+     * The returned bit set must not be modified.
+     *
+     * @param variable the variable index
+     */
+    public BitSet getSelected(int variable) {
+        return selected[variable];
+    }
+
+    /**
+     * {@return the configurations in which the given variable is deselected}
+     * The returned bit set must not be modified.
+     *
+     * @param variable the variable index
+     */
+    public BitSet getDeselected(int variable) {
+        return deselected[variable];
+    }
+
+    /**
+     * {@return the number of configurations in which the given variable is selected}
+     *
+     * @param variable the variable index
+     */
+    public int countSelected(int variable) {
+        return selected[variable].cardinality();
+    }
+
+    /**
+     * {@return the number of configurations in which the given variable is deselected}
+     *
+     * @param variable the variable index
+     */
+    public int countDeselected(int variable) {
+        return deselected[variable].cardinality();
+    }
+
+    /**
+     * {@return the number of configurations in which the given variable is undefined}
+     *
+     * @param variable the variable index
+     */
+    public int countUndefined(int variable) {
+        return size - countSelected(variable) - countDeselected(variable);
+    }
+
+    /**
+     * {@return the configurations that contain all of the given literals}
+     *
+     * @param literals the literals
+     * @throws IllegalArgumentException if a literal is {@code 0} or its variable is not contained in this batch
+     */
+    public BitSet getMatching(int... literals) {
+        for (int literal : literals) {
+            if (literal == 0 || Math.abs(literal) >= selected.length) {
+                throw new IllegalArgumentException("Invalid literal " + literal);
+            }
+        }
+        BitSet rows = new BitSet(size);
+        rows.set(0, size);
+        for (int literal : literals) {
+            rows.and(literal > 0 ? selected[literal] : deselected[-literal]);
+        }
+        return rows;
+    }
+
+    /**
+     * {@return a new batch that contains only the given configurations of this batch, in their current order}
+     *
+     * @param rows the configurations to keep
+     */
+    public ConfigurationBatch filter(BitSet rows) {
+        BitSet keptRows = rows.get(0, size);
+        ConfigurationBatch batch = new ConfigurationBatch(variableMap, keptRows.cardinality());
+        int[] newRows = new int[size];
+        int newRow = 0;
+        for (int row = keptRows.nextSetBit(0); row >= 0; row = keptRows.nextSetBit(row + 1)) {
+            newRows[row] = newRow++;
+        }
+        for (int i = 1; i < selected.length; i++) {
+            filter(selected[i], keptRows, newRows, batch.selected[i]);
+            filter(deselected[i], keptRows, newRows, batch.deselected[i]);
+        }
+        return batch;
+    }
+
+    private static void filter(BitSet column, BitSet keptRows, int[] newRows, BitSet newColumn) {
+        BitSet kept = (BitSet) column.clone();
+        kept.and(keptRows);
+        for (int row = kept.nextSetBit(0); row >= 0; row = kept.nextSetBit(row + 1)) {
+            newColumn.set(newRows[row]);
+        }
+    }
+
+    /**
+     * {@return a new batch that contains only the given variables, in the given order}
+     * Variables that are not contained in this batch are undefined in all configurations.
+     *
+     * @param variableNames the variables to keep
+     */
+    public ConfigurationBatch project(Collection<String> variableNames) {
+        ConfigurationBatch batch = new ConfigurationBatch(new VariableMap(variableNames), size);
+        for (String variableName : variableNames) {
+            Result<Integer> index = variableMap.get(variableName);
+            if (index.isPresent()) {
+                int newIndex = batch.variableMap.get(variableName).get();
+                batch.selected[newIndex].or(selected[index.get()]);
+                batch.deselected[newIndex].or(deselected[index.get()]);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * {@return the configuration at the given position}
+     *
+     * @param row the position of the configuration
+     */
+    public BooleanAssignment getAssignment(int row) {
+        List<Integer> literals = new ArrayList<>();
+        for (int i = 1; i < selected.length; i++) {
+            if (selected[i].get(row)) {
+                literals.add(i);
+            } else if (deselected[i].get(row)) {
+                literals.add(-i);
+            }
+        }
+        return new BooleanAssignment(literals.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * {@return the configuration at the given position with all literals as manual values}
+     *
+     * @param row the position of the configuration
+     */
+    public BooleanConfiguration getConfiguration(int row) {
+        return new BooleanConfiguration(getAssignment(row), variableMap);
+    }
+
+    /**
+     * {@return a list that contains one assignment per configuration of this batch}
+     */
+    public BooleanAssignmentList toBooleanAssignmentList() {
+        int[] lengths = new int[size];
+        for (int i = 1; i < selected.length; i++) {
+            count(selected[i], lengths);
+            count(deselected[i], lengths);
+        }
+        int[][] literals = new int[size][];
+        for (int row = 0; row < size; row++) {
+            literals[row] = new int[lengths[row]];
+            lengths[row] = 0;
+        }
+        for (int i = 1; i < selected.length; i++) {
+            for (int row = selected[i].nextSetBit(0); row >= 0; row = selected[i].nextSetBit(row + 1)) {
+                literals[row][lengths[row]++] = i;
+            }
+            for (int row = deselected[i].nextSetBit(0); row >= 0; row = deselected[i].nextSetBit(row + 1)) {
+                literals[row][lengths[row]++] = -i;
+            }
+        }
+        List<BooleanAssignment> assignments = new ArrayList<>(size);
+        for (int[] row : literals) {
+            assignments.add(new BooleanAssignment(row));
+        }
+        return new BooleanAssignmentList(variableMap, assignments);
+    }
+
+    private static void count(BitSet column, int[] lengths) {
+        for (int row = column.nextSetBit(0); row >= 0; row = column.nextSetBit(row + 1)) {
+            lengths[row]++;
+        }
+    }
+}
@@ -24,11 +24,12 @@ import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
 import de.featjar.base.tree.DataTree;
+import de.featjar.feature.configuration.ConfigurationBatch;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Compute how often features are selected, deselected, or undefined per feature.
@@ -45,28 +46,20 @@ public class ComputeNumberOfSelectionsPerFeature extends ABooleanAssignmentListC
 
     @Override
     public Result<DataTree<Long>> compute(List<Object> dependencyList, Progress progress) {
-        BooleanAssignmentList booleanAssigmenAssignmentList = BOOLEAN_ASSIGNMENT_LIST.get(dependencyList);
+        ConfigurationBatch batch = new ConfigurationBatch(BOOLEAN_ASSIGNMENT_LIST.get(dependencyList));
         List<DataTree<Long>> counts = new ArrayList<>();
-        counts.add(count("Selected", l -> l > 0, booleanAssigmenAssignmentList));
-        counts.add(count("Deselected", l -> l < 0, booleanAssigmenAssignmentList));
-        counts.add(count("Undefined", l -> l == 0, booleanAssigmenAssignmentList));
+        counts.add(count("Selected", batch::countSelected, batch));
+        counts.add(count("Deselected", batch::countDeselected, batch));
+        counts.add(count("Undefined", batch::countUndefined, batch));
         return Result.of(DataTree.ofAggregator("SelectionsPerFeature", 0L, Long::sum, counts));
     }
 
-    private DataTree<Long> count(
-            String name, IntPredicate predicate, BooleanAssignmentList booleanAssigmenAssignmentList) {
+    private DataTree<Long> count(String name, IntUnaryOperator counter, ConfigurationBatch batch) {
         List<DataTree<Long>> counts = new ArrayList<>();
-        VariableMap variableMap = booleanAssigmenAssignmentList.getVariableMap();
+        VariableMap variableMap = batch.getVariableMap();
         for (String variableName : variableMap.getVariableNames()) {
             int variableIndex = variableMap.get(variableName).orElseThrow();
-            counts.add(DataTree.ofValue(
-                    variableName,
-                    booleanAssigmenAssignmentList.stream()
-                            .mapToInt(a -> a.getValue(variableIndex)
-                                    .map(b -> b ? 1 : -1)
-                                    .orElse(0))
-                            .filter(predicate)
-                            .count()));
+            counts.add(DataTree.ofValue(variableName, (long) counter.applyAsInt(variableIndex)));
         }
         return DataTree.ofAggregator(name, 0L, Long::sum, counts);
     }
@@ -42,18 +42,57 @@ import java.util.Optional;
 public abstract class AFeatureModelElement implements IFeatureModelElement, IMutatableAttributable {
     protected final IFeatureModel featureModel;
     protected final IIdentifier identifier;
-    protected final LinkedHashMap<IAttribute<?>, Object> attributeValues;
+    protected LinkedHashMap<IAttribute<?>, Object> attributeValues;
+
+    /**
+     * The number of forks of the feature model when {@link #attributeValues} was created.
+     * If the model has been forked since, the map may be shared with a forked element and is copied before it is
+     * modified.
+     */
+    private long attributeValuesForks;
 
     public AFeatureModelElement(IFeatureModel featureModel) {
         this.featureModel = Objects.requireNonNull(featureModel);
         identifier = featureModel.getNewIdentifier();
         attributeValues = new LinkedHashMap<>(4);
+        attributeValuesForks = FeatureModel.getForks(featureModel);
     }
 
     protected AFeatureModelElement(AFeatureModelElement otherElement, IFeatureModel featureModel) {
+        this(otherElement, featureModel, false);
+    }
+
+    /**
+     * Creates a copy of another element that shares its attribute values until either element modifies them.
+     * The other element is not modified, so several threads may copy it at the same time.
+     *
+     * @param otherElement the element to fork
+     * @param featureModel the feature model of the new element
+     * @param shareAttributes whether to share the attribute values instead of copying them
+     */
+    protected AFeatureModelElement(
+            AFeatureModelElement otherElement, IFeatureModel featureModel, boolean shareAttributes) {
         this.featureModel = featureModel;
         identifier = otherElement.getNewIdentifier();
-        attributeValues = otherElement.cloneAttributes();
+        if (shareAttributes) {
+            attributeValues = otherElement.attributeValues;
+            attributeValuesForks = -1;
+        } else {
+            attributeValues = otherElement.cloneAttributes();
+            attributeValuesForks = FeatureModel.getForks(featureModel);
+        }
+    }
+
+    /**
+     * {@return the attribute values of this element, copied first if they are shared with a forked element}
+     */
+    protected LinkedHashMap<IAttribute<?>, Object> getMutableAttributeValues() {
+        long forks = FeatureModel.getForks(featureModel);
+        if (attributeValuesForks != forks) {
+            attributeValues = new LinkedHashMap<>(attributeValues);
+            attributeValuesForks = forks;
+        }
+        return attributeValues;
     }
 
     @Override
@@ -74,13 +113,30 @@ public abstract class AFeatureModelElement implements IFeatureModelElement, IMut
         }
         checkType(attribute, value);
         validate(attribute, value);
-        attributeValues.put(attribute, value);
+        attributeValueChanged(attribute, getMutableAttributeValues().put(attribute, value), value);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <S> S removeAttributeValue(Attribute<S> attribute) {
-        return (S) attributeValues.remove(attribute);
+        S oldValue = (S) getMutableAttributeValues().remove(attribute);
+        attributeValueChanged(attribute, oldValue, null);
+        return oldValue;
+    }
+
+    /**
+     * Called after an attribute value of this element was set or removed.
+     * Notifies the listeners of the feature model, if the value actually changed.
+     *
+     * @param attribute the attribute
+     * @param oldValue the previous value, if any
+     * @param newValue the new value, if any
+     */
+    protected void attributeValueChanged(IAttribute<?> attribute, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            FeatureModel.fireEvent(
+                    featureModel, FeatureModelEvent.Type.ATTRIBUTE_CHANGED, this, attribute, oldValue, newValue);
+        }
     }
 
     @Override
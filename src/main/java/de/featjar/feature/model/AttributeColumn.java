@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model;
+
+import de.featjar.base.data.IAttribute;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Stores the values of one numeric attribute for all features of a {@link FeatureModel} in a primitive array.
+ * The array is indexed by the {@link Feature#getOrdinal() ordinal} of a feature.
+ * Integral attributes ({@link Integer}, {@link Long}) are stored as {@code long} values, floating point attributes
+ * ({@link Float}, {@link Double}) as {@code double} values.
+ * Columns are created with {@link FeatureModel#storeInColumn(IAttribute)} and are transparent to
+ * {@link Feature#getAttributes()} and {@link Feature#setAttributeValue(de.featjar.base.data.Attribute, Object)}.
+ *
+ * @author Sebastian Krieter
+ */
+public final class AttributeColumn {
+
+    private final IAttribute<?> attribute;
+    private final boolean integral;
+    private final BitSet present;
+    private long[] longValues;
+    private double[] doubleValues;
+
+    AttributeColumn(IAttribute<?> attribute, int capacity) {
+        this.attribute = Objects.requireNonNull(attribute);
+        if (!isSupported(attribute.getClassType())) {
+            throw new IllegalArgumentException(
+                    String.format("Unsupported type <%s> for attribute column", attribute.getClassType()));
+        }
+        integral = attribute.getClassType() == Integer.class || attribute.getClassType() == Long.class;
+        present = new BitSet(capacity);
+        if (integral) {
+            longValues = new long[Math.max(capacity, 8)];
+        } else {
+            doubleValues = new double[Math.max(capacity, 8)];
+        }
+    }
+
+    AttributeColumn(AttributeColumn otherColumn) {
+        attribute = otherColumn.attribute;
+        integral = otherColumn.integral;
+        present = (BitSet) otherColumn.present.clone();
+        longValues = otherColumn.longValues == null ? null : otherColumn.longValues.clone();
+        doubleValues = otherColumn.doubleValues == null ? null : otherColumn.doubleValues.clone();
+    }
+
+    /**
+     * {@return whether attributes of the given type can be stored in a column}
+     *
+     * @param type the value type of an attribute
+     */
+    public static boolean isSupported(Class<?> type) {
+        return type == Integer.class || type == Long.class || type == Float.class || type == Double.class;
+    }
+
+    public IAttribute<?> getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * {@return whether this column stores {@code long} values, otherwise it stores {@code double} values}
+     */
+    public boolean isIntegral() {
+        return integral;
+    }
+
+    public boolean isPresent(int ordinal) {
+        return ordinal >= 0 && present.get(ordinal);
+    }
+
+    /**
+     * {@return the ordinals of all features that have a value in this column}
+     */
+    public BitSet getPresent() {
+        return (BitSet) present.clone();
+    }
+
+    public long getLong(int ordinal) {
+        return integral ? longValues[ordinal] : (long) doubleValues[ordinal];
+    }
+
+    public double getDouble(int ordinal) {
+        return integral ? longValues[ordinal] : doubleValues[ordinal];
+    }
+
+    /**
+     * {@return the value of the feature with the given ordinal, widened to {@link Long} or {@link Double}, or
+     * {@code null} if the feature has no value}
+     *
+     * @param ordinal the feature ordinal
+     */
+    public Object getWidened(int ordinal) {
+        if (!isPresent(ordinal)) {
+            return null;
+        }
+        return integral ? (Object) longValues[ordinal] : (Object) doubleValues[ordinal];
+    }
+
+    /**
+     * {@return the value of the feature with the given ordinal as an instance of the attribute's type, or
+     * {@code null} if the feature has no value}
+     *
+     * @param ordinal the feature ordinal
+     */
+    public Object get(int ordinal) {
+        if (!isPresent(ordinal)) {
+            return null;
+        }
+        Class<?> type = attribute.getClassType();
+        if (type == Integer.class) {
+            return (int) longValues[ordinal];
+        } else if (type == Long.class) {
+            return longValues[ordinal];
+        } else if (type == Float.class) {
+            return (float) doubleValues[ordinal];
+        } else {
+            return doubleValues[ordinal];
+        }
+    }
+
+    Object set(int ordinal, Object value) {
+        Object oldValue = get(ordinal);
+        ensureCapacity(ordinal + 1);
+        if (integral) {
+            longValues[ordinal] = ((Number) value).longValue();
+        } else {
+            doubleValues[ordinal] = ((Number) value).doubleValue();
+        }
+        present.set(ordinal);
+        return oldValue;
+    }
+
+    Object remove(int ordinal) {
+        Object oldValue = get(ordinal);
+        if (oldValue != null) {
+            present.clear(ordinal);
+            if (integral) {
+                longValues[ordinal] = 0;
+            } else {
+                doubleValues[ordinal] = 0;
+            }
+        }
+        return oldValue;
+    }
+
+    /**
+     * Moves all values to new ordinals.
+     *
+     * @param ordinals the new ordinal for each old ordinal, or -1 for dropped values
+     * @param size the number of new ordinals
+     */
+    void remap(int[] ordinals, int size) {
+        BitSet oldPresent = (BitSet) present.clone();
+        present.clear();
+        long[] newLongValues = integral ? new long[Math.max(size, 8)] : null;
+        double[] newDoubleValues = integral ? null : new double[Math.max(size, 8)];
+        for (int i = oldPresent.nextSetBit(0); i >= 0; i = oldPresent.nextSetBit(i + 1)) {
+            int ordinal = i < ordinals.length ? ordinals[i] : -1;
+            if (ordinal >= 0) {
+                if (integral) {
+                    newLongValues[ordinal] = longValues[i];
+                } else {
+                    newDoubleValues[ordinal] = doubleValues[i];
+                }
+                present.set(ordinal);
+            }
+        }
+        longValues = newLongValues;
+        doubleValues = newDoubleValues;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (integral) {
+            if (longValues.length < capacity) {
+                longValues = Arrays.copyOf(longValues, Math.max(capacity, longValues.length * 2));
+            }
+        } else if (doubleValues.length < capacity) {
+            doubleValues = Arrays.copyOf(doubleValues, Math.max(capacity, doubleValues.length * 2));
+        }
+    }
+}
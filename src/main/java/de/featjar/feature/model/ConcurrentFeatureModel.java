@@ -0,0 +1,450 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model;
+
+import de.featjar.base.data.Attribute;
+import de.featjar.base.data.IAttribute;
+import de.featjar.base.data.Result;
+import de.featjar.base.data.identifier.IIdentifier;
+import de.featjar.feature.model.IFeatureModel.IMutableFeatureModel;
+import de.featjar.formula.structure.IFormula;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A thread-safe view of a {@link FeatureModel}.
+ * Modifications are guarded by the write lock of a {@link StampedLock}.
+ * Features, constraints, and the feature tree are only exposed as elements of a {@link FrozenFeatureModel snapshot},
+ * which cannot be modified, so the wrapped model can only be changed through this class or inside
+ * {@link #write(Function)}.
+ * The snapshot is taken once per modification and is shared by all readers until the next write, so reading it
+ * needs no lock.
+ * Counts and lookups that return no elements are read optimistically from the wrapped model and only take the read
+ * lock if a write interfered.
+ * Listeners of the wrapped model are notified while the write lock is held and must not call this class.
+ *
+ * @author Sebastian Krieter
+ */
+public class ConcurrentFeatureModel implements IMutableFeatureModel {
+
+    protected final FeatureModel featureModel;
+    protected final StampedLock lock = new StampedLock();
+
+    /**
+     * The snapshot of the current state of the wrapped model, or {@code null} if it was modified since the last
+     * snapshot was taken.
+     */
+    private volatile FrozenFeatureModel snapshot;
+
+    public ConcurrentFeatureModel() {
+        this(new FeatureModel());
+    }
+
+    /**
+     * Creates a thread-safe view of the given model.
+     * The model must not be accessed directly afterwards.
+     *
+     * @param featureModel the model
+     */
+    public ConcurrentFeatureModel(FeatureModel featureModel) {
+        this.featureModel = Objects.requireNonNull(featureModel);
+    }
+
+    /**
+     * Runs a read-only function on the wrapped model while holding a read lock.
+     * The function must not modify the model, and elements of the model must not escape the function.
+     *
+     * @param <R> the type of the result
+     * @param reader the function
+     * @return the result of the function
+     */
+    public <R> R read(Function<? super FeatureModel, R> reader) {
+        long stamp = lock.readLock();
+        try {
+            return reader.apply(featureModel);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a short read-only function on the wrapped model without locking, and again while holding a read lock if
+     * a write happened in the meantime.
+     * The function must not return elements of the model and must tolerate an inconsistent model, whose result is
+     * discarded.
+     *
+     * @param <R> the type of the result
+     * @param reader the function
+     * @return the result of the function
+     */
+    protected <R> R readOptimistically(Function<? super FeatureModel, R> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                R result = reader.apply(featureModel);
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        return read(reader);
+    }
+
+    /**
+     * Runs a function that modifies the wrapped model while holding the write lock.
+     * The function may perform any number of modifications, which become visible to readers all at once.
+     *
+     * @param <R> the type of the result
+     * @param writer the function
+     * @return the result of the function
+     */
+    public <R> R write(Function<? super FeatureModel, R> writer) {
+        long stamp = lock.writeLock();
+        try {
+            snapshot = null;
+            return writer.apply(featureModel);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the wrapped model while holding the write lock.
+     */
+    private FrozenFeatureModel takeSnapshot(FeatureModel model) {
+        FrozenFeatureModel currentSnapshot = model.freeze();
+        snapshot = currentSnapshot;
+        return currentSnapshot;
+    }
+
+    @Override
+    public ConcurrentFeatureModel clone() {
+        return new ConcurrentFeatureModel(read(FeatureModel::clone));
+    }
+
+    /**
+     * {@return an immutable snapshot of the current state of the wrapped model}
+     * The snapshot is shared by all callers until the next write.
+     */
+    @Override
+    public FrozenFeatureModel freeze() {
+        FrozenFeatureModel currentSnapshot = snapshot;
+        if (currentSnapshot == null) {
+            long stamp = lock.readLock();
+            try {
+                currentSnapshot = snapshot;
+                if (currentSnapshot == null) {
+                    currentSnapshot = featureModel.freeze();
+                    snapshot = currentSnapshot;
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return currentSnapshot;
+    }
+
+    @Override
+    public IFeatureModel getFeatureModel() {
+        return this;
+    }
+
+    @Override
+    public IIdentifier getIdentifier() {
+        return featureModel.getIdentifier();
+    }
+
+    @Override
+    public Collection<IFeature> getFeatures() {
+        return freeze().getFeatures();
+    }
+
+    /**
+     * {@return the pseudo root of a snapshot of the wrapped model}
+     * The tree cannot be modified, use {@link #write(Function)} to modify the tree of the wrapped model.
+     */
+    @Override
+    public PseudoFeatureTreeRoot getPseudoRoot() {
+        return freeze().getPseudoRoot();
+    }
+
+    @Override
+    public List<? extends IFeatureTree> getRoots() {
+        return freeze().getRoots();
+    }
+
+    @Override
+    public Stream<IFeatureTree> getFeatureTreeStream() {
+        return freeze().getFeatureTreeStream();
+    }
+
+    @Override
+    public int getNumberOfFeatures() {
+        return readOptimistically(FeatureModel::getNumberOfFeatures);
+    }
+
+    @Override
+    public Result<IFeature> getFeature(IIdentifier identifier) {
+        return freeze().getFeature(identifier);
+    }
+
+    @Override
+    public Result<IFeature> getFeature(String name) {
+        return freeze().getFeature(name);
+    }
+
+    @Override
+    public boolean hasFeature(IIdentifier identifier) {
+        return readOptimistically(m -> m.hasFeature(identifier));
+    }
+
+    @Override
+    public boolean hasFeature(IFeature feature) {
+        return readOptimistically(m -> m.hasFeature(feature));
+    }
+
+    @Override
+    public boolean hasFeature(String name) {
+        return readOptimistically(m -> m.hasFeature(name));
+    }
+
+    @Override
+    public Result<IFeatureTree> getFeatureTree(IFeature feature) {
+        return freeze().getFeatureTree(feature);
+    }
+
+    @Override
+    public Result<IFeatureTree> getFeatureTree(String name) {
+        return freeze().getFeatureTree(name);
+    }
+
+    @Override
+    public Stream<? extends IFeatureTree> getFeatureTreeNodeStream(IFeature feature) {
+        return feature.getName().isPresent()
+                ? freeze().getFeatureTreeNodeStream(feature.getName().get())
+                : Stream.of();
+    }
+
+    @Override
+    public Stream<? extends IFeatureTree> getFeatureTreeNodeStream(String name) {
+        return freeze().getFeatureTreeNodeStream(name);
+    }
+
+    @Override
+    public Result<IFeature> getTreeFeature(IIdentifier identifier) {
+        return freeze().getTreeFeature(identifier);
+    }
+
+    @Override
+    public Result<IFeature> getTreeFeature(String name) {
+        return freeze().getTreeFeature(name);
+    }
+
+    @Override
+    public Collection<IConstraint> getConstraints() {
+        return freeze().getConstraints();
+    }
+
+    @Override
+    public Result<IConstraint> getConstraint(IIdentifier identifier) {
+        return freeze().getConstraint(identifier);
+    }
+
+    @Override
+    public boolean hasConstraint(IIdentifier identifier) {
+        return readOptimistically(m -> m.hasConstraint(identifier));
+    }
+
+    @Override
+    public boolean hasConstraint(IConstraint constraint) {
+        return readOptimistically(m -> m.hasConstraint(constraint));
+    }
+
+    @Override
+    public int getNumberOfConstraints() {
+        return readOptimistically(FeatureModel::getNumberOfConstraints);
+    }
+
+    @Override
+    public LinkedHashSet<IFeature> getReferencedFeatures(IConstraint constraint) {
+        return freeze().getReferencedFeatures(constraint);
+    }
+
+    @Override
+    public LinkedHashSet<IConstraint> getReferencingConstraints(IFeature feature) {
+        return freeze().getReferencingConstraints(feature);
+    }
+
+    @Override
+    public Optional<Map<IAttribute<?>, Object>> getAttributes() {
+        return freeze().getAttributes();
+    }
+
+    @Override
+    public <S> void setAttributeValue(Attribute<S> attribute, S value) {
+        write(m -> {
+            m.setAttributeValue(attribute, value);
+            return null;
+        });
+    }
+
+    @Override
+    public <S> S removeAttributeValue(Attribute<S> attribute) {
+        return write(m -> m.removeAttributeValue(attribute));
+    }
+
+    @Override
+    public void setName(String name) {
+        write(m -> {
+            m.setName(name);
+            return null;
+        });
+    }
+
+    @Override
+    public void setDescription(String description) {
+        write(m -> {
+            m.setDescription(description);
+            return null;
+        });
+    }
+
+    /**
+     * Adds a new feature to the wrapped model.
+     *
+     * @param name the name of the new feature
+     * @return the new feature in a snapshot of the wrapped model
+     */
+    @Override
+    public IFeature addFeature(String name) {
+        return write(m -> {
+            IIdentifier identifier = m.addFeature(name).getIdentifier();
+            return takeSnapshot(m).getFeature(identifier).get();
+        });
+    }
+
+    @Override
+    public boolean removeFeature(IFeature feature) {
+        return write(m -> m.getFeature(feature.getIdentifier())
+                .map(m::removeFeature)
+                .orElse(Boolean.FALSE));
+    }
+
+    /**
+     * Adds a new constraint to the wrapped model.
+     *
+     * @param formula the formula of the new constraint
+     * @return the new constraint in a snapshot of the wrapped model
+     */
+    @Override
+    public IConstraint addConstraint(IFormula formula) {
+        return write(m -> {
+            IIdentifier identifier = m.addConstraint(formula).getIdentifier();
+            return takeSnapshot(m).getConstraint(identifier).get();
+        });
+    }
+
+    @Override
+    public boolean removeConstraint(IConstraint constraint) {
+        return write(m -> m.getConstraint(constraint.getIdentifier())
+                .map(m::removeConstraint)
+                .orElse(Boolean.FALSE));
+    }
+
+    /**
+     * Adds a new root to the feature tree of the wrapped model.
+     *
+     * @param feature the feature of the new root
+     * @return the new root in a snapshot of the wrapped model
+     */
+    @Override
+    public IFeatureTree addFeatureTreeRoot(IFeature feature) {
+        return write(m -> {
+            m.addFeatureTreeRoot(m.getFeature(feature.getIdentifier()).orElse(feature));
+            List<? extends IFeatureTree> roots = takeSnapshot(m).getRoots();
+            return roots.get(roots.size() - 1);
+        });
+    }
+
+    @Override
+    public void addFeatureTreeRoot(IFeatureTree featureTree) {
+        write(m -> {
+            m.addFeatureTreeRoot(featureTree);
+            return null;
+        });
+    }
+
+    /**
+     * Removes a root from the feature tree of the wrapped model.
+     *
+     * @param featureTree the root, either of the wrapped model or of a snapshot of it
+     */
+    @Override
+    public void removeFeatureTreeRoot(IFeatureTree featureTree) {
+        IIdentifier identifier = featureTree.getFeature().getIdentifier();
+        write(m -> {
+            m.getRoots().stream()
+                    .filter(root -> root == featureTree || root.getFeature().getIdentifier().equals(identifier))
+                    .findFirst()
+                    .ifPresent(m::removeFeatureTreeRoot);
+            return null;
+        });
+    }
+
+    @Override
+    public void removeFeatureTreeRoot(IFeature feature) {
+        write(m -> {
+            IFeature modelFeature = m.getFeature(feature.getIdentifier()).orElse(null);
+            if (modelFeature != null) {
+                m.removeFeatureTreeRoot(modelFeature);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return featureModel.equals(((ConcurrentFeatureModel) o).featureModel);
+    }
+
+    @Override
+    public int hashCode() {
+        return featureModel.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return read(FeatureModel::toString);
+    }
+}
@@ -23,11 +23,24 @@ package de.featjar.feature.model;
 import de.featjar.base.tree.Trees;
 import de.featjar.feature.model.IConstraint.IMutableConstraint;
 import de.featjar.formula.structure.IFormula;
-import java.util.LinkedHashSet;
+import java.util.function.Consumer;
 
 public class Constraint extends AFeatureModelElement implements IMutableConstraint {
     protected IFormula formula;
 
+    /**
+     * The number of forks of the feature model when {@link #formula} was set.
+     * If the model has been forked since, the formula may be shared with a forked constraint and is cloned before it
+     * is modified in place.
+     */
+    private long formulaForks;
+
+    /**
+     * The index of this constraint among the constraints of its model, or -1 if it is not part of a
+     * {@link FeatureModel}.
+     */
+    int ordinal = -1;
+
     protected Constraint(IFeatureModel featureModel, IFormula formula) {
         super(featureModel);
         setFormula(formula);
@@ -42,6 +55,38 @@ public class Constraint extends AFeatureModelElement implements IMutableConstrai
         setFormula(Trees.clone(otherConstraint.formula));
     }
 
+    protected Constraint(Constraint otherConstraint, IFeatureModel newFeatureModel, boolean share) {
+        this(otherConstraint, newFeatureModel, share, -1);
+    }
+
+    private Constraint(Constraint otherConstraint, IFeatureModel newFeatureModel, boolean share, int ordinal) {
+        super(otherConstraint, newFeatureModel, share);
+        this.ordinal = ordinal;
+        if (share) {
+            formula = otherConstraint.formula;
+            formulaForks = -1;
+        } else {
+            setFormula(Trees.clone(otherConstraint.formula));
+        }
+    }
+
+    /**
+     * {@return a copy of this constraint for a copy of its model, which keeps the ordinal of this constraint}
+     * If the formula is shared, it is replaced, not modified, by {@link #setFormula(IFormula)}.
+     * To modify it in place, use {@link #modifyFormula(Consumer)}.
+     *
+     * @param newFeatureModel the feature model of the copy
+     * @param share whether the copy shares the formula and attribute values of this constraint
+     */
+    Constraint copy(FeatureModel newFeatureModel, boolean share) {
+        return new Constraint(this, newFeatureModel, share, ordinal);
+    }
+
+    @Override
+    public int getOrdinal() {
+        return ordinal;
+    }
+
     @Override
     public Constraint clone() {
         return new Constraint(this);
@@ -49,7 +94,7 @@ public class Constraint extends AFeatureModelElement implements IMutableConstrai
 
     @Override
     public Constraint clone(IFeatureModel newFeatureModel) {
-        return new Constraint(this);
+        return new Constraint(this, newFeatureModel);
     }
 
     @Override
@@ -57,9 +102,27 @@ public class Constraint extends AFeatureModelElement implements IMutableConstrai
         return formula;
     }
 
-    @Override
-    public LinkedHashSet<IFeature> getReferencedFeatures() {
-        return IConstraint.getReferencedFeatures(formula, featureModel);
+    /**
+     * Modifies the formula of this constraint in place.
+     * The formula is cloned first if it is shared with a forked constraint.
+     * After the modification, the constraint is re-indexed by its feature model and the version of the model is
+     * incremented, so that no result memoized during the modification outlives it.
+     * Modifications of the formula returned by {@link #getFormula()} are not tracked and must go through this method
+     * or {@link #setFormula(IFormula)}.
+     *
+     * @param modifier the modification to apply to the formula
+     */
+    public void modifyFormula(Consumer<IFormula> modifier) {
+        IFormula oldFormula = formula;
+        long forks = FeatureModel.getForks(featureModel);
+        if (formulaForks != forks) {
+            formula = Trees.clone(formula);
+            formulaForks = forks;
+        }
+        modifier.accept(formula);
+        if (featureModel instanceof FeatureModel) {
+            ((FeatureModel) featureModel).updateConstraintFormula(this, oldFormula);
+        }
     }
 
     @Override
@@ -69,16 +132,25 @@ public class Constraint extends AFeatureModelElement implements IMutableConstrai
 
     @Override
     public void setFormula(IFormula formula) {
+        IFormula oldFormula = this.formula;
         this.formula = formula;
+        formulaForks = FeatureModel.getForks(featureModel);
+        if (featureModel instanceof FeatureModel) {
+            ((FeatureModel) featureModel).updateConstraintFormula(this, oldFormula);
+        }
     }
 
     @Override
     public void setName(String name) {
-        attributeValues.put(FeatureModelAttributes.NAME, name);
+        attributeValueChanged(
+                FeatureModelAttributes.NAME, getMutableAttributeValues().put(FeatureModelAttributes.NAME, name), name);
     }
 
     @Override
     public void setDescription(String description) {
-        attributeValues.put(FeatureModelAttributes.DESCRIPTION, description);
+        attributeValueChanged(
+                FeatureModelAttributes.DESCRIPTION,
+                getMutableAttributeValues().put(FeatureModelAttributes.DESCRIPTION, description),
+                description);
     }
 }
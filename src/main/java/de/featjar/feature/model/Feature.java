@@ -20,12 +20,27 @@
  */
 package de.featjar.feature.model;
 
+import de.featjar.base.data.Attribute;
+import de.featjar.base.data.IAttribute;
 import de.featjar.base.data.Result;
 import de.featjar.feature.model.IFeature.IMutableFeature;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
 
 public class Feature extends AFeatureModelElement implements IMutableFeature {
     protected Class<?> type;
 
+    /**
+     * The index of this feature in the {@link AttributeColumn attribute columns} of its model, or -1 if this feature
+     * is not part of a {@link FeatureModel}.
+     */
+    int ordinal = -1;
+
     protected Feature(IFeatureModel featureModel) {
         super(featureModel);
         type = Boolean.class;
@@ -36,8 +51,26 @@ public class Feature extends AFeatureModelElement implements IMutableFeature {
     }
 
     protected Feature(Feature otherFeature, IFeatureModel newFeatureModel) {
-        super(otherFeature, newFeatureModel);
+        this(otherFeature, newFeatureModel, false);
+    }
+
+    protected Feature(Feature otherFeature, IFeatureModel newFeatureModel, boolean shareAttributes) {
+        super(otherFeature, newFeatureModel, shareAttributes);
+        type = otherFeature.type;
+        if (otherFeature.ordinal >= 0 && otherFeature.featureModel instanceof FeatureModel) {
+            for (AttributeColumn column : ((FeatureModel) otherFeature.featureModel).attributeColumns.values()) {
+                Object value = column.get(otherFeature.ordinal);
+                if (value != null) {
+                    getMutableAttributeValues().put(column.getAttribute(), value);
+                }
+            }
+        }
+    }
+
+    private Feature(Feature otherFeature, FeatureModel newFeatureModel, boolean shareAttributes, int ordinal) {
+        super(otherFeature, newFeatureModel, shareAttributes);
         type = otherFeature.type;
+        this.ordinal = ordinal;
     }
 
     @Override
@@ -47,7 +80,27 @@ public class Feature extends AFeatureModelElement implements IMutableFeature {
 
     @Override
     public Feature clone(IFeatureModel newFeatureModel) {
-        return new Feature(this);
+        return new Feature(this, newFeatureModel);
+    }
+
+    /**
+     * {@return a copy of this feature for a copy of its model}
+     * The copy keeps the ordinal of this feature, so the new model must copy the attribute columns of this model.
+     *
+     * @param newFeatureModel the feature model of the copy
+     * @param shareAttributes whether the copy shares the attribute values of this feature until either is modified
+     */
+    Feature copy(FeatureModel newFeatureModel, boolean shareAttributes) {
+        return new Feature(this, newFeatureModel, shareAttributes, ordinal);
+    }
+
+    /**
+     * {@return the index of this feature among the features of its model, or -1 if it has none}
+     * The ordinal also indexes the attribute columns of the model.
+     */
+    @Override
+    public int getOrdinal() {
+        return ordinal;
     }
 
     @Override
@@ -62,7 +115,11 @@ public class Feature extends AFeatureModelElement implements IMutableFeature {
 
     @Override
     public void setType(Class<?> type) {
+        Class<?> oldType = this.type;
         this.type = type;
+        if (oldType != type) {
+            FeatureModel.fireEvent(featureModel, FeatureModelEvent.Type.FEATURE_TYPE_CHANGED, this, null, oldType, type);
+        }
     }
 
     @Override
@@ -70,13 +127,161 @@ public class Feature extends AFeatureModelElement implements IMutableFeature {
         return String.format("Feature{name=%s}", getName().orElse(""));
     }
 
+    private AttributeColumn getAttributeColumn(IAttribute<?> attribute) {
+        return ordinal >= 0 && featureModel instanceof FeatureModel
+                ? ((FeatureModel) featureModel).attributeColumns.get(attribute)
+                : null;
+    }
+
+    private AttributeColumn getMutableAttributeColumn(IAttribute<?> attribute) {
+        return getAttributeColumn(attribute) != null
+                ? ((FeatureModel) featureModel).getMutableAttributeColumn(attribute)
+                : null;
+    }
+
+    @Override
+    public Optional<Map<IAttribute<?>, Object>> getAttributes() {
+        if (ordinal < 0
+                || !(featureModel instanceof FeatureModel)
+                || ((FeatureModel) featureModel).attributeColumns.isEmpty()) {
+            return super.getAttributes();
+        }
+        return Optional.of(new AttributeView(((FeatureModel) featureModel).attributeColumns));
+    }
+
+    @Override
+    public <S> void setAttributeValue(Attribute<S> attribute, S value) {
+        AttributeColumn column = getMutableAttributeColumn(attribute);
+        if (column == null) {
+            super.setAttributeValue(attribute, value);
+        } else if (value == null) {
+            removeAttributeValue(attribute);
+        } else {
+            checkType(attribute, value);
+            validate(attribute, value);
+            attributeValueChanged(attribute, column.set(ordinal, value), value);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S> S removeAttributeValue(Attribute<S> attribute) {
+        AttributeColumn column = getMutableAttributeColumn(attribute);
+        if (column == null) {
+            return super.removeAttributeValue(attribute);
+        }
+        S oldValue = (S) column.remove(ordinal);
+        attributeValueChanged(attribute, oldValue, null);
+        return oldValue;
+    }
+
+    /**
+     * Read-only view of the attribute values of this feature, which are partly stored in attribute columns.
+     */
+    private final class AttributeView extends AbstractMap<IAttribute<?>, Object> {
+        private final Map<IAttribute<?>, AttributeColumn> columns;
+
+        private AttributeView(Map<IAttribute<?>, AttributeColumn> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public Object get(Object key) {
+            AttributeColumn column = columns.get(key);
+            return column != null ? column.get(ordinal) : attributeValues.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            AttributeColumn column = columns.get(key);
+            return column != null ? column.isPresent(ordinal) : attributeValues.containsKey(key);
+        }
+
+        @Override
+        public Set<Entry<IAttribute<?>, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<IAttribute<?>, Object>> iterator() {
+                    return new Iterator<>() {
+                        private final Iterator<Entry<IAttribute<?>, Object>> values =
+                                attributeValues.entrySet().iterator();
+                        private final Iterator<AttributeColumn> columnValues = columns.values().iterator();
+                        private Entry<IAttribute<?>, Object> next = advance();
+
+                        private Entry<IAttribute<?>, Object> advance() {
+                            while (values.hasNext()) {
+                                Entry<IAttribute<?>, Object> entry = values.next();
+                                if (!columns.containsKey(entry.getKey())) {
+                                    return new SimpleImmutableEntry<>(entry);
+                                }
+                            }
+                            while (columnValues.hasNext()) {
+                                AttributeColumn column = columnValues.next();
+                                if (column.isPresent(ordinal)) {
+                                    return new SimpleImmutableEntry<>(column.getAttribute(), column.get(ordinal));
+                                }
+                            }
+                            return null;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next != null;
+                        }
+
+                        @Override
+                        public Entry<IAttribute<?>, Object> next() {
+                            if (next == null) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<IAttribute<?>, Object> entry = next;
+                            next = advance();
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (IAttribute<?> attribute : attributeValues.keySet()) {
+                        if (!columns.containsKey(attribute)) {
+                            size++;
+                        }
+                    }
+                    for (AttributeColumn column : columns.values()) {
+                        if (column.isPresent(ordinal)) {
+                            size++;
+                        }
+                    }
+                    return size;
+                }
+            };
+        }
+    }
+
     @Override
     public void setName(String name) {
-        attributeValues.put(FeatureModelAttributes.NAME, name);
+        attributeValueChanged(
+                FeatureModelAttributes.NAME, getMutableAttributeValues().put(FeatureModelAttributes.NAME, name), name);
+    }
+
+    @Override
+    protected void attributeValueChanged(IAttribute<?> attribute, Object oldValue, Object newValue) {
+        if (FeatureModelAttributes.NAME.equals(attribute)) {
+            if (featureModel instanceof FeatureModel) {
+                ((FeatureModel) featureModel).updateFeatureName(this, (String) oldValue);
+            }
+        } else {
+            super.attributeValueChanged(attribute, oldValue, newValue);
+        }
     }
 
     @Override
     public void setDescription(String description) {
-        attributeValues.put(FeatureModelAttributes.DESCRIPTION, description);
+        attributeValueChanged(
+                FeatureModelAttributes.DESCRIPTION,
+                getMutableAttributeValues().put(FeatureModelAttributes.DESCRIPTION, description),
+                description);
     }
 }
@@ -28,15 +28,24 @@ import de.featjar.base.data.Result;
 import de.featjar.base.data.identifier.IIdentifier;
 import de.featjar.base.data.identifier.UUIDIdentifier;
 import de.featjar.base.tree.Trees;
+import de.featjar.feature.model.FeatureModelEvent.Type;
 import de.featjar.feature.model.IFeatureModel.IMutableFeatureModel;
 import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class FeatureModel implements IMutableFeatureModel, IMutatableAttributable {
 
@@ -46,8 +55,70 @@ public class FeatureModel implements IMutableFeatureModel, IMutatableAttributabl
     protected final LinkedHashMap<IIdentifier, IFeature> features;
     protected final LinkedHashMap<IIdentifier, IConstraint> constraints;
 
+    /**
+     * Index from feature names to all features carrying that name, kept in sync by {@link #addFeature(String)},
+     * {@link #removeFeature(IFeature)}, and renaming a feature of this model.
+     * Lookups by name resolve to the first feature in the list.
+     */
+    protected final HashMap<String, List<IFeature>> featuresByName;
+
+    /**
+     * Index from features to their nodes in the feature tree, kept in sync by the root mutators of this model and
+     * the mutators of {@link IMutableFeatureTree}.
+     */
+    protected final HashMap<IFeature, List<IFeatureTree>> featureTreeNodes;
+
+    /**
+     * Incidence index between constraints and the variable names they reference, kept in sync by
+     * {@link #addConstraint(IFormula)}, {@link #removeConstraint(IConstraint)}, and
+     * {@link IConstraint.IMutableConstraint#setFormula(IFormula)}.
+     * Features are resolved by name, so renaming a feature changes which constraints reference it.
+     */
+    protected final HashMap<IConstraint, LinkedHashSet<String>> variableNamesByConstraint;
+
+    protected final HashMap<String, LinkedHashSet<IConstraint>> constraintsByVariableName;
+
     protected final LinkedHashMap<IAttribute<?>, Object> attributeValues;
 
+    /**
+     * Numeric feature attributes stored in primitive columns instead of the attribute maps of the features.
+     */
+    final LinkedHashMap<IAttribute<?>, AttributeColumn> attributeColumns;
+
+    /**
+     * The number of forks of this model when {@link #attributeColumns} were last copied, or -1 if they may be shared
+     * with the model this model was forked from.
+     * The columns are copied before they are modified once this differs from the current number of forks.
+     */
+    private long attributeColumnsForks;
+
+    /**
+     * Features and constraints of this model indexed by their ordinal, with {@code null} for removed elements until
+     * the next {@link #compactOrdinals() compaction}.
+     */
+    protected final ArrayList<IFeature> featuresByOrdinal;
+
+    protected final ArrayList<IConstraint> constraintsByOrdinal;
+
+    private final List<IFeatureModelListener> listeners = new CopyOnWriteArrayList<>();
+    private ArrayList<FeatureModelEvent> pendingEvents;
+    private int batchDepth;
+
+    /**
+     * Incremented by every modification of this model, see {@link #getVersion()}.
+     */
+    private long version;
+
+    /**
+     * Incremented by every {@link #fork()} of this model.
+     * Elements remember this count when they create their attribute values or formula and copy them before
+     * modifying them once the count has changed, so forking never has to mark the elements of this model as shared.
+     */
+    private final AtomicLong forks = new AtomicLong();
+
+    private final HashMap<Object, Object> memo = new HashMap<>();
+    private long memoVersion;
+
     public FeatureModel() {
         this(UUIDIdentifier.newInstance());
     }
@@ -57,32 +128,133 @@ public class FeatureModel implements IMutableFeatureModel, IMutatableAttributabl
         pseudoFeatureTreeRoot = new PseudoFeatureTreeRoot(this);
         features = Maps.empty();
         constraints = Maps.empty();
+        featuresByName = new HashMap<>();
+        featureTreeNodes = new HashMap<>();
+        variableNamesByConstraint = new HashMap<>();
+        constraintsByVariableName = new HashMap<>();
         attributeValues = new LinkedHashMap<>(4);
+        attributeColumns = new LinkedHashMap<>(4);
+        featuresByOrdinal = new ArrayList<>();
+        constraintsByOrdinal = new ArrayList<>();
     }
 
     protected FeatureModel(FeatureModel otherFeatureModel) {
+        this(otherFeatureModel, false);
+    }
+
+    /**
+     * Creates a copy of another feature model.
+     * If {@code share} is set, the copy shares the attribute columns of the model, the attribute values of its
+     * features, tree nodes, and constraints, as well as the constraint formulas, with the other model.
+     * Each side copies a shared column, attribute map, or formula before modifying it, and the other model is not
+     * modified, so several threads may copy the same model at the same time.
+     * The features, tree nodes, constraints, and indices are always copied, because each element refers to its model
+     * and each tree node to its parent, so the copy takes time linear in the size of the model either way.
+     *
+     * @param otherFeatureModel the feature model to copy
+     * @param share whether to share unchanged elements with the other model
+     */
+    protected FeatureModel(FeatureModel otherFeatureModel, boolean share) {
         identifier = otherFeatureModel.getNewIdentifier();
 
-        pseudoFeatureTreeRoot = Trees.clone(otherFeatureModel.pseudoFeatureTreeRoot);
+        attributeColumns = new LinkedHashMap<>(4);
+        if (share) {
+            attributeColumns.putAll(otherFeatureModel.attributeColumns);
+            attributeColumnsForks = -1;
+        } else {
+            otherFeatureModel.attributeColumns.forEach(
+                    (attribute, column) -> attributeColumns.put(attribute, new AttributeColumn(column)));
+        }
+        featuresByOrdinal = new ArrayList<>(otherFeatureModel.featuresByOrdinal.size());
+        featuresByOrdinal.addAll(Collections.nCopies(otherFeatureModel.featuresByOrdinal.size(), null));
+        constraintsByOrdinal = new ArrayList<>(otherFeatureModel.constraintsByOrdinal.size());
+        constraintsByOrdinal.addAll(Collections.nCopies(otherFeatureModel.constraintsByOrdinal.size(), null));
 
         features = new LinkedHashMap<>((int) (otherFeatureModel.features.size() * 1.5));
-        otherFeatureModel.features.entrySet().stream()
-                .map(e -> e.getValue().clone(this))
-                .forEach(f -> features.put(f.getIdentifier(), f));
+        HashMap<IFeature, IFeature> clonedFeatures = new HashMap<>((int) (otherFeatureModel.features.size() * 1.5));
+        for (IFeature feature : otherFeatureModel.features.values()) {
+            IFeature clonedFeature =
+                    feature instanceof Feature ? ((Feature) feature).copy(this, share) : feature.clone(this);
+            features.put(clonedFeature.getIdentifier(), clonedFeature);
+            clonedFeatures.put(feature, clonedFeature);
+            if (clonedFeature.getOrdinal() >= 0) {
+                featuresByOrdinal.set(clonedFeature.getOrdinal(), clonedFeature);
+            }
+        }
+        featuresByName = new HashMap<>((int) (features.size() * 1.5));
+        features.values().forEach(f -> addFeatureName(f, f.getName().orElse(null)));
+
+        featureTreeNodes = new HashMap<>((int) (features.size() * 1.5));
+        pseudoFeatureTreeRoot = new PseudoFeatureTreeRoot(this);
+        for (IFeatureTree root : otherFeatureModel.pseudoFeatureTreeRoot.getChildren()) {
+            pseudoFeatureTreeRoot.addChild(cloneFeatureTree(root, clonedFeatures, share));
+        }
 
         constraints = new LinkedHashMap<>((int) (otherFeatureModel.constraints.size() * 1.5));
-        otherFeatureModel.constraints.entrySet().stream()
-                .map(e -> e.getValue().clone(this))
-                .forEach(c -> constraints.put(c.getIdentifier(), c));
+        variableNamesByConstraint = new HashMap<>((int) (otherFeatureModel.constraints.size() * 1.5));
+        constraintsByVariableName = new HashMap<>((int) (features.size() * 1.5));
+        for (IConstraint constraint : otherFeatureModel.constraints.values()) {
+            IConstraint clonedConstraint = constraint instanceof Constraint
+                    ? ((Constraint) constraint).copy(this, share)
+                    : constraint.clone(this);
+            constraints.put(clonedConstraint.getIdentifier(), clonedConstraint);
+            if (clonedConstraint.getOrdinal() >= 0) {
+                constraintsByOrdinal.set(clonedConstraint.getOrdinal(), clonedConstraint);
+            }
+            if (share) {
+                addConstraintVariables(
+                        clonedConstraint, otherFeatureModel.variableNamesByConstraint.get(constraint));
+            } else {
+                addConstraintVariables(clonedConstraint);
+            }
+        }
 
         attributeValues = otherFeatureModel.cloneAttributes();
     }
 
+    private FeatureTree cloneFeatureTree(
+            IFeatureTree featureTree, Map<IFeature, IFeature> clonedFeatures, boolean share) {
+        FeatureTree clonedTree = new FeatureTree(
+                (FeatureTree) featureTree,
+                clonedFeatures.getOrDefault(featureTree.getFeature(), featureTree.getFeature()),
+                share);
+        addFeatureTreeNode(clonedTree);
+        for (IFeatureTree child : featureTree.getChildren()) {
+            clonedTree.addChild(cloneFeatureTree(child, clonedFeatures, share));
+        }
+        return clonedTree;
+    }
+
     @Override
     public FeatureModel clone() {
         return new FeatureModel(this);
     }
 
+    /**
+     * Creates a copy-on-write copy of this model.
+     * Unlike {@link #clone()}, the copy shares attribute columns, attribute values, and constraint formulas with this
+     * model until either model changes them, so these are only copied for the elements that are modified.
+     * The features, tree nodes, constraints, and indices are still copied, so forking takes time linear in the size
+     * of the model.
+     * Shared formulas must not be modified in place; use
+     * {@link Constraint#modifyFormula(java.util.function.Consumer)} for that.
+     *
+     * @return the copy
+     */
+    public FeatureModel fork() {
+        forks.incrementAndGet();
+        return new FeatureModel(this, true);
+    }
+
+    /**
+     * {@return the number of forks of the given feature model, or 0 if it is no {@link FeatureModel}}
+     *
+     * @param featureModel the feature model
+     */
+    static long getForks(IFeatureModel featureModel) {
+        return featureModel instanceof FeatureModel ? ((FeatureModel) featureModel).forks.get() : 0;
+    }
+
     @Override
     public FeatureModel getFeatureModel() {
         return this;
@@ -151,13 +323,21 @@ public class FeatureModel implements IMutableFeatureModel, IMutatableAttributabl
         }
         checkType(attribute, value);
         validate(attribute, value);
-        attributeValues.put(attribute, value);
+        attributeValueChanged(attribute, attributeValues.put(attribute, value), value);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <S> S removeAttributeValue(Attribute<S> attribute) {
-        return (S) attributeValues.remove(attribute);
+        S oldValue = (S) attributeValues.remove(attribute);
+        attributeValueChanged(attribute, oldValue, null);
+        return oldValue;
+    }
+
+    private void attributeValueChanged(IAttribute<?> attribute, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            fireEvent(Type.ATTRIBUTE_CHANGED, this, attribute, oldValue, newValue);
+        }
     }
 
     @Override
@@ -180,72 +360,339 @@ public class FeatureModel implements IMutableFeatureModel, IMutatableAttributabl
 
     @Override
     public void setName(String name) {
-        attributeValues.put(FeatureModelAttributes.NAME, name);
+        attributeValueChanged(
+                FeatureModelAttributes.NAME, attributeValues.put(FeatureModelAttributes.NAME, name), name);
     }
 
     @Override
     public void setDescription(String description) {
-        attributeValues.put(FeatureModelAttributes.DESCRIPTION, description);
+        attributeValueChanged(
+                FeatureModelAttributes.DESCRIPTION,
+                attributeValues.put(FeatureModelAttributes.DESCRIPTION, description),
+                description);
+    }
+
+    /**
+     * Stores the values of the given numeric attribute for all features of this model in a primitive
+     * {@link AttributeColumn column} instead of the attribute maps of the features.
+     * Existing values are moved into the column.
+     * Reading and writing the attribute through the features is unaffected.
+     *
+     * @param attribute the attribute, whose type must be {@link Integer}, {@link Long}, {@link Float}, or
+     *     {@link Double}
+     * @return the column of the attribute
+     * @throws IllegalArgumentException if the attribute is not numeric
+     */
+    public AttributeColumn storeInColumn(IAttribute<?> attribute) {
+        AttributeColumn column = attributeColumns.get(attribute);
+        if (column == null) {
+            column = new AttributeColumn(attribute, featuresByOrdinal.size());
+            for (IFeature feature : features.values()) {
+                if (feature instanceof Feature && ((Feature) feature).ordinal >= 0) {
+                    Object value = ((Feature) feature).getMutableAttributeValues().remove(attribute);
+                    if (value != null) {
+                        column.set(((Feature) feature).ordinal, value);
+                    }
+                }
+            }
+            attributeColumns.put(attribute, column);
+        }
+        return column;
+    }
+
+    /**
+     * {@return the column that stores the given attribute, if any}
+     * A column may be shared with a {@link #fork() fork} and is replaced by a copy when either model modifies it,
+     * so it should not be kept across modifications.
+     *
+     * @param attribute the attribute
+     */
+    public Result<AttributeColumn> getAttributeColumn(IAttribute<?> attribute) {
+        return Result.ofNullable(attributeColumns.get(attribute));
+    }
+
+    /**
+     * {@return the column that stores the given attribute, copied first if it is shared with a fork, or
+     * {@code null} if there is no such column}
+     *
+     * @param attribute the attribute
+     */
+    AttributeColumn getMutableAttributeColumn(IAttribute<?> attribute) {
+        long currentForks = forks.get();
+        if (attributeColumnsForks != currentForks) {
+            attributeColumns.replaceAll((a, column) -> new AttributeColumn(column));
+            attributeColumnsForks = currentForks;
+        }
+        return attributeColumns.get(attribute);
+    }
+
+    /**
+     * Registers a listener that is notified of all subsequent modifications of this model.
+     * Listeners are not copied by {@link #clone()} or {@link #fork()}.
+     *
+     * @param listener the listener
+     */
+    public void addListener(IFeatureModelListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(IFeatureModelListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts a batch of modifications.
+     * Until the matching call to {@link #endBatch()}, events are collected and then delivered to each listener in a
+     * single notification.
+     * Batches can be nested, in which case the events are delivered when the outermost batch ends.
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch of modifications started with {@link #beginBatch()}.
+     *
+     * @throws IllegalStateException if no batch was started
+     */
+    public void endBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("No batch in progress!");
+        }
+        if (--batchDepth == 0 && pendingEvents != null) {
+            List<FeatureModelEvent> events = Collections.unmodifiableList(pendingEvents);
+            pendingEvents = null;
+            notifyListeners(events);
+        }
+    }
+
+    /**
+     * Runs the given modifications as one batch, so that listeners are notified only once.
+     *
+     * @param modification the modification
+     */
+    public void batch(Runnable modification) {
+        beginBatch();
+        try {
+            modification.run();
+        } finally {
+            endBatch();
+        }
+    }
+
+    void fireEvent(Type type, Object source, IAttribute<?> attribute, Object oldValue, Object newValue) {
+        version++;
+        if (listeners.isEmpty()) {
+            return;
+        }
+        FeatureModelEvent event = new FeatureModelEvent(type, source, attribute, oldValue, newValue);
+        if (batchDepth > 0) {
+            if (pendingEvents == null) {
+                pendingEvents = new ArrayList<>();
+            }
+            pendingEvents.add(event);
+        } else {
+            notifyListeners(List.of(event));
+        }
+    }
+
+    private void fireEvent(Type type, Object source) {
+        fireEvent(type, source, null, null, null);
+    }
+
+    /**
+     * Notifies the listeners of the given model, if it is a {@link FeatureModel}.
+     * Called by the elements of a model whenever they are modified.
+     */
+    static void fireEvent(
+            IFeatureModel featureModel,
+            Type type,
+            Object source,
+            IAttribute<?> attribute,
+            Object oldValue,
+            Object newValue) {
+        if (featureModel instanceof FeatureModel) {
+            ((FeatureModel) featureModel).fireEvent(type, source, attribute, oldValue, newValue);
+        }
+    }
+
+    /**
+     * Increments the version of the given model, if it is a {@link FeatureModel}.
+     * Called for modifications that are not reported as events.
+     */
+    static void modified(IFeatureModel featureModel) {
+        if (featureModel instanceof FeatureModel) {
+            ((FeatureModel) featureModel).version++;
+        }
+    }
+
+    /**
+     * {@return the version of this model}
+     * The version changes with every modification made through the mutators of this model and its elements, so
+     * results derived from this model can be reused as long as the version stays the same.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * {@return the value for the given key, computed by the given supplier at most once per version of this model}
+     * Values are shared by all callers and must not be modified.
+     * All values are dropped when the version of this model changes.
+     *
+     * @param <T> the type of the value
+     * @param key the key, which identifies the kind of derived value
+     * @param supplier the supplier that computes the value from the current state of this model
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T memoize(Object key, Supplier<T> supplier) {
+        if (memoVersion != version) {
+            memo.clear();
+            memoVersion = version;
+        }
+        Object value = memo.get(key);
+        if (value == null) {
+            value = supplier.get();
+            if (memoVersion == version) {
+                memo.put(key, value);
+            }
+        }
+        return (T) value;
+    }
+
+    private void notifyListeners(List<FeatureModelEvent> events) {
+        for (IFeatureModelListener listener : listeners) {
+            listener.modelChanged(events);
+        }
     }
 
     @Override
     public IFeatureTree addFeatureTreeRoot(IFeature feature) {
         FeatureTree newTree = new FeatureTree(feature);
         pseudoFeatureTreeRoot.addChild(newTree);
+        addFeatureTreeNode(newTree);
+        fireEvent(Type.TREE_NODE_ADDED, newTree);
         return newTree;
     }
 
     @Override
     public void addFeatureTreeRoot(IFeatureTree featureTree) {
         pseudoFeatureTreeRoot.addChild(featureTree);
+        featureTree.preOrderStream().forEach(this::addFeatureTreeNode);
+        fireEvent(Type.TREE_NODE_ADDED, featureTree);
     }
 
     @Override
     public void removeFeatureTreeRoot(IFeature feature) {
         int index = 0;
-        int removeIndex = -1;
+        IFeatureTree removedTree = null;
         for (IFeatureTree child : pseudoFeatureTreeRoot.getChildren()) {
             if (child.getFeature().equals(feature)) {
-                removeIndex = index;
+                removedTree = child;
                 break;
             }
             index++;
         }
-        if (removeIndex >= 0) {
-            pseudoFeatureTreeRoot.removeChild(removeIndex);
+        if (removedTree != null) {
+            pseudoFeatureTreeRoot.removeChild(index);
+            removedTree.preOrderStream().forEach(this::removeFeatureTreeNode);
+            fireEvent(Type.TREE_NODE_REMOVED, removedTree);
         }
     }
 
     @Override
     public void removeFeatureTreeRoot(IFeatureTree featureTree) {
         pseudoFeatureTreeRoot.removeChild(featureTree);
+        featureTree.preOrderStream().forEach(this::removeFeatureTreeNode);
+        fireEvent(Type.TREE_NODE_REMOVED, featureTree);
     }
 
     @Override
     public IConstraint addConstraint(IFormula formula) {
-        IConstraint newConstraint = new Constraint(this, Trees.clone(formula));
+        Constraint newConstraint = new Constraint(this, Trees.clone(formula));
+        newConstraint.ordinal = constraintsByOrdinal.size();
+        constraintsByOrdinal.add(newConstraint);
         constraints.put(newConstraint.getIdentifier(), newConstraint);
+        addConstraintVariables(newConstraint);
+        fireEvent(Type.CONSTRAINT_ADDED, newConstraint);
         return newConstraint;
     }
 
     @Override
     public boolean removeConstraint(IConstraint constraint) {
         Objects.requireNonNull(constraint);
-        return constraints.remove(constraint.getIdentifier()) != null;
+        IConstraint removedConstraint = constraints.remove(constraint.getIdentifier());
+        if (removedConstraint == null) {
+            return false;
+        }
+        removeConstraintVariables(removedConstraint);
+        if (removedConstraint instanceof Constraint && ((Constraint) removedConstraint).ordinal >= 0) {
+            constraintsByOrdinal.set(((Constraint) removedConstraint).ordinal, null);
+            ((Constraint) removedConstraint).ordinal = -1;
+        }
+        fireEvent(Type.CONSTRAINT_REMOVED, removedConstraint);
+        return true;
+    }
+
+    @Override
+    public LinkedHashSet<IFeature> getReferencedFeatures(IConstraint constraint) {
+        LinkedHashSet<String> variableNames = variableNamesByConstraint.get(constraint);
+        if (variableNames == null) {
+            return IConstraint.getReferencedFeatures(constraint.getFormula(), this);
+        }
+        LinkedHashSet<IFeature> referencedFeatures = new LinkedHashSet<>();
+        for (String name : variableNames) {
+            IFeature feature = getFeatureByName(name);
+            if (feature == null) throw new RuntimeException("encountered unknown feature " + name);
+            referencedFeatures.add(feature);
+        }
+        return referencedFeatures;
+    }
+
+    @Override
+    public LinkedHashSet<IConstraint> getReferencingConstraints(IFeature feature) {
+        Result<String> name = feature.getName();
+        if (name.isEmpty() || getFeatureByName(name.get()) != feature) {
+            return new LinkedHashSet<>();
+        }
+        LinkedHashSet<IConstraint> referencingConstraints = constraintsByVariableName.get(name.get());
+        return referencingConstraints == null ? new LinkedHashSet<>() : new LinkedHashSet<>(referencingConstraints);
     }
 
     @Override
     public IFeature addFeature(String name) {
         Objects.requireNonNull(name);
         Feature feature = new Feature(this);
+        feature.ordinal = featuresByOrdinal.size();
+        featuresByOrdinal.add(feature);
         feature.setName(name);
         features.put(feature.getIdentifier(), feature);
+        addFeatureName(feature, name);
+        fireEvent(Type.FEATURE_ADDED, feature);
         return feature;
     }
 
     @Override
     public boolean removeFeature(IFeature feature) {
-        return features.remove(feature.getIdentifier()) != null;
+        IFeature removedFeature = features.remove(feature.getIdentifier());
+        if (removedFeature == null) {
+            return false;
+        }
+        removeFeatureName(removedFeature, removedFeature.getName().orElse(null));
+        if (removedFeature instanceof Feature && ((Feature) removedFeature).ordinal >= 0) {
+            Feature detachedFeature = (Feature) removedFeature;
+            for (IAttribute<?> attribute : attributeColumns.keySet()) {
+                AttributeColumn column = getMutableAttributeColumn(attribute);
+                Object value = column.remove(detachedFeature.ordinal);
+                if (value != null) {
+                    detachedFeature.getMutableAttributeValues().put(column.getAttribute(), value);
+                }
+            }
+            featuresByOrdinal.set(detachedFeature.ordinal, null);
+            detachedFeature.ordinal = -1;
+        }
+        fireEvent(Type.FEATURE_REMOVED, removedFeature);
+        return true;
     }
 
     @Override
@@ -253,12 +700,135 @@ public class FeatureModel implements IMutableFeatureModel, IMutatableAttributabl
         return features.size();
     }
 
+    /**
+     * {@return the feature with the given ordinal, if any}
+     *
+     * @param ordinal the ordinal
+     */
+    public Result<IFeature> getFeatureByOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < featuresByOrdinal.size()
+                ? Result.ofNullable(featuresByOrdinal.get(ordinal))
+                : Result.empty();
+    }
+
+    /**
+     * {@return the constraint with the given ordinal, if any}
+     *
+     * @param ordinal the ordinal
+     */
+    public Result<IConstraint> getConstraintByOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < constraintsByOrdinal.size()
+                ? Result.ofNullable(constraintsByOrdinal.get(ordinal))
+                : Result.empty();
+    }
+
+    /**
+     * {@return an upper bound for the ordinals of the features of this model}
+     * Equals {@link #getNumberOfFeatures()} unless features were removed since the last
+     * {@link #compactOrdinals() compaction}.
+     */
+    public int getFeatureOrdinalLimit() {
+        return featuresByOrdinal.size();
+    }
+
+    /**
+     * {@return an upper bound for the ordinals of the constraints of this model}
+     * Equals {@link #getNumberOfConstraints()} unless constraints were removed since the last
+     * {@link #compactOrdinals() compaction}.
+     */
+    public int getConstraintOrdinalLimit() {
+        return constraintsByOrdinal.size();
+    }
+
+    /**
+     * Closes the gaps that removing features and constraints left in their ordinals.
+     * The remaining elements keep their relative order, and {@link AttributeColumn attribute columns} are
+     * remapped accordingly. Tables indexed by the old ordinals become invalid, which is announced to listeners with
+     * a {@link Type#ORDINALS_COMPACTED} event.
+     *
+     * @return whether any ordinal changed
+     */
+    public boolean compactOrdinals() {
+        if (featuresByOrdinal.size() == features.size() && constraintsByOrdinal.size() == constraints.size()) {
+            return false;
+        }
+        int[] featureOrdinals = new int[featuresByOrdinal.size()];
+        int featureCount = 0;
+        for (int i = 0; i < featureOrdinals.length; i++) {
+            IFeature feature = featuresByOrdinal.get(i);
+            if (feature == null) {
+                featureOrdinals[i] = -1;
+            } else {
+                featureOrdinals[i] = featureCount;
+                ((Feature) feature).ordinal = featureCount;
+                featuresByOrdinal.set(featureCount++, feature);
+            }
+        }
+        featuresByOrdinal.subList(featureCount, featuresByOrdinal.size()).clear();
+        featuresByOrdinal.trimToSize();
+        for (IAttribute<?> attribute : attributeColumns.keySet()) {
+            getMutableAttributeColumn(attribute).remap(featureOrdinals, featureCount);
+        }
+
+        int constraintCount = 0;
+        for (int i = 0; i < constraintsByOrdinal.size(); i++) {
+            IConstraint constraint = constraintsByOrdinal.get(i);
+            if (constraint != null) {
+                ((Constraint) constraint).ordinal = constraintCount;
+                constraintsByOrdinal.set(constraintCount++, constraint);
+            }
+        }
+        constraintsByOrdinal.subList(constraintCount, constraintsByOrdinal.size()).clear();
+        constraintsByOrdinal.trimToSize();
+
+        fireEvent(Type.ORDINALS_COMPACTED, this);
+        return true;
+    }
+
     @Override
     public Result<IFeature> getFeature(String name) {
-        return Result.ofOptional(features.entrySet().stream()
-                .map(e -> e.getValue())
-                .filter(f -> f.getName().valueEquals(name))
-                .findFirst());
+        return Result.ofNullable(getFeatureByName(name));
+    }
+
+    @Override
+    public boolean hasFeature(String name) {
+        return featuresByName.containsKey(name);
+    }
+
+    @Override
+    public Result<IFeatureTree> getFeatureTree(IFeature feature) {
+        List<IFeatureTree> nodes = featureTreeNodes.get(Objects.requireNonNull(feature));
+        return nodes == null ? Result.empty() : Result.of(nodes.get(0));
+    }
+
+    @Override
+    public Result<IFeatureTree> getFeatureTree(String name) {
+        IFeature feature = getFeatureByName(Objects.requireNonNull(name));
+        return feature == null ? Result.empty() : getFeatureTree(feature);
+    }
+
+    @Override
+    public Stream<? extends IFeatureTree> getFeatureTreeNodeStream(IFeature feature) {
+        List<IFeatureTree> nodes = featureTreeNodes.get(feature);
+        return nodes == null ? Stream.of() : nodes.stream();
+    }
+
+    @Override
+    public Stream<? extends IFeatureTree> getFeatureTreeNodeStream(String name) {
+        IFeature feature = getFeatureByName(name);
+        return feature == null ? Stream.of() : getFeatureTreeNodeStream(feature);
+    }
+
+    @Override
+    public Result<IFeature> getTreeFeature(IIdentifier identifier) {
+        IFeature feature = features.get(Objects.requireNonNull(identifier));
+        return feature != null && featureTreeNodes.containsKey(feature) ? Result.of(feature) : Result.empty();
+    }
+
+    @Override
+    public Result<IFeature> getTreeFeature(String name) {
+        IFeature feature = getFeatureByName(Objects.requireNonNull(name));
+        return feature != null && featureTreeNodes.containsKey(feature) ? Result.of(feature) : Result.empty();
     }
 
     @Override
@@ -270,4 +840,132 @@ public class FeatureModel implements IMutableFeatureModel, IMutatableAttributabl
     public boolean hasFeature(IFeature feature) {
         return features.containsKey(feature.getIdentifier());
     }
+
+    /**
+     * Updates the name index after a feature of this model was renamed.
+     * Called by {@link Feature} whenever its name attribute changes.
+     *
+     * @param feature the renamed feature
+     * @param oldName the previous name of the feature
+     */
+    void updateFeatureName(IFeature feature, String oldName) {
+        if (features.get(feature.getIdentifier()) != feature) {
+            return;
+        }
+        String newName = feature.getName().orElse(null);
+        if (!Objects.equals(oldName, newName)) {
+            removeFeatureName(feature, oldName);
+            addFeatureName(feature, newName);
+            fireEvent(Type.FEATURE_RENAMED, feature, null, oldName, newName);
+        }
+    }
+
+    private IFeature getFeatureByName(String name) {
+        List<IFeature> namedFeatures = featuresByName.get(name);
+        return namedFeatures == null ? null : namedFeatures.get(0);
+    }
+
+    private void addFeatureName(IFeature feature, String name) {
+        if (name != null) {
+            featuresByName.computeIfAbsent(name, n -> new ArrayList<>(1)).add(feature);
+        }
+    }
+
+    private void removeFeatureName(IFeature feature, String name) {
+        if (name != null) {
+            List<IFeature> namedFeatures = featuresByName.get(name);
+            if (namedFeatures != null && namedFeatures.remove(feature) && namedFeatures.isEmpty()) {
+                featuresByName.remove(name);
+            }
+        }
+    }
+
+    /**
+     * Adds a new node to the index of feature tree nodes.
+     * Called by the mutators of {@link IMutableFeatureTree} whenever they create a node.
+     *
+     * @param featureTree the new node
+     */
+    void addFeatureTreeNode(IFeatureTree featureTree) {
+        featureTreeNodes
+                .computeIfAbsent(featureTree.getFeature(), f -> new ArrayList<>(1))
+                .add(featureTree);
+    }
+
+    /**
+     * Removes a node from the index of feature tree nodes.
+     * Called by the mutators of {@link IMutableFeatureTree} whenever they remove a node.
+     *
+     * @param featureTree the removed node
+     */
+    void removeFeatureTreeNode(IFeatureTree featureTree) {
+        List<IFeatureTree> nodes = featureTreeNodes.get(featureTree.getFeature());
+        if (nodes != null && nodes.remove(featureTree) && nodes.isEmpty()) {
+            featureTreeNodes.remove(featureTree.getFeature());
+        }
+    }
+
+    static void featureTreeNodeAdded(IFeatureTree featureTree) {
+        IFeatureModel featureModel = featureTree.getFeature().getFeatureModel();
+        if (featureModel instanceof FeatureModel) {
+            ((FeatureModel) featureModel).addFeatureTreeNode(featureTree);
+            ((FeatureModel) featureModel).fireEvent(Type.TREE_NODE_ADDED, featureTree);
+        }
+    }
+
+    static void featureTreeNodeRemoved(IFeatureTree featureTree) {
+        IFeatureModel featureModel = featureTree.getFeature().getFeatureModel();
+        if (featureModel instanceof FeatureModel) {
+            ((FeatureModel) featureModel).removeFeatureTreeNode(featureTree);
+            ((FeatureModel) featureModel).fireEvent(Type.TREE_NODE_REMOVED, featureTree);
+        }
+    }
+
+    /**
+     * Updates the incidence index after the formula of a constraint of this model was replaced or modified.
+     * Called by {@link Constraint#setFormula(IFormula)} and {@link Constraint#modifyFormula(java.util.function.Consumer)}.
+     *
+     * @param constraint the changed constraint
+     * @param oldFormula the previous formula of the constraint, which is the current one if it was modified in place
+     */
+    void updateConstraintFormula(IConstraint constraint, IFormula oldFormula) {
+        if (constraints.get(constraint.getIdentifier()) == constraint) {
+            removeConstraintVariables(constraint);
+            addConstraintVariables(constraint);
+            fireEvent(Type.CONSTRAINT_FORMULA_CHANGED, constraint, null, oldFormula, constraint.getFormula());
+        }
+    }
+
+    private void addConstraintVariables(IConstraint constraint) {
+        LinkedHashSet<String> variableNames = new LinkedHashSet<>();
+        constraint.getFormula().getVariableStream().map(Variable::getName).forEach(variableNames::add);
+        addConstraintVariables(constraint, variableNames);
+    }
+
+    /**
+     * Indexes a constraint with the given variable names.
+     * The set is never modified afterwards, so forked models can share it.
+     */
+    private void addConstraintVariables(IConstraint constraint, LinkedHashSet<String> variableNames) {
+        variableNamesByConstraint.put(constraint, variableNames);
+        for (String name : variableNames) {
+            constraintsByVariableName
+                    .computeIfAbsent(name, n -> new LinkedHashSet<>())
+                    .add(constraint);
+        }
+    }
+
+    private void removeConstraintVariables(IConstraint constraint) {
+        LinkedHashSet<String> variableNames = variableNamesByConstraint.remove(constraint);
+        if (variableNames != null) {
+            for (String name : variableNames) {
+                LinkedHashSet<IConstraint> referencingConstraints = constraintsByVariableName.get(name);
+                if (referencingConstraints != null
+                        && referencingConstraints.remove(constraint)
+                        && referencingConstraints.isEmpty()) {
+                    constraintsByVariableName.remove(name);
+                }
+            }
+        }
+    }
 }
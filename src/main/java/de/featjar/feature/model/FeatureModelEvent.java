@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model;
+
+import de.featjar.base.data.IAttribute;
+import java.util.Objects;
+
+/**
+ * Describes a single modification of a {@link FeatureModel}.
+ * Events are delivered to {@link IFeatureModelListener listeners} registered with
+ * {@link FeatureModel#addListener(IFeatureModelListener)}.
+ *
+ * @author Sebastian Krieter
+ */
+public final class FeatureModelEvent {
+
+    public enum Type {
+        /** A feature was added to the model. The source is the feature. */
+        FEATURE_ADDED,
+        /** A feature was removed from the model. The source is the feature. */
+        FEATURE_REMOVED,
+        /** A feature was renamed. The source is the feature, the values are the old and new name. */
+        FEATURE_RENAMED,
+        /** The type of a feature changed. The source is the feature, the values are the old and new type. */
+        FEATURE_TYPE_CHANGED,
+        /** A node was added to the feature tree. The source is the node. */
+        TREE_NODE_ADDED,
+        /** A node was removed from the feature tree. The source is the node. */
+        TREE_NODE_REMOVED,
+        /** A node was moved to another parent. The source is the node, the values are the old and new parent. */
+        TREE_NODE_MOVED,
+        /** A node was moved to another group of its parent. The source is the node, the values are the group ids. */
+        TREE_PARENT_GROUP_CHANGED,
+        /** A group of a node was added, removed, or changed its bounds. The source is the node. */
+        TREE_GROUPS_CHANGED,
+        /** The feature cardinality of a node changed. The source is the node. */
+        TREE_CARDINALITY_CHANGED,
+        /** A constraint was added to the model. The source is the constraint. */
+        CONSTRAINT_ADDED,
+        /** A constraint was removed from the model. The source is the constraint. */
+        CONSTRAINT_REMOVED,
+        /** The formula of a constraint changed. The source is the constraint, the values are the formulas. */
+        CONSTRAINT_FORMULA_CHANGED,
+        /**
+         * An attribute value of the model, a feature, a constraint, or a tree node changed.
+         * The values are the old and new attribute value, either of which may be {@code null}.
+         */
+        ATTRIBUTE_CHANGED,
+        /**
+         * The ordinals of features and constraints were compacted, which invalidates all tables indexed by them.
+         * The source is the model.
+         */
+        ORDINALS_COMPACTED
+    }
+
+    private final Type type;
+    private final Object source;
+    private final IAttribute<?> attribute;
+    private final Object oldValue;
+    private final Object newValue;
+
+    public FeatureModelEvent(Type type, Object source, IAttribute<?> attribute, Object oldValue, Object newValue) {
+        this.type = Objects.requireNonNull(type);
+        this.source = Objects.requireNonNull(source);
+        this.attribute = attribute;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * {@return the modified model, feature, constraint, or feature tree node}
+     */
+    public Object getSource() {
+        return source;
+    }
+
+    /**
+     * {@return the changed attribute, or {@code null} if this is not an {@link Type#ATTRIBUTE_CHANGED} event}
+     */
+    public IAttribute<?> getAttribute() {
+        return attribute;
+    }
+
+    public Object getOldValue() {
+        return oldValue;
+    }
+
+    public Object getNewValue() {
+        return newValue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "FeatureModelEvent{type=%s, source=%s, old=%s, new=%s}", type, source, oldValue, newValue);
+    }
+}
@@ -22,6 +22,7 @@ package de.featjar.feature.model;
 
 import de.featjar.base.data.Attribute;
 import de.featjar.base.data.IAttribute;
+import de.featjar.base.data.Pair;
 import de.featjar.base.data.Range;
 import de.featjar.base.data.Result;
 import de.featjar.base.tree.structure.ARootedTree;
@@ -34,7 +35,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class FeatureTree extends ARootedTree<IFeatureTree> implements IMutableFeatureTree {
@@ -120,6 +120,26 @@ public class FeatureTree extends ARootedTree<IFeatureTree> implements IMutableFe
 
     protected LinkedHashMap<IAttribute<?>, Object> attributeValues;
 
+    /**
+     * The number of forks of the feature model when {@link #attributeValues} was created.
+     * If the model has been forked since, the map may be shared with a forked node and is copied before it is
+     * modified.
+     */
+    private long attributeValuesForks;
+
+    /**
+     * The children of this node partitioned by their group id, in child order, with {@code null} for groups without
+     * children.
+     * Kept in sync by the structural mutators of this node and by {@link #setParent(IFeatureTree)} and
+     * {@link #setParentGroupID(int)} of its children.
+     */
+    private final ArrayList<ArrayList<IFeatureTree>> groupedChildren = new ArrayList<>(1);
+
+    /**
+     * The node in whose {@link #groupedChildren} this node is listed, or {@code null} if there is none.
+     */
+    private FeatureTree groupingParent;
+
     protected FeatureTree() {
         this.feature = null;
         cardinality = Range.of(0, 1);
@@ -135,12 +155,26 @@ public class FeatureTree extends ARootedTree<IFeatureTree> implements IMutableFe
     }
 
     protected FeatureTree(FeatureTree otherFeatureTree) {
-        feature = otherFeatureTree.feature;
+        this(otherFeatureTree, otherFeatureTree.feature);
+    }
+
+    protected FeatureTree(FeatureTree otherFeatureTree, IFeature feature) {
+        this(otherFeatureTree, feature, false);
+    }
+
+    protected FeatureTree(FeatureTree otherFeatureTree, IFeature feature, boolean shareAttributes) {
+        this.feature = feature;
         parentGroupID = otherFeatureTree.parentGroupID;
         cardinality = otherFeatureTree.cardinality.clone();
         childrenGroups = new ArrayList<>(otherFeatureTree.childrenGroups.size());
         otherFeatureTree.childrenGroups.stream().map(Group::clone).forEach(childrenGroups::add);
-        attributeValues = otherFeatureTree.cloneAttributes();
+        if (shareAttributes && otherFeatureTree.attributeValues != null) {
+            attributeValues = otherFeatureTree.attributeValues;
+            attributeValuesForks = -1;
+        } else {
+            attributeValues = otherFeatureTree.cloneAttributes();
+            attributeValuesForks = feature == null ? 0 : FeatureModel.getForks(feature.getFeatureModel());
+        }
     }
 
     @Override
@@ -177,9 +211,189 @@ public class FeatureTree extends ARootedTree<IFeatureTree> implements IMutableFe
 
     @Override
     public List<IFeatureTree> getChildren(int groupID) {
-        return getChildren().stream()
-                .filter(c -> c.getParentGroupID() == groupID)
-                .collect(Collectors.toList());
+        ArrayList<IFeatureTree> children = getGroupList(groupID);
+        return children == null ? List.of() : Collections.unmodifiableList(children);
+    }
+
+    @Override
+    public int getChildrenCount(int groupID) {
+        ArrayList<IFeatureTree> children = getGroupList(groupID);
+        return children == null ? 0 : children.size();
+    }
+
+    @Override
+    public List<Pair<Group, List<IFeatureTree>>> getGroupedChildren() {
+        List<Pair<Group, List<IFeatureTree>>> groups = new ArrayList<>(groupedChildren.size());
+        for (int groupID = 0; groupID < groupedChildren.size(); groupID++) {
+            ArrayList<IFeatureTree> children = groupedChildren.get(groupID);
+            if (children != null && !children.isEmpty()) {
+                groups.add(new Pair<>(
+                        groupID < childrenGroups.size() ? childrenGroups.get(groupID) : null,
+                        Collections.unmodifiableList(children)));
+            }
+        }
+        return groups;
+    }
+
+    private ArrayList<IFeatureTree> getGroupList(int groupID) {
+        return groupID >= 0 && groupID < groupedChildren.size() ? groupedChildren.get(groupID) : null;
+    }
+
+    private static int lastIndexOf(List<? extends IFeatureTree> nodes, IFeatureTree node) {
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            if (nodes.get(i) == node) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isGrouped(IFeatureTree child) {
+        if (child instanceof FeatureTree) {
+            return ((FeatureTree) child).groupingParent == this;
+        }
+        ArrayList<IFeatureTree> children = getGroupList(child.getParentGroupID());
+        return children != null && lastIndexOf(children, child) >= 0;
+    }
+
+    /**
+     * Inserts a child into the list of its group, after the closest preceding child of the same group.
+     * Does nothing if the child is already listed or not yet contained in the children of this node.
+     *
+     * @param child the child
+     */
+    private void addToGroup(IFeatureTree child) {
+        if (isGrouped(child)) {
+            return;
+        }
+        List<? extends IFeatureTree> children = getChildren();
+        int index = lastIndexOf(children, child);
+        if (index < 0) {
+            return;
+        }
+        int groupID = child.getParentGroupID();
+        while (groupedChildren.size() <= groupID) {
+            groupedChildren.add(null);
+        }
+        ArrayList<IFeatureTree> group = groupedChildren.get(groupID);
+        if (group == null) {
+            group = new ArrayList<>(4);
+            groupedChildren.set(groupID, group);
+        }
+        int position = 0;
+        for (int i = index - 1; i >= 0; i--) {
+            IFeatureTree sibling = children.get(i);
+            if (sibling.getParentGroupID() == groupID) {
+                position = lastIndexOf(group, sibling) + 1;
+                break;
+            }
+        }
+        group.add(position, child);
+        if (child instanceof FeatureTree) {
+            ((FeatureTree) child).groupingParent = this;
+        }
+    }
+
+    /**
+     * Removes a child from the list of its group, if it is listed.
+     *
+     * @param child the child
+     */
+    private void removeFromGroup(IFeatureTree child) {
+        if (child == null || !isGrouped(child)) {
+            return;
+        }
+        ArrayList<IFeatureTree> group = getGroupList(child.getParentGroupID());
+        group.remove(lastIndexOf(group, child));
+        if (child instanceof FeatureTree) {
+            ((FeatureTree) child).groupingParent = null;
+        }
+    }
+
+    /**
+     * Lists all children by group anew, after the children of this node were replaced at once.
+     */
+    private void regroupChildren() {
+        for (ArrayList<IFeatureTree> group : groupedChildren) {
+            if (group != null) {
+                for (IFeatureTree child : group) {
+                    if (child instanceof FeatureTree && ((FeatureTree) child).groupingParent == this) {
+                        ((FeatureTree) child).groupingParent = null;
+                    }
+                }
+                group.clear();
+            }
+        }
+        for (IFeatureTree child : getChildren()) {
+            addToGroup(child);
+        }
+    }
+
+    @Override
+    public void addChild(int index, IFeatureTree newChild) {
+        super.addChild(index, newChild);
+        addToGroup(newChild);
+    }
+
+    @Override
+    public void addChild(IFeatureTree newChild) {
+        super.addChild(newChild);
+        addToGroup(newChild);
+    }
+
+    @Override
+    public void removeChild(IFeatureTree child) {
+        super.removeChild(child);
+        removeFromGroup(child);
+    }
+
+    @Override
+    public IFeatureTree removeChild(int index) {
+        IFeatureTree child = super.removeChild(index);
+        removeFromGroup(child);
+        return child;
+    }
+
+    @Override
+    public void replaceChild(IFeatureTree oldChild, IFeatureTree newChild) {
+        super.replaceChild(oldChild, newChild);
+        removeFromGroup(oldChild);
+        addToGroup(newChild);
+    }
+
+    @Override
+    public void setChildren(List<? extends IFeatureTree> children) {
+        super.setChildren(children);
+        regroupChildren();
+    }
+
+    @Override
+    public void clearChildren() {
+        super.clearChildren();
+        regroupChildren();
+    }
+
+    @Override
+    public void setParent(IFeatureTree newParent) {
+        IFeatureTree oldParent = parent;
+        if (oldParent instanceof FeatureTree) {
+            ((FeatureTree) oldParent).removeFromGroup(this);
+        }
+        super.setParent(newParent);
+        if (newParent instanceof FeatureTree) {
+            ((FeatureTree) newParent).addToGroup(this);
+        }
+        if (oldParent != null && newParent != null && oldParent != newParent) {
+            fireEvent(FeatureModelEvent.Type.TREE_NODE_MOVED, null, oldParent, newParent);
+        } else if (oldParent != newParent && feature != null) {
+            FeatureModel.modified(feature.getFeatureModel());
+        }
+    }
+
+    private void fireEvent(FeatureModelEvent.Type type, IAttribute<?> attribute, Object oldValue, Object newValue) {
+        if (feature != null) {
+            FeatureModel.fireEvent(feature.getFeatureModel(), type, this, attribute, oldValue, newValue);
+        }
     }
 
     public List<IFeatureTree> getGroupSiblings() {
@@ -242,14 +456,17 @@ public class FeatureTree extends ARootedTree<IFeatureTree> implements IMutableFe
     }
 
     private int addGroup(Group newGroup) {
-        for (int i = 1; i < childrenGroups.size(); i++) {
-            if (childrenGroups.get(i) == null) {
-                childrenGroups.set(i, newGroup);
-                return i;
-            }
+        int groupID = 1;
+        while (groupID < childrenGroups.size() && childrenGroups.get(groupID) != null) {
+            groupID++;
         }
-        childrenGroups.add(newGroup);
-        return childrenGroups.size() - 1;
+        if (groupID < childrenGroups.size()) {
+            childrenGroups.set(groupID, newGroup);
+        } else {
+            childrenGroups.add(newGroup);
+        }
+        fireEvent(FeatureModelEvent.Type.TREE_GROUPS_CHANGED, null, null, groupID);
+        return groupID;
     }
 
     @Override
@@ -263,9 +480,11 @@ public class FeatureTree extends ARootedTree<IFeatureTree> implements IMutableFe
         if (!isValidGroupID(substituteGroupID)) {
             throw new IllegalArgumentException(String.format("Invalid substitute group id %d!", substituteGroupID));
         }
+        for (IFeatureTree child : new ArrayList<>(getChildren(groupID))) {
+            child.mutate().setParentGroupID(substituteGroupID);
+        }
         childrenGroups.set(groupID, null);
-        getChildren().stream().filter(c -> c.getParentGroupID() == groupID).forEach(c -> c.mutate()
-                .setParentGroupID(substituteGroupID));
+        fireEvent(FeatureModelEvent.Type.TREE_GROUPS_CHANGED, null, groupID, null);
     }
 
     public boolean isValidGroupID(int groupID) {
@@ -278,26 +497,49 @@ public class FeatureTree extends ARootedTree<IFeatureTree> implements IMutableFe
         if (groupID >= parent.getChildrenGroups().size())
             throw new IllegalArgumentException(
                     String.format("groupID must be smaller than number of groups in parent feature (%d)", groupID));
-        this.parentGroupID = groupID;
+        if (this.parentGroupID != groupID) {
+            int oldGroupID = this.parentGroupID;
+            FeatureTree oldGroupingParent = groupingParent;
+            if (oldGroupingParent != null) {
+                oldGroupingParent.removeFromGroup(this);
+            }
+            this.parentGroupID = groupID;
+            if (oldGroupingParent != null) {
+                oldGroupingParent.addToGroup(this);
+            }
+            fireEvent(FeatureModelEvent.Type.TREE_PARENT_GROUP_CHANGED, null, oldGroupID, groupID);
+        }
     }
 
     @Override
     public void setFeatureCardinality(Range featureCardinality) {
+        Range oldCardinality = cardinality;
         this.cardinality = Range.copy(featureCardinality);
+        cardinalityChanged(oldCardinality);
     }
 
     @Override
     public void makeMandatory() {
+        Range oldCardinality = cardinality.clone();
         if (cardinality.getUpperBound() == 0) {
             cardinality = Range.exactly(1);
         } else {
             cardinality.setLowerBound(1);
         }
+        cardinalityChanged(oldCardinality);
     }
 
     @Override
     public void makeOptional() {
+        Range oldCardinality = cardinality.clone();
         cardinality.setLowerBound(0);
+        cardinalityChanged(oldCardinality);
+    }
+
+    private void cardinalityChanged(Range oldCardinality) {
+        if (!oldCardinality.is(cardinality)) {
+            fireEvent(FeatureModelEvent.Type.TREE_CARDINALITY_CHANGED, null, oldCardinality, Range.copy(cardinality));
+        }
     }
 
     @Override
@@ -308,26 +550,41 @@ public class FeatureTree extends ARootedTree<IFeatureTree> implements IMutableFe
         }
         checkType(attribute, value);
         validate(attribute, value);
-        if (attributeValues == null) {
-            attributeValues = new LinkedHashMap<>();
-        }
-        attributeValues.put(attribute, value);
+        attributeValueChanged(attribute, getMutableAttributeValues().put(attribute, value), value);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <S> S removeAttributeValue(Attribute<S> attribute) {
+        S oldValue = (S) getMutableAttributeValues().remove(attribute);
+        attributeValueChanged(attribute, oldValue, null);
+        return oldValue;
+    }
+
+    private void attributeValueChanged(IAttribute<?> attribute, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            fireEvent(FeatureModelEvent.Type.ATTRIBUTE_CHANGED, attribute, oldValue, newValue);
+        }
+    }
+
+    private LinkedHashMap<IAttribute<?>, Object> getMutableAttributeValues() {
+        long forks = feature == null ? 0 : FeatureModel.getForks(feature.getFeatureModel());
         if (attributeValues == null) {
             attributeValues = new LinkedHashMap<>();
+            attributeValuesForks = forks;
+        } else if (attributeValuesForks != forks) {
+            attributeValues = new LinkedHashMap<>(attributeValues);
+            attributeValuesForks = forks;
         }
-        return (S) attributeValues.remove(attribute);
+        return attributeValues;
     }
 
     @Override
     public void toCardinalityGroup(int groupID, int lowerBound, int upperBound) {
         Group group = getChildrenGroups().get(groupID);
-        if (group != null) {
+        if (group != null && !group.groupCardinality.is(lowerBound, upperBound)) {
             group.setBounds(lowerBound, upperBound);
+            fireEvent(FeatureModelEvent.Type.TREE_GROUPS_CHANGED, null, groupID, groupID);
         }
     }
 }
@@ -0,0 +1,1312 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model;
+
+import de.featjar.base.data.Attribute;
+import de.featjar.base.data.IAttributable;
+import de.featjar.base.data.IAttribute;
+import de.featjar.base.data.Range;
+import de.featjar.base.data.Result;
+import de.featjar.base.data.identifier.IIdentifier;
+import de.featjar.base.tree.Trees;
+import de.featjar.base.tree.structure.ARootedTree;
+import de.featjar.base.tree.structure.ITree;
+import de.featjar.feature.model.FeatureTree.Group;
+import de.featjar.formula.structure.IFormula;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An immutable snapshot of a {@link IFeatureModel feature model}, created with {@link IFeatureModel#freeze()}.
+ * All features, feature tree nodes, and attribute values are stored in arrays, which makes the snapshot compact and
+ * safe to read from any number of threads without locking.
+ * Features are addressed by their index in {@link IFeatureModel#getFeatures()}, tree nodes by their index in a
+ * pre-order traversal of the feature tree.
+ * Numeric feature attributes are stored in {@link AttributeColumn attribute columns}, all other attribute values of
+ * features, tree nodes, and constraints in one array per attribute.
+ * Constraint formulas and non-numeric attribute values are shared by all readers, so they must not be modified.
+ * <p>
+ * The snapshot is also a read-only {@link IFeatureModel}.
+ * Its features, constraints, and tree nodes are stateless views that only hold an index into the arrays.
+ * They are created on each access, so two views of the same element are equal, but not necessarily identical.
+ * All mutators of the snapshot and its elements throw an {@link UnsupportedOperationException}.
+ *
+ * @author Sebastian Krieter
+ */
+public final class FrozenFeatureModel implements IFeatureModel {
+
+    private static final byte ABSTRACT = 1;
+    private static final byte HIDDEN = 2;
+
+    /**
+     * The feature attributes that are stored in {@link #namePool} and {@link #featureFlags}.
+     */
+    private static final List<IAttribute<?>> FEATURE_PROPERTIES =
+            List.of(FeatureModelAttributes.NAME, FeatureModelAttributes.ABSTRACT, FeatureModelAttributes.HIDDEN);
+
+    private final IIdentifier identifier;
+    private final Map<IAttribute<?>, Object> attributes;
+    private final IIdentifier[] featureIdentifiers;
+    private final IIdentifier[] constraintIdentifiers;
+
+    private final char[] namePool;
+    private final int[] nameOffsets;
+    private final int[] nameTable;
+    private final int[] identifierTable;
+    private final byte[] featureFlags;
+    private final byte[] featureTypes;
+    private final Class<?>[] typePool;
+    private final int[] featureNodes;
+    private final AttributeTable featureAttributes;
+
+    private final int[] nodeFeatures;
+    private final int[] parents;
+    private final int[] firstChildren;
+    private final int[] nextSiblings;
+    private final int[] parentGroupIDs;
+    private final long[] featureCardinalities;
+    private final int[] groupOffsets;
+    private final long[] groupCardinalities;
+    private final int[] roots;
+    private final AttributeTable nodeAttributes;
+
+    private final IFormula[] constraints;
+    private final AttributeTable constraintAttributes;
+
+    private final List<IFeature> featureList = new AbstractList<>() {
+        @Override
+        public IFeature get(int index) {
+            return new FrozenFeature(Objects.checkIndex(index, featureFlags.length));
+        }
+
+        @Override
+        public int size() {
+            return featureFlags.length;
+        }
+    };
+
+    private final List<IConstraint> constraintList = new AbstractList<>() {
+        @Override
+        public IConstraint get(int index) {
+            return new FrozenConstraint(Objects.checkIndex(index, constraints.length));
+        }
+
+        @Override
+        public int size() {
+            return constraints.length;
+        }
+    };
+
+    private final FrozenPseudoFeatureTreeRoot pseudoRoot;
+
+    FrozenFeatureModel(IFeatureModel featureModel) {
+        identifier = featureModel.getIdentifier();
+        attributes = featureModel
+                .getAttributes()
+                .map(modelAttributes -> Collections.unmodifiableMap(new LinkedHashMap<>(modelAttributes)))
+                .orElse(Map.of());
+
+        LinkedHashMap<IFeature, Integer> featureIndices = new LinkedHashMap<>();
+        for (IFeature feature : featureModel.getFeatures()) {
+            featureIndices.putIfAbsent(feature, featureIndices.size());
+        }
+        List<IFeatureTree> nodes = featureModel.getFeatureTreeStream().collect(Collectors.toList());
+        for (IFeatureTree node : nodes) {
+            featureIndices.putIfAbsent(node.getFeature(), featureIndices.size());
+        }
+
+        int featureCount = featureIndices.size();
+        featureFlags = new byte[featureCount];
+        featureTypes = new byte[featureCount];
+        featureNodes = new int[featureCount];
+        featureIdentifiers = new IIdentifier[featureCount];
+        nameOffsets = new int[featureCount + 1];
+        ArrayList<Class<?>> types = new ArrayList<>(2);
+        StringBuilder names = new StringBuilder();
+        int featureIndex = 0;
+        for (IFeature feature : featureIndices.keySet()) {
+            names.append(feature.getName().orElse(""));
+            nameOffsets[featureIndex + 1] = names.length();
+            featureFlags[featureIndex] =
+                    (byte) ((feature.isAbstract() ? ABSTRACT : 0) | (feature.isHidden() ? HIDDEN : 0));
+            int typeIndex = types.indexOf(feature.getType());
+            if (typeIndex < 0) {
+                typeIndex = types.size();
+                types.add(feature.getType());
+            }
+            featureTypes[featureIndex] = (byte) typeIndex;
+            featureNodes[featureIndex] = -1;
+            featureIdentifiers[featureIndex] = feature.getIdentifier();
+            featureIndex++;
+        }
+        namePool = new char[names.length()];
+        names.getChars(0, names.length(), namePool, 0);
+        typePool = types.toArray(new Class<?>[0]);
+        featureAttributes = new AttributeTable(featureIndices.keySet(), FEATURE_PROPERTIES);
+
+        nameTable = new int[Integer.highestOneBit(Math.max(featureCount, 1)) << 2];
+        identifierTable = new int[nameTable.length];
+        for (int i = 0; i < featureCount; i++) {
+            insert(nameTable, hash(namePool, nameOffsets[i], nameOffsets[i + 1]), i);
+            insert(identifierTable, spread(featureIdentifiers[i].hashCode()), i);
+        }
+
+        int nodeCount = nodes.size();
+        IdentityHashMap<IFeatureTree, Integer> nodeIndices = new IdentityHashMap<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            nodeIndices.put(nodes.get(i), i);
+        }
+        nodeFeatures = new int[nodeCount];
+        parents = new int[nodeCount];
+        firstChildren = new int[nodeCount];
+        nextSiblings = new int[nodeCount];
+        parentGroupIDs = new int[nodeCount];
+        featureCardinalities = new long[nodeCount];
+        groupOffsets = new int[nodeCount + 1];
+        int groupCount = 0;
+        for (IFeatureTree node : nodes) {
+            groupCount += node.getChildrenGroups().size();
+        }
+        groupCardinalities = new long[groupCount];
+
+        int groupIndex = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            IFeatureTree node = nodes.get(i);
+            int nodeFeature = featureIndices.get(node.getFeature());
+            nodeFeatures[i] = nodeFeature;
+            if (featureNodes[nodeFeature] < 0) {
+                featureNodes[nodeFeature] = i;
+            }
+            parents[i] = node.getParent().map(nodeIndices::get).orElse(-1);
+            parentGroupIDs[i] = node.getParentGroupID();
+            featureCardinalities[i] =
+                    pack(node.getFeatureCardinalityLowerBound(), node.getFeatureCardinalityUpperBound());
+            firstChildren[i] = -1;
+            nextSiblings[i] = -1;
+            int previousChild = -1;
+            for (IFeatureTree child : node.getChildren()) {
+                int childIndex = nodeIndices.get(child);
+                if (previousChild < 0) {
+                    firstChildren[i] = childIndex;
+                } else {
+                    nextSiblings[previousChild] = childIndex;
+                }
+                previousChild = childIndex;
+            }
+            for (Group group : node.getChildrenGroups()) {
+                groupCardinalities[groupIndex++] =
+                        group == null ? pack(-1, -1) : pack(group.getLowerBound(), group.getUpperBound());
+            }
+            groupOffsets[i + 1] = groupIndex;
+        }
+        nodeAttributes = new AttributeTable(nodes, List.of());
+
+        List<? extends IFeatureTree> modelRoots = featureModel.getRoots();
+        roots = new int[modelRoots.size()];
+        for (int i = 0; i < roots.length; i++) {
+            int index = nodeIndices.get(modelRoots.get(i));
+            parents[index] = -1;
+            if (i > 0) {
+                nextSiblings[roots[i - 1]] = index;
+            }
+            roots[i] = index;
+        }
+
+        Collection<IConstraint> modelConstraints = featureModel.getConstraints();
+        constraints = new IFormula[modelConstraints.size()];
+        constraintIdentifiers = new IIdentifier[constraints.length];
+        int constraintIndex = 0;
+        for (IConstraint constraint : modelConstraints) {
+            constraints[constraintIndex] = Trees.clone(constraint.getFormula());
+            constraintIdentifiers[constraintIndex] = constraint.getIdentifier();
+            constraintIndex++;
+        }
+        constraintAttributes = new AttributeTable(modelConstraints, List.of());
+
+        pseudoRoot = new FrozenPseudoFeatureTreeRoot();
+    }
+
+    private static long pack(int lowerBound, int upperBound) {
+        return ((long) lowerBound << 32) | (upperBound & 0xFFFFFFFFL);
+    }
+
+    private static int lower(long bounds) {
+        return (int) (bounds >> 32);
+    }
+
+    private static int upper(long bounds) {
+        return (int) bounds;
+    }
+
+    private static int hash(char[] chars, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        return spread(hash);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Stores an index in an open addressing table, in which each slot holds the index plus one or zero if empty.
+     */
+    private static void insert(int[] table, int hash, int index) {
+        int slot = hash & (table.length - 1);
+        while (table[slot] != 0) {
+            slot = (slot + 1) & (table.length - 1);
+        }
+        table[slot] = index + 1;
+    }
+
+    private static UnsupportedOperationException frozen() {
+        return new UnsupportedOperationException("frozen feature model cannot be modified");
+    }
+
+    /**
+     * {@return the identifier of the feature model this snapshot was created from}
+     */
+    @Override
+    public IIdentifier getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public int getNumberOfFeatures() {
+        return featureFlags.length;
+    }
+
+    /**
+     * {@return the index of the feature with the given name, or -1 if there is no such feature}
+     *
+     * @param name the feature name
+     */
+    public int getFeatureIndex(String name) {
+        int slot = spread(name.hashCode()) & (nameTable.length - 1);
+        int length = name.length();
+        for (int entry = nameTable[slot]; entry != 0; entry = nameTable[slot]) {
+            int start = nameOffsets[entry - 1];
+            if (nameOffsets[entry] - start == length) {
+                int i = 0;
+                while (i < length && namePool[start + i] == name.charAt(i)) {
+                    i++;
+                }
+                if (i == length) {
+                    return entry - 1;
+                }
+            }
+            slot = (slot + 1) & (nameTable.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * {@return the index of the feature with the given identifier, or -1 if there is no such feature}
+     *
+     * @param identifier the feature identifier
+     */
+    public int getFeatureIndex(IIdentifier identifier) {
+        int slot = spread(identifier.hashCode()) & (identifierTable.length - 1);
+        for (int entry = identifierTable[slot]; entry != 0; entry = identifierTable[slot]) {
+            if (featureIdentifiers[entry - 1].equals(identifier)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & (identifierTable.length - 1);
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean hasFeature(String name) {
+        return getFeatureIndex(name) >= 0;
+    }
+
+    public String getFeatureName(int feature) {
+        return new String(namePool, nameOffsets[feature], nameOffsets[feature + 1] - nameOffsets[feature]);
+    }
+
+    public Class<?> getFeatureType(int feature) {
+        return typePool[featureTypes[feature]];
+    }
+
+    public boolean isAbstract(int feature) {
+        return (featureFlags[feature] & ABSTRACT) != 0;
+    }
+
+    public boolean isHidden(int feature) {
+        return (featureFlags[feature] & HIDDEN) != 0;
+    }
+
+    /**
+     * {@return the column that stores the given numeric attribute for all features, indexed by feature index}
+     *
+     * @param attribute the attribute
+     */
+    public Result<AttributeColumn> getAttributeColumn(IAttribute<?> attribute) {
+        int index = featureAttributes.indexOf(attribute);
+        return index < 0 ? Result.empty() : Result.ofNullable(featureAttributes.columns[index]);
+    }
+
+    /**
+     * {@return the first tree node labeled with the given feature, or -1 if the feature is not part of the tree}
+     *
+     * @param feature the feature index
+     */
+    public int getFeatureNode(int feature) {
+        return featureNodes[feature];
+    }
+
+    public int getNumberOfNodes() {
+        return nodeFeatures.length;
+    }
+
+    /**
+     * {@return the first root node, or -1 if the tree is empty}
+     * Further roots are linked by {@link #getNextSibling(int)}.
+     */
+    public int getFirstRoot() {
+        return roots.length == 0 ? -1 : roots[0];
+    }
+
+    public int getFeature(int node) {
+        return nodeFeatures[node];
+    }
+
+    /**
+     * {@return the parent of the given node, or -1 if the node is a root}
+     *
+     * @param node the node index
+     */
+    public int getParent(int node) {
+        return parents[node];
+    }
+
+    /**
+     * {@return the first child of the given node, or -1 if the node is a leaf}
+     *
+     * @param node the node index
+     */
+    public int getFirstChild(int node) {
+        return firstChildren[node];
+    }
+
+    /**
+     * {@return the next sibling of the given node, or -1 if the node is the last child of its parent}
+     *
+     * @param node the node index
+     */
+    public int getNextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    public int getParentGroupID(int node) {
+        return parentGroupIDs[node];
+    }
+
+    public int getFeatureCardinalityLowerBound(int node) {
+        return lower(featureCardinalities[node]);
+    }
+
+    public int getFeatureCardinalityUpperBound(int node) {
+        return upper(featureCardinalities[node]);
+    }
+
+    /**
+     * {@return the number of group ids of the given node, including ids of removed groups}
+     *
+     * @param node the node index
+     */
+    public int getNumberOfGroups(int node) {
+        return groupOffsets[node + 1] - groupOffsets[node];
+    }
+
+    public boolean isValidGroupID(int node, int groupID) {
+        return groupID >= 0
+                && groupID < getNumberOfGroups(node)
+                && lower(groupCardinalities[groupOffsets[node] + groupID]) >= 0;
+    }
+
+    public int getGroupLowerBound(int node, int groupID) {
+        return lower(groupCardinalities[groupOffsets[node] + groupID]);
+    }
+
+    public int getGroupUpperBound(int node, int groupID) {
+        return upper(groupCardinalities[groupOffsets[node] + groupID]);
+    }
+
+    @Override
+    public int getNumberOfConstraints() {
+        return constraints.length;
+    }
+
+    /**
+     * {@return the formula of the constraint with the given index}
+     * The formula is shared by all readers of this snapshot and must not be modified.
+     *
+     * @param constraint the constraint index
+     */
+    public IFormula getConstraintFormula(int constraint) {
+        return constraints[constraint];
+    }
+
+    /**
+     * Creates a new mutable feature model with the contents of this snapshot.
+     *
+     * @return a new feature model
+     */
+    public FeatureModel toFeatureModel() {
+        FeatureModel featureModel = new FeatureModel();
+        attributes.forEach((attribute, value) -> {
+            if (FeatureModelAttributes.NAME.equals(attribute)) {
+                featureModel.setName((String) value);
+            } else {
+                setAttributeValue(featureModel, attribute, value);
+            }
+        });
+        IFeature[] features = new IFeature[getNumberOfFeatures()];
+        for (int i = 0; i < features.length; i++) {
+            IFeature feature = featureModel.addFeature(getFeatureName(i));
+            feature.mutate().setType(getFeatureType(i));
+            if (isAbstract(i)) {
+                feature.mutate().setAbstract();
+            }
+            if (isHidden(i)) {
+                feature.mutate().setHidden();
+            }
+            featureAttributes.copy(i, feature.mutate());
+            features[i] = feature;
+        }
+        IFeatureTree[] trees = new IFeatureTree[getNumberOfNodes()];
+        for (int node = 0; node < trees.length; node++) {
+            IFeature feature = features[nodeFeatures[node]];
+            int parent = parents[node];
+            IFeatureTree tree = parent < 0
+                    ? featureModel.addFeatureTreeRoot(feature)
+                    : trees[parent]
+                            .mutate()
+                            .addFeatureBelow(feature, trees[parent].getChildrenCount(), parentGroupIDs[node]);
+            tree.mutate()
+                    .setFeatureCardinality(
+                            Range.of(getFeatureCardinalityLowerBound(node), getFeatureCardinalityUpperBound(node)));
+            int groupCount = getNumberOfGroups(node);
+            for (int groupID = 0; groupID < groupCount; groupID++) {
+                int lowerBound = Math.max(getGroupLowerBound(node, groupID), 0);
+                int upperBound = isValidGroupID(node, groupID) ? getGroupUpperBound(node, groupID) : Range.OPEN;
+                if (groupID == 0) {
+                    tree.mutate().toCardinalityGroup(0, lowerBound, upperBound);
+                } else {
+                    tree.mutate().addCardinalityGroup(lowerBound, upperBound);
+                }
+            }
+            nodeAttributes.copy(node, tree.mutate());
+            trees[node] = tree;
+        }
+        for (int node = 0; node < trees.length; node++) {
+            for (int groupID = getNumberOfGroups(node) - 1; groupID > 0; groupID--) {
+                if (!isValidGroupID(node, groupID)) {
+                    trees[node].mutate().removeCardinalityGroup(groupID);
+                }
+            }
+        }
+        for (int i = 0; i < constraints.length; i++) {
+            constraintAttributes.copy(i, featureModel.addConstraint(constraints[i]).mutate());
+        }
+        return featureModel;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setAttributeValue(
+            IAttributable.IMutatableAttributable attributable, IAttribute<?> attribute, Object value) {
+        if (attribute instanceof Attribute) {
+            attributable.setAttributeValue((Attribute<Object>) attribute, value);
+        }
+    }
+
+    @Override
+    public FrozenFeatureModel clone() {
+        return this;
+    }
+
+    @Override
+    public FrozenFeatureModel freeze() {
+        return this;
+    }
+
+    @Override
+    public IMutableFeatureModel mutate() {
+        throw frozen();
+    }
+
+    @Override
+    public IFeatureModel getFeatureModel() {
+        return this;
+    }
+
+    @Override
+    public Optional<Map<IAttribute<?>, Object>> getAttributes() {
+        return Optional.of(attributes);
+    }
+
+    @Override
+    public Collection<IFeature> getFeatures() {
+        return featureList;
+    }
+
+    @Override
+    public PseudoFeatureTreeRoot getPseudoRoot() {
+        return pseudoRoot;
+    }
+
+    @Override
+    public List<? extends IFeatureTree> getRoots() {
+        return pseudoRoot.getChildren();
+    }
+
+    @Override
+    public Result<IFeature> getFeature(IIdentifier identifier) {
+        int feature = getFeatureIndex(Objects.requireNonNull(identifier));
+        return feature < 0 ? Result.empty() : Result.of(new FrozenFeature(feature));
+    }
+
+    @Override
+    public Result<IFeature> getFeature(String name) {
+        int feature = getFeatureIndex(Objects.requireNonNull(name));
+        return feature < 0 ? Result.empty() : Result.of(new FrozenFeature(feature));
+    }
+
+    @Override
+    public boolean hasFeature(IIdentifier identifier) {
+        return getFeatureIndex(identifier) >= 0;
+    }
+
+    @Override
+    public boolean hasFeature(IFeature feature) {
+        return hasFeature(feature.getIdentifier());
+    }
+
+    @Override
+    public Result<IFeatureTree> getFeatureTree(IFeature feature) {
+        return feature instanceof FrozenFeature && feature.getFeatureModel() == this
+                ? feature.getFeatureTree()
+                : getFeature(feature.getIdentifier()).mapResult(IFeature::getFeatureTree);
+    }
+
+    @Override
+    public Result<IFeatureTree> getFeatureTree(String name) {
+        return getFeature(name).mapResult(IFeature::getFeatureTree);
+    }
+
+    @Override
+    public Stream<? extends IFeatureTree> getFeatureTreeNodeStream(String name) {
+        int feature = getFeatureIndex(name);
+        if (feature < 0 || featureNodes[feature] < 0) {
+            return Stream.of();
+        }
+        return IntStream.range(featureNodes[feature], nodeFeatures.length)
+                .filter(node -> nodeFeatures[node] == feature)
+                .mapToObj(FrozenFeatureTree::new);
+    }
+
+    @Override
+    public Collection<IConstraint> getConstraints() {
+        return constraintList;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "FrozenFeatureModel{features=%d, constraints=%d}", featureFlags.length, constraints.length);
+    }
+
+    private List<IFeatureTree> getNodes(int[] nodes) {
+        return new AbstractList<>() {
+            @Override
+            public IFeatureTree get(int index) {
+                return new FrozenFeatureTree(nodes[index]);
+            }
+
+            @Override
+            public int size() {
+                return nodes.length;
+            }
+        };
+    }
+
+    /**
+     * The values of all attributes of one kind of element, stored per attribute and indexed by element.
+     */
+    private static final class AttributeTable {
+        private final IAttribute<?>[] attributes;
+        private final AttributeColumn[] columns;
+        private final Object[][] values;
+
+        private AttributeTable(Collection<? extends IAttributable> elements, List<IAttribute<?>> excluded) {
+            LinkedHashMap<IAttribute<?>, Integer> indices = new LinkedHashMap<>();
+            ArrayList<AttributeColumn> columnList = new ArrayList<>();
+            ArrayList<Object[]> valueList = new ArrayList<>();
+            int element = 0;
+            for (IAttributable attributable : elements) {
+                Map<IAttribute<?>, Object> elementAttributes =
+                        attributable.getAttributes().orElse(Map.of());
+                for (Map.Entry<IAttribute<?>, Object> entry : elementAttributes.entrySet()) {
+                    IAttribute<?> attribute = entry.getKey();
+                    Object value = entry.getValue();
+                    if (value == null || excluded.contains(attribute)) {
+                        continue;
+                    }
+                    Integer index = indices.get(attribute);
+                    if (index == null) {
+                        index = indices.size();
+                        indices.put(attribute, index);
+                        boolean numeric = AttributeColumn.isSupported(attribute.getClassType());
+                        columnList.add(numeric ? new AttributeColumn(attribute, elements.size()) : null);
+                        valueList.add(numeric ? null : new Object[elements.size()]);
+                    }
+                    AttributeColumn column = columnList.get(index);
+                    if (column != null) {
+                        column.set(element, value);
+                    } else {
+                        valueList.get(index)[element] = value;
+                    }
+                }
+                element++;
+            }
+            attributes = indices.keySet().toArray(new IAttribute<?>[0]);
+            columns = columnList.toArray(new AttributeColumn[0]);
+            values = valueList.toArray(new Object[0][]);
+        }
+
+        private int indexOf(Object attribute) {
+            for (int i = 0; i < attributes.length; i++) {
+                if (attributes[i].equals(attribute)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Object get(int attribute, int element) {
+            return columns[attribute] != null ? columns[attribute].get(element) : values[attribute][element];
+        }
+
+        private void copy(int element, IAttributable.IMutatableAttributable target) {
+            for (int i = 0; i < attributes.length; i++) {
+                Object value = get(i, element);
+                if (value != null) {
+                    setAttributeValue(target, attributes[i], value);
+                }
+            }
+        }
+    }
+
+    /**
+     * A read-only view of the attribute values of an element of a snapshot.
+     */
+    private final class AttributeMap extends AbstractMap<IAttribute<?>, Object> {
+        private final AttributeTable table;
+        private final int element;
+        private final int propertyCount;
+
+        private AttributeMap(AttributeTable table, int element, boolean feature) {
+            this.table = table;
+            this.element = element;
+            propertyCount = feature ? FEATURE_PROPERTIES.size() : 0;
+        }
+
+        private IAttribute<?> getAttribute(int position) {
+            return position < propertyCount
+                    ? FEATURE_PROPERTIES.get(position)
+                    : table.attributes[position - propertyCount];
+        }
+
+        private Object getValue(int position) {
+            if (position >= propertyCount) {
+                return table.get(position - propertyCount, element);
+            }
+            switch (position) {
+                case 0:
+                    return getFeatureName(element);
+                case 1:
+                    return FrozenFeatureModel.this.isAbstract(element);
+                default:
+                    return FrozenFeatureModel.this.isHidden(element);
+            }
+        }
+
+        private int skipEmpty(int position) {
+            int end = propertyCount + table.attributes.length;
+            while (position < end && getValue(position) == null) {
+                position++;
+            }
+            return position;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int property = propertyCount > 0 ? FEATURE_PROPERTIES.indexOf(key) : -1;
+            if (property >= 0) {
+                return getValue(property);
+            }
+            int attribute = table.indexOf(key);
+            return attribute < 0 ? null : table.get(attribute, element);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<IAttribute<?>, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<IAttribute<?>, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int position = skipEmpty(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return position < propertyCount + table.attributes.length;
+                        }
+
+                        @Override
+                        public Entry<IAttribute<?>, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<IAttribute<?>, Object> entry =
+                                    new SimpleImmutableEntry<>(getAttribute(position), getValue(position));
+                            position = skipEmpty(position + 1);
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (int position = skipEmpty(0);
+                            position < propertyCount + table.attributes.length;
+                            position = skipEmpty(position + 1)) {
+                        size++;
+                    }
+                    return size;
+                }
+            };
+        }
+    }
+
+    /**
+     * A read-only view of a feature of a snapshot.
+     */
+    private final class FrozenFeature implements IFeature {
+        private final int feature;
+
+        private FrozenFeature(int feature) {
+            this.feature = feature;
+        }
+
+        @Override
+        public IFeatureModel getFeatureModel() {
+            return FrozenFeatureModel.this;
+        }
+
+        /**
+         * {@return the index of this feature in the snapshot}
+         */
+        @Override
+        public int getOrdinal() {
+            return feature;
+        }
+
+        @Override
+        public IIdentifier getIdentifier() {
+            return featureIdentifiers[feature];
+        }
+
+        @Override
+        public Result<String> getName() {
+            return Result.of(getFeatureName(feature));
+        }
+
+        @Override
+        public Class<?> getType() {
+            return getFeatureType(feature);
+        }
+
+        @Override
+        public boolean isAbstract() {
+            return FrozenFeatureModel.this.isAbstract(feature);
+        }
+
+        @Override
+        public boolean isHidden() {
+            return FrozenFeatureModel.this.isHidden(feature);
+        }
+
+        @Override
+        public Optional<Map<IAttribute<?>, Object>> getAttributes() {
+            return Optional.of(new AttributeMap(featureAttributes, feature, true));
+        }
+
+        @Override
+        public Result<IFeatureTree> getFeatureTree() {
+            int node = featureNodes[feature];
+            return node < 0 ? Result.empty() : Result.of(new FrozenFeatureTree(node));
+        }
+
+        @Override
+        public IFeature clone() {
+            return this;
+        }
+
+        @Override
+        public IFeature clone(IFeatureModel newFeatureModel) {
+            throw frozen();
+        }
+
+        @Override
+        public IMutableFeature mutate() {
+            throw frozen();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return getIdentifier().equals(((FrozenFeature) o).getIdentifier());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(getIdentifier());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("FrozenFeature{name=%s}", getFeatureName(feature));
+        }
+    }
+
+    /**
+     * A read-only view of a constraint of a snapshot.
+     */
+    private final class FrozenConstraint implements IConstraint {
+        private final int constraint;
+
+        private FrozenConstraint(int constraint) {
+            this.constraint = constraint;
+        }
+
+        @Override
+        public IFeatureModel getFeatureModel() {
+            return FrozenFeatureModel.this;
+        }
+
+        /**
+         * {@return the index of this constraint in the snapshot}
+         */
+        @Override
+        public int getOrdinal() {
+            return constraint;
+        }
+
+        @Override
+        public IIdentifier getIdentifier() {
+            return constraintIdentifiers[constraint];
+        }
+
+        @Override
+        public IFormula getFormula() {
+            return constraints[constraint];
+        }
+
+        @Override
+        public Optional<Map<IAttribute<?>, Object>> getAttributes() {
+            return Optional.of(new AttributeMap(constraintAttributes, constraint, false));
+        }
+
+        @Override
+        public IConstraint clone() {
+            return this;
+        }
+
+        @Override
+        public IConstraint clone(IFeatureModel newFeatureModel) {
+            throw frozen();
+        }
+
+        @Override
+        public IMutableConstraint mutate() {
+            throw frozen();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return getIdentifier().equals(((FrozenConstraint) o).getIdentifier());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(getIdentifier());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("FrozenConstraint{formula=%s}", constraints[constraint]);
+        }
+    }
+
+    /**
+     * A read-only view of a feature tree node of a snapshot.
+     * Its parent and children are looked up in the arrays of the snapshot, all structural mutators throw.
+     */
+    private final class FrozenFeatureTree extends ARootedTree<IFeatureTree> implements IFeatureTree {
+        private final int node;
+
+        private FrozenFeatureTree(int node) {
+            this.node = node;
+        }
+
+        private FrozenFeatureModel getSnapshot() {
+            return FrozenFeatureModel.this;
+        }
+
+        @Override
+        public IFeature getFeature() {
+            return new FrozenFeature(nodeFeatures[node]);
+        }
+
+        @Override
+        public Result<IFeatureTree> getParent() {
+            return Result.of(parents[node] < 0 ? pseudoRoot : new FrozenFeatureTree(parents[node]));
+        }
+
+        @Override
+        public List<IFeatureTree> getChildren() {
+            int count = 0;
+            for (int child = firstChildren[node]; child >= 0; child = nextSiblings[child]) {
+                count++;
+            }
+            int[] children = new int[count];
+            int index = 0;
+            for (int child = firstChildren[node]; child >= 0; child = nextSiblings[child]) {
+                children[index++] = child;
+            }
+            return getNodes(children);
+        }
+
+        @Override
+        public int getChildrenCount() {
+            int count = 0;
+            for (int child = firstChildren[node]; child >= 0; child = nextSiblings[child]) {
+                count++;
+            }
+            return count;
+        }
+
+        @Override
+        public List<Group> getChildrenGroups() {
+            int groupCount = getNumberOfGroups(node);
+            ArrayList<Group> groups = new ArrayList<>(groupCount);
+            for (int groupID = 0; groupID < groupCount; groupID++) {
+                groups.add(
+                        FrozenFeatureModel.this.isValidGroupID(node, groupID)
+                                ? new Group(
+                                        Range.of(getGroupLowerBound(node, groupID), getGroupUpperBound(node, groupID)))
+                                : null);
+            }
+            return Collections.unmodifiableList(groups);
+        }
+
+        @Override
+        public int[] getChildrenGroupIDs() {
+            int groupCount = getNumberOfGroups(node);
+            int[] groupIDs = new int[groupCount];
+            int count = 0;
+            for (int groupID = 0; groupID < groupCount; groupID++) {
+                if (FrozenFeatureModel.this.isValidGroupID(node, groupID)) {
+                    groupIDs[count++] = groupID;
+                }
+            }
+            return count == groupCount ? groupIDs : Arrays.copyOf(groupIDs, count);
+        }
+
+        @Override
+        public boolean isValidGroupID(int groupID) {
+            return FrozenFeatureModel.this.isValidGroupID(node, groupID);
+        }
+
+        @Override
+        public Optional<Group> getParentGroup() {
+            return getParent().get().getChildrenGroup(parentGroupIDs[node]);
+        }
+
+        @Override
+        public int getParentGroupID() {
+            return parentGroupIDs[node];
+        }
+
+        @Override
+        public int getFeatureCardinalityLowerBound() {
+            return FrozenFeatureModel.this.getFeatureCardinalityLowerBound(node);
+        }
+
+        @Override
+        public int getFeatureCardinalityUpperBound() {
+            return FrozenFeatureModel.this.getFeatureCardinalityUpperBound(node);
+        }
+
+        @Override
+        public Optional<Map<IAttribute<?>, Object>> getAttributes() {
+            return Optional.of(new AttributeMap(nodeAttributes, node, false));
+        }
+
+        @Override
+        public List<IFeatureTree> getRoots() {
+            return List.of(this);
+        }
+
+        @Override
+        public IMutableFeatureTree mutate() {
+            throw frozen();
+        }
+
+        @Override
+        public void setParent(IFeatureTree newParent) {
+            throw frozen();
+        }
+
+        @Override
+        public void setChildren(List<? extends IFeatureTree> children) {
+            throw frozen();
+        }
+
+        @Override
+        public void addChild(int index, IFeatureTree newChild) {
+            throw frozen();
+        }
+
+        @Override
+        public void addChild(IFeatureTree newChild) {
+            throw frozen();
+        }
+
+        @Override
+        public void removeChild(IFeatureTree child) {
+            throw frozen();
+        }
+
+        @Override
+        public IFeatureTree removeChild(int index) {
+            throw frozen();
+        }
+
+        @Override
+        public void replaceChild(IFeatureTree oldChild, IFeatureTree newChild) {
+            throw frozen();
+        }
+
+        @Override
+        public void clearChildren() {
+            throw frozen();
+        }
+
+        /**
+         * {@inheritDoc}
+         * The copy is a detached, mutable {@link FeatureTree}, so that {@link Trees#clone(ITree)} can attach copies
+         * of the children.
+         */
+        @Override
+        public ITree<IFeatureTree> cloneNode() {
+            FeatureTree copy = new FeatureTree(getFeature());
+            copy.parentGroupID = parentGroupIDs[node];
+            copy.cardinality = Range.of(getFeatureCardinalityLowerBound(), getFeatureCardinalityUpperBound());
+            copy.childrenGroups = new ArrayList<>(getChildrenGroups());
+            return copy;
+        }
+
+        @Override
+        public boolean equalsNode(IFeatureTree other) {
+            return equals(other);
+        }
+
+        @Override
+        public int hashCodeNode() {
+            return hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FrozenFeatureTree other = (FrozenFeatureTree) o;
+            return node == other.node && getSnapshot() == other.getSnapshot();
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(getSnapshot()) + node;
+        }
+
+        @Override
+        public String toString() {
+            return getFeatureName(nodeFeatures[node]);
+        }
+    }
+
+    /**
+     * The pseudo root of the feature tree of a snapshot.
+     * Its children are the roots of the snapshot, all mutators throw.
+     */
+    private final class FrozenPseudoFeatureTreeRoot extends PseudoFeatureTreeRoot {
+
+        private FrozenPseudoFeatureTreeRoot() {
+            super(FrozenFeatureModel.this);
+        }
+
+        @Override
+        public List<IFeatureTree> getChildren() {
+            return getNodes(roots);
+        }
+
+        @Override
+        public int getChildrenCount() {
+            return roots.length;
+        }
+
+        @Override
+        public IMutableFeatureTree mutate() {
+            throw frozen();
+        }
+
+        @Override
+        public Collection<? extends IFeatureTree> detach() {
+            throw frozen();
+        }
+
+        @Override
+        public <S> void setAttributeValue(Attribute<S> attribute, S value) {
+            throw frozen();
+        }
+
+        @Override
+        public <S> S removeAttributeValue(Attribute<S> attribute) {
+            throw frozen();
+        }
+
+        @Override
+        public void setParent(IFeatureTree newParent) {
+            throw frozen();
+        }
+
+        @Override
+        public void setChildren(List<? extends IFeatureTree> children) {
+            throw frozen();
+        }
+
+        @Override
+        public void addChild(int index, IFeatureTree newChild) {
+            throw frozen();
+        }
+
+        @Override
+        public void addChild(IFeatureTree newChild) {
+            throw frozen();
+        }
+
+        @Override
+        public void removeChild(IFeatureTree child) {
+            throw frozen();
+        }
+
+        @Override
+        public IFeatureTree removeChild(int index) {
+            throw frozen();
+        }
+
+        @Override
+        public void replaceChild(IFeatureTree oldChild, IFeatureTree newChild) {
+            throw frozen();
+        }
+
+        @Override
+        public void clearChildren() {
+            throw frozen();
+        }
+
+        @Override
+        public void setParentGroupID(int groupID) {
+            throw frozen();
+        }
+
+        @Override
+        public void setFeatureCardinality(Range featureRange) {
+            throw frozen();
+        }
+
+        @Override
+        public void makeMandatory() {
+            throw frozen();
+        }
+
+        @Override
+        public void makeOptional() {
+            throw frozen();
+        }
+
+        @Override
+        public int addCardinalityGroup(int lowerBound, int upperBound) {
+            throw frozen();
+        }
+
+        @Override
+        public void removeCardinalityGroup(int groupID, int substituteGroupID) {
+            throw frozen();
+        }
+
+        @Override
+        public void toCardinalityGroup(int groupID, int lowerBound, int upperBound) {
+            throw frozen();
+        }
+    }
+}
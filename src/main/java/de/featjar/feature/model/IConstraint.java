@@ -54,7 +54,7 @@ public interface IConstraint extends IFeatureModelElement, IHasCommonAttributes
     }
 
     default LinkedHashSet<IFeature> getReferencedFeatures() {
-        return getReferencedFeatures(getFormula(), getFeatureModel());
+        return getFeatureModel().getReferencedFeatures(this);
     }
 
     default LinkedHashSet<String> getTags() {
@@ -22,7 +22,6 @@ package de.featjar.feature.model;
 
 import de.featjar.base.data.Problem;
 import de.featjar.base.data.Result;
-import de.featjar.base.data.Sets;
 import de.featjar.base.data.identifier.AIdentifier;
 import de.featjar.feature.model.mixins.IHasCommonAttributes;
 import java.util.LinkedHashSet;
@@ -83,10 +82,7 @@ public interface IFeature extends IFeatureModelElement, IHasCommonAttributes {
     }
 
     default LinkedHashSet<IConstraint> getReferencingConstraints() {
-        return getFeatureModel().getConstraints().stream()
-                .filter(constraint ->
-                        constraint.getReferencedFeatures().stream().anyMatch(this::equals))
-                .collect(Sets.toSet());
+        return getFeatureModel().getReferencingConstraints(this);
     }
 
     default IMutableFeature mutate() {
@@ -21,6 +21,7 @@
 package de.featjar.feature.model;
 
 import de.featjar.base.data.Result;
+import de.featjar.base.data.Sets;
 import de.featjar.base.data.identifier.IIdentifier;
 import de.featjar.base.tree.Trees;
 import de.featjar.feature.model.mixins.IHasCommonAttributes;
@@ -28,6 +29,7 @@ import de.featjar.feature.model.mixins.IHasConstraints;
 import de.featjar.feature.model.mixins.IHasFeatureTree;
 import de.featjar.formula.structure.IFormula;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -94,6 +96,39 @@ public interface IFeatureModel extends IFeatureModelElement, IHasCommonAttribute
 
     boolean hasFeature(IFeature feature);
 
+    default boolean hasFeature(String name) {
+        return getFeature(name).isPresent();
+    }
+
+    /**
+     * {@return all features of this model that are referenced by the given constraint}
+     *
+     * @param constraint the constraint
+     */
+    default LinkedHashSet<IFeature> getReferencedFeatures(IConstraint constraint) {
+        return IConstraint.getReferencedFeatures(constraint.getFormula(), this);
+    }
+
+    /**
+     * {@return all constraints of this model that reference the given feature}
+     *
+     * @param feature the feature
+     */
+    default LinkedHashSet<IConstraint> getReferencingConstraints(IFeature feature) {
+        return getConstraints().stream()
+                .filter(constraint ->
+                        constraint.getReferencedFeatures().stream().anyMatch(feature::equals))
+                .collect(Sets.toSet());
+    }
+
+    /**
+     * {@return an immutable snapshot of the current state of this model}
+     * Later modifications of this model are not reflected in the snapshot.
+     */
+    default FrozenFeatureModel freeze() {
+        return new FrozenFeatureModel(this);
+    }
+
     default IMutableFeatureModel mutate() {
         return (IMutableFeatureModel) this;
     }
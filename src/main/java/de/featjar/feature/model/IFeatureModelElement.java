@@ -25,4 +25,12 @@ import de.featjar.base.data.identifier.IIdentifiable;
 
 public interface IFeatureModelElement extends IIdentifiable, IAttributable, Cloneable {
     IFeatureModel getFeatureModel();
+
+    /**
+     * {@return the index of this element among the features or constraints of its model, or -1 if it has none}
+     * Ordinals are dense after {@link FeatureModel#compactOrdinals()}, so they can index arrays and bit sets.
+     */
+    default int getOrdinal() {
+        return -1;
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model;
+
+import java.util.List;
+
+/**
+ * Receives the modifications of a {@link FeatureModel}.
+ *
+ * @author Sebastian Krieter
+ */
+@FunctionalInterface
+public interface IFeatureModelListener {
+
+    /**
+     * Called after the model was modified.
+     * Outside of a batch, each modification is delivered on its own.
+     * Inside a {@link FeatureModel#batch(Runnable) batch}, all modifications are delivered together when the
+     * outermost batch ends.
+     *
+     * @param events the modifications in the order they were made
+     */
+    void modelChanged(List<FeatureModelEvent> events);
+}
@@ -62,6 +62,9 @@ public interface IFeatureTree extends IRootedTree<IFeatureTree>, IAttributable,
         return isValidGroupID(groupID) ? Optional.of(getChildrenGroups().get(groupID)) : Optional.empty();
     }
 
+    /**
+     * {@return all non-empty groups of this feature's children, ordered by group id, together with their children.}
+     */
     default List<Pair<Group, List<IFeatureTree>>> getGroupedChildren() {
         Map<Integer, List<IFeatureTree>> groupedFeatures =
                 getChildren().stream().collect(Collectors.groupingBy(IFeatureTree::getParentGroupID));
@@ -90,6 +93,14 @@ public interface IFeatureTree extends IRootedTree<IFeatureTree>, IAttributable,
                 .collect(Collectors.toList());
     }
 
+    /**
+     * {@return the number of children within the group with the given id.}
+     * @param groupID the groupID
+     */
+    default int getChildrenCount(int groupID) {
+        return getChildren(groupID).size();
+    }
+
     default IFeatureTree getFeatureTreeRoot() {
         IFeatureTree currentTree = null;
         IFeatureTree parentTree = (IFeatureTree) this;
@@ -150,6 +161,7 @@ public interface IFeatureTree extends IRootedTree<IFeatureTree>, IAttributable,
             FeatureTree newTree = new FeatureTree(newFeature);
             addChild(index, newTree);
             newTree.setParentGroupID(groupID);
+            FeatureModel.featureTreeNodeAdded(newTree);
             return newTree;
         }
 
@@ -161,6 +173,7 @@ public interface IFeatureTree extends IRootedTree<IFeatureTree>, IAttributable,
             }
             newTree.addChild(this);
             setParentGroupID(0);
+            FeatureModel.featureTreeNodeAdded(newTree);
             return newTree;
         }
 
@@ -172,9 +185,10 @@ public interface IFeatureTree extends IRootedTree<IFeatureTree>, IAttributable,
             int childIndex = parent.getChildIndex(this).orElseThrow();
             Group group = getParentGroup().get();
             parent.removeChild(childIndex);
+            FeatureModel.featureTreeNodeRemoved(this);
 
             for (int groupID : getChildrenGroupIDs()) {
-                List<IFeatureTree> children = getChildren(groupID);
+                List<IFeatureTree> children = new ArrayList<>(getChildren(groupID));
                 if (children.isEmpty()) {
                     continue;
                 }
@@ -29,6 +29,7 @@ import de.featjar.feature.model.FeatureTree.Group;
 import de.featjar.feature.model.IFeatureTree.IMutableFeatureTree;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -74,6 +75,11 @@ public class PseudoFeatureTreeRoot extends ARootedTree<IFeatureTree> implements
         return new int[] {0};
     }
 
+    @Override
+    public List<IFeatureTree> getChildren(int groupID) {
+        return groupID == 0 ? Collections.unmodifiableList(getChildren()) : List.of();
+    }
+
     @Override
     public String toString() {
         return "FeatureTreeRoot";
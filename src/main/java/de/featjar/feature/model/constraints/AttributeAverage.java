@@ -26,6 +26,7 @@ import de.featjar.base.data.Result;
 import de.featjar.base.tree.structure.ITree;
 import de.featjar.feature.model.IFeature;
 import de.featjar.feature.model.transformer.FeatureToFormula;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.structure.ATerminalExpression;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.IFormula;
@@ -88,23 +89,19 @@ public class AttributeAverage extends ATerminalExpression implements IAttributeA
     public Result<IExpression> translate(Collection<IFeature> elements, FeatureToFormula featureToFormula) {
         Constant zero;
         Constant one;
-        Class<?> type;
-        Function<Object, Object> typeConverter;
+        boolean integral;
         Function<List<ITerm>, AAdd> addNode;
         Function<List<ITerm>, ADivide> divideNode;
         if (attribute.getClassType() == Double.class || attribute.getClassType() == Float.class) {
             zero = new Constant(0.0, Double.class);
             one = new Constant(1.0, Double.class);
-            type = Double.class;
-            typeConverter = Function.identity();
+            integral = false;
             addNode = RealAdd::new;
             divideNode = RealDivide::new;
         } else if (attribute.getClassType() == Integer.class || attribute.getClassType() == Long.class) {
             zero = new Constant(0L, Long.class);
             one = new Constant(1L, Long.class);
-            type = Long.class;
-            typeConverter =
-                    (attribute.getClassType() == Integer.class) ? i -> Long.valueOf((int) i) : Function.identity();
+            integral = true;
             addNode = IntegerAdd::new;
             divideNode = IntegerDivide::new;
         } else {
@@ -112,20 +109,41 @@ public class AttributeAverage extends ATerminalExpression implements IAttributeA
                     new Problem(String.format("Unsupported type <%s> for attribute sum", attribute.getClassType())));
         }
 
+        IFeature[] features = new IFeature[elements.size()];
+        long[] longValues = integral ? new long[features.length] : null;
+        double[] doubleValues = integral ? null : new double[features.length];
+        int count = IAttributeAggregate.collectValues(attribute, elements, features, longValues, doubleValues);
         List<ITerm> termListSum = new ArrayList<>();
         List<ITerm> termListCount = new ArrayList<>();
-        for (IFeature element : elements) {
-            Optional<Object> optionalAttribute = element.getAttributes().map(list -> list.get(attribute));
-            if (optionalAttribute.isPresent()) {
-                Constant attributeValue = new Constant(typeConverter.apply(optionalAttribute.get()), type);
-                for (String name :
-                        featureToFormula.getNamesPerFeature(element.getName().orElse("???"))) {
-                    IFormula formula = featureToFormula.getFeatureFormula(name);
-                    termListSum.add(new IfThenElse(formula, attributeValue, zero));
-                    termListCount.add(new IfThenElse(formula, one, zero));
-                }
+        for (int i = 0; i < count; i++) {
+            Constant attributeValue = integral
+                    ? new Constant(longValues[i], Long.class)
+                    : new Constant(doubleValues[i], Double.class);
+            for (IFormula formula : featureToFormula.getFormulasPerFeature(features[i])) {
+                termListSum.add(new IfThenElse(formula, attributeValue, zero));
+                termListCount.add(new IfThenElse(formula, one, zero));
             }
         }
         return Result.of(divideNode.apply(Arrays.asList(addNode.apply(termListSum), addNode.apply(termListCount))));
     }
+
+    /**
+     * {@inheritDoc}
+     * As {@code avg(x) <relation> bound} is equivalent to {@code sum((x_i - bound) * s_i) <relation> 0} if at least
+     * one feature with the attribute is selected, the coefficient of each feature is its attribute value minus the
+     * bound. The average of an empty selection is undefined, so the constraint
+     * {@link LinearConstraint#isSelectionRequired() requires a selection}, as the division of
+     * {@link #translate(Collection, FeatureToFormula)} does. In contrast to
+     * {@link #translate(Collection, FeatureToFormula)}, the average is not rounded for integral attributes.
+     */
+    @Override
+    public Result<LinearConstraint> translateLinear(
+            Collection<IFeature> elements,
+            FeatureToFormula featureToFormula,
+            VariableMap variableMap,
+            LinearConstraint.Relation relation,
+            double bound) {
+        return IAttributeAggregate.toLinearConstraint(
+                attribute, elements, featureToFormula, variableMap, bound, relation, 0, true);
+    }
 }
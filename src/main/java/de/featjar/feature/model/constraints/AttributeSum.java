@@ -26,8 +26,10 @@ import de.featjar.base.data.Result;
 import de.featjar.base.tree.structure.ITree;
 import de.featjar.feature.model.IFeature;
 import de.featjar.feature.model.transformer.FeatureToFormula;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.structure.ATerminalExpression;
 import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.IFormula;
 import de.featjar.formula.structure.term.ITerm;
 import de.featjar.formula.structure.term.IfThenElse;
 import de.featjar.formula.structure.term.function.AAdd;
@@ -39,7 +41,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
 
 /**
  * The sum aggregate placeholder sums attribute values from attributes with a specific attribute name.
@@ -82,39 +83,51 @@ public class AttributeSum extends ATerminalExpression implements IAttributeAggre
     @Override
     public Result<IExpression> translate(Collection<IFeature> elements, FeatureToFormula featureToFormula) {
         Constant defaultValue;
-        Class<?> type;
-        Function<Object, Object> typeConverter;
+        boolean integral;
         AAdd addNode;
         if (attribute.getClassType() == Double.class || attribute.getClassType() == Float.class) {
             defaultValue = new Constant(0.0, Double.class);
-            type = Double.class;
-            typeConverter = Function.identity();
+            integral = false;
             addNode = new RealAdd();
         } else if (attribute.getClassType() == Integer.class || attribute.getClassType() == Long.class) {
             defaultValue = new Constant(0L, Long.class);
-            type = Long.class;
-            typeConverter =
-                    attribute.getClassType() == Integer.class ? i -> Long.valueOf((int) i) : Function.identity();
+            integral = true;
             addNode = new IntegerAdd();
         } else {
             return Result.empty(
                     new Problem(String.format("Unsupported type <%s> for attribute sum", attribute.getClassType())));
         }
 
+        IFeature[] features = new IFeature[elements.size()];
+        long[] longValues = integral ? new long[features.length] : null;
+        double[] doubleValues = integral ? null : new double[features.length];
+        int count = IAttributeAggregate.collectValues(attribute, elements, features, longValues, doubleValues);
         List<ITerm> termList = new ArrayList<>();
-        for (IFeature element : elements) {
-            Optional<Object> optionalAttribute = element.getAttributes().map(list -> list.get(attribute));
-            if (optionalAttribute.isPresent()) {
-                Constant attributeValue = new Constant(typeConverter.apply(optionalAttribute.get()), type);
-                for (String name :
-                        featureToFormula.getNamesPerFeature(element.getName().orElse("???"))) {
-                    termList.add(
-                            new IfThenElse(featureToFormula.getFeatureFormula(name), attributeValue, defaultValue));
-                }
+        for (int i = 0; i < count; i++) {
+            Constant attributeValue = integral
+                    ? new Constant(longValues[i], Long.class)
+                    : new Constant(doubleValues[i], Double.class);
+            for (IFormula formula : featureToFormula.getFormulasPerFeature(features[i])) {
+                termList.add(new IfThenElse(formula, attributeValue, defaultValue));
             }
         }
 
         addNode.setChildren(termList);
         return Result.of(addNode);
     }
+
+    /**
+     * {@inheritDoc}
+     * The coefficient of each feature is its attribute value.
+     */
+    @Override
+    public Result<LinearConstraint> translateLinear(
+            Collection<IFeature> elements,
+            FeatureToFormula featureToFormula,
+            VariableMap variableMap,
+            LinearConstraint.Relation relation,
+            double bound) {
+        return IAttributeAggregate.toLinearConstraint(
+                attribute, elements, featureToFormula, variableMap, 0, relation, bound, false);
+    }
 }
@@ -20,12 +20,22 @@
  */
 package de.featjar.feature.model.constraints;
 
+import de.featjar.base.data.IAttribute;
+import de.featjar.base.data.Problem;
 import de.featjar.base.data.Result;
+import de.featjar.feature.model.AttributeColumn;
+import de.featjar.feature.model.FeatureModel;
+import de.featjar.feature.model.FrozenFeatureModel;
 import de.featjar.feature.model.IFeature;
+import de.featjar.feature.model.IFeatureModel;
 import de.featjar.feature.model.transformer.FeatureToFormula;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.term.ITerm;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Interface for modeling attribute aggregate functionality. Attribute aggregates are placeholders which
@@ -38,4 +48,188 @@ import java.util.Collection;
 public interface IAttributeAggregate extends ITerm {
 
     Result<IExpression> translate(Collection<IFeature> elements, FeatureToFormula featureToFormula);
+
+    /**
+     * Translates the comparison {@code <this aggregate> <relation> <bound>} into a {@link LinearConstraint} over
+     * the variables of the given features, without building an expression tree.
+     * Features that are not contained in the variable map are ignored.
+     *
+     * @param elements    the features to aggregate over
+     * @param variableMap the variable map that assigns an index to each feature name
+     * @param relation    the relation
+     * @param bound       the bound
+     * @return the linear constraint, or a problem if the type of the attribute is not supported
+     */
+    default Result<LinearConstraint> translateLinear(
+            Collection<IFeature> elements, VariableMap variableMap, LinearConstraint.Relation relation, double bound) {
+        return translateLinear(elements, null, variableMap, relation, bound);
+    }
+
+    /**
+     * Translates the comparison {@code <this aggregate> <relation> <bound>} into a {@link LinearConstraint} over
+     * the variables of all instances of the given features, as {@link #translate(Collection, FeatureToFormula)}
+     * does.
+     * Instances that are not contained in the variable map are ignored.
+     *
+     * @param elements         the features to aggregate over
+     * @param featureToFormula the formulas of all feature instances, or {@code null} to use the feature names
+     * @param variableMap      the variable map that assigns an index to each variable name
+     * @param relation         the relation
+     * @param bound            the bound
+     * @return the linear constraint, or a problem if the type of the attribute is not supported
+     */
+    Result<LinearConstraint> translateLinear(
+            Collection<IFeature> elements,
+            FeatureToFormula featureToFormula,
+            VariableMap variableMap,
+            LinearConstraint.Relation relation,
+            double bound);
+
+    /**
+     * {@return a linear constraint whose coefficients are the attribute values of all instances of the given features
+     * minus an offset}
+     *
+     * @param attribute         the attribute
+     * @param elements          the features
+     * @param featureToFormula  the formulas of all feature instances, or {@code null} to use the feature names
+     * @param variableMap       the variable map that assigns an index to each variable name
+     * @param offset            the offset subtracted from each attribute value
+     * @param relation          the relation
+     * @param bound             the bound
+     * @param selectionRequired whether at least one instance must be selected
+     */
+    static Result<LinearConstraint> toLinearConstraint(
+            IAttribute<?> attribute,
+            Collection<IFeature> elements,
+            FeatureToFormula featureToFormula,
+            VariableMap variableMap,
+            double offset,
+            LinearConstraint.Relation relation,
+            double bound,
+            boolean selectionRequired) {
+        Class<?> type = attribute.getClassType();
+        if (type != Double.class && type != Float.class && type != Integer.class && type != Long.class) {
+            return Result.empty(new Problem(String.format("Unsupported type <%s> for linear constraint", type)));
+        }
+        IFeature[] features = new IFeature[elements.size()];
+        double[] values = new double[elements.size()];
+        int count = collectValues(attribute, elements, features, null, values);
+        int[] variables = new int[count];
+        double[] coefficients = new double[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            List<String> names = featureToFormula != null
+                    ? featureToFormula.getNamesPerFeature(features[i])
+                    : List.of(features[i].getName().orElse("???"));
+            for (String name : names) {
+                Result<Integer> index = variableMap.get(name);
+                if (index.isPresent()) {
+                    if (size == variables.length) {
+                        variables = Arrays.copyOf(variables, 2 * size);
+                        coefficients = Arrays.copyOf(coefficients, 2 * size);
+                    }
+                    variables[size] = index.get();
+                    coefficients[size] = values[i] - offset;
+                    size++;
+                }
+            }
+        }
+        return Result.of(new LinearConstraint(
+                Arrays.copyOf(variables, size),
+                Arrays.copyOf(coefficients, size),
+                relation,
+                bound,
+                selectionRequired));
+    }
+
+    /**
+     * Collects the given features that have a value for the given attribute, together with their values.
+     * If the attribute is stored in a column, the features are visited in the order of
+     * {@link AttributeColumn#getPresent() their ordinals} and their values are read as primitives.
+     * Otherwise, they are visited in the given order and their values are read from their attributes.
+     *
+     * @param attribute    the attribute
+     * @param elements     the features
+     * @param features     receives the features with a value, must have room for all given features
+     * @param longValues   receives the values as {@code long}, or {@code null}
+     * @param doubleValues receives the values as {@code double}, or {@code null}
+     * @return the number of features with a value
+     */
+    static int collectValues(
+            IAttribute<?> attribute,
+            Collection<IFeature> elements,
+            IFeature[] features,
+            long[] longValues,
+            double[] doubleValues) {
+        int count = 0;
+        AttributeColumn column = getAttributeColumn(attribute, elements);
+        if (column != null) {
+            BitSet present = column.getPresent();
+            IFeature[] featuresByOrdinal = new IFeature[present.length()];
+            for (IFeature element : elements) {
+                if (present.get(element.getOrdinal())) {
+                    featuresByOrdinal[element.getOrdinal()] = element;
+                }
+            }
+            for (int ordinal = present.nextSetBit(0); ordinal >= 0; ordinal = present.nextSetBit(ordinal + 1)) {
+                if (featuresByOrdinal[ordinal] != null) {
+                    features[count] = featuresByOrdinal[ordinal];
+                    if (longValues != null) {
+                        longValues[count] = column.getLong(ordinal);
+                    }
+                    if (doubleValues != null) {
+                        doubleValues[count] = column.getDouble(ordinal);
+                    }
+                    count++;
+                }
+            }
+        } else {
+            for (IFeature element : elements) {
+                Object value = element.getAttributes().map(map -> map.get(attribute)).orElse(null);
+                if (value instanceof Number) {
+                    features[count] = element;
+                    if (longValues != null) {
+                        longValues[count] = ((Number) value).longValue();
+                    }
+                    if (doubleValues != null) {
+                        doubleValues[count] = ((Number) value).doubleValue();
+                    }
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@return the column that stores the given attribute for all given features, or {@code null} if the features
+     * do not belong to a single {@link FeatureModel} or {@link FrozenFeatureModel} that stores the attribute in a
+     * column}
+     *
+     * @param attribute the attribute
+     * @param elements the features
+     */
+    static AttributeColumn getAttributeColumn(IAttribute<?> attribute, Collection<IFeature> elements) {
+        if (elements.isEmpty()) {
+            return null;
+        }
+        IFeatureModel featureModel = elements.iterator().next().getFeatureModel();
+        AttributeColumn column;
+        if (featureModel instanceof FeatureModel) {
+            column = ((FeatureModel) featureModel).getAttributeColumn(attribute).orElse(null);
+        } else if (featureModel instanceof FrozenFeatureModel) {
+            column = ((FrozenFeatureModel) featureModel).getAttributeColumn(attribute).orElse(null);
+        } else {
+            return null;
+        }
+        if (column == null) {
+            return null;
+        }
+        for (IFeature element : elements) {
+            if (element.getFeatureModel() != featureModel || element.getOrdinal() < 0) {
+                return null;
+            }
+        }
+        return column;
+    }
 }
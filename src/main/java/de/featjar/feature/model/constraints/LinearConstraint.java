@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.constraints;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.feature.model.IFeature;
+import de.featjar.feature.model.transformer.FeatureToFormula;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.predicate.Equals;
+import de.featjar.formula.structure.predicate.GreaterEqual;
+import de.featjar.formula.structure.predicate.GreaterThan;
+import de.featjar.formula.structure.predicate.LessEqual;
+import de.featjar.formula.structure.predicate.LessThan;
+import de.featjar.formula.structure.predicate.NotEquals;
+import de.featjar.formula.structure.term.value.Constant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+/**
+ * A pseudo-boolean linear constraint {@code c_1 * x_1 + ... + c_n * x_n <relation> bound} over the boolean variables
+ * of a {@link VariableMap}, where each {@code x_i} is 1 if the variable is selected and 0 otherwise.
+ * Can be created from a comparison between an {@link IAttributeAggregate} and a constant without building an
+ * expression tree, see {@link #of(IFormula, Collection, VariableMap)}.
+ * The coefficients of integral attributes are integral.
+ * A constraint may {@link #isSelectionRequired() require a selection}, which adds the explicit disjunct
+ * {@code x_1 | ... | x_n}, so that the constraint is not satisfied if none of its variables is selected.
+ *
+ * @author Sebastian Krieter
+ */
+public final class LinearConstraint {
+
+    /**
+     * The relation between the linear term and the bound.
+     */
+    public enum Relation {
+        LESS_THAN("<"),
+        LESS_EQUAL("<="),
+        EQUAL("=="),
+        NOT_EQUAL("!="),
+        GREATER_EQUAL(">="),
+        GREATER_THAN(">");
+
+        private final String symbol;
+
+        Relation(String symbol) {
+            this.symbol = symbol;
+        }
+
+        /**
+         * {@return the relation that results from swapping both sides}
+         */
+        public Relation mirror() {
+            switch (this) {
+                case LESS_THAN:
+                    return GREATER_THAN;
+                case LESS_EQUAL:
+                    return GREATER_EQUAL;
+                case GREATER_EQUAL:
+                    return LESS_EQUAL;
+                case GREATER_THAN:
+                    return LESS_THAN;
+                default:
+                    return this;
+            }
+        }
+
+        /**
+         * {@return whether the given value and bound satisfy this relation}
+         *
+         * @param value the value of the linear term
+         * @param bound the bound
+         */
+        public boolean test(double value, double bound) {
+            switch (this) {
+                case LESS_THAN:
+                    return value < bound;
+                case LESS_EQUAL:
+                    return value <= bound;
+                case EQUAL:
+                    return value == bound;
+                case NOT_EQUAL:
+                    return value != bound;
+                case GREATER_EQUAL:
+                    return value >= bound;
+                case GREATER_THAN:
+                    return value > bound;
+                default:
+                    throw new IllegalStateException(String.valueOf(this));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return symbol;
+        }
+    }
+
+    private final int[] variables;
+    private final double[] coefficients;
+    private final Relation relation;
+    private final double bound;
+    private final boolean selectionRequired;
+
+    /**
+     * Creates a new linear constraint that does not require a selection.
+     * The arrays are not copied.
+     *
+     * @param variables    the variable indices
+     * @param coefficients the coefficient of each variable
+     * @param relation     the relation
+     * @param bound        the bound
+     */
+    public LinearConstraint(int[] variables, double[] coefficients, Relation relation, double bound) {
+        this(variables, coefficients, relation, bound, false);
+    }
+
+    /**
+     * Creates a new linear constraint.
+     * The arrays are not copied.
+     *
+     * @param variables         the variable indices
+     * @param coefficients      the coefficient of each variable
+     * @param relation          the relation
+     * @param bound             the bound
+     * @param selectionRequired whether at least one of the variables must be selected
+     */
+    public LinearConstraint(
+            int[] variables, double[] coefficients, Relation relation, double bound, boolean selectionRequired) {
+        if (variables.length != coefficients.length) {
+            throw new IllegalArgumentException("Number of variables and coefficients differ");
+        }
+        this.variables = variables;
+        this.coefficients = coefficients;
+        this.relation = Objects.requireNonNull(relation);
+        this.bound = bound;
+        this.selectionRequired = selectionRequired;
+    }
+
+    /**
+     * {@return the variable indices of this constraint}
+     * The returned array must not be modified.
+     */
+    public int[] getVariables() {
+        return variables;
+    }
+
+    /**
+     * {@return the coefficients of this constraint, in the order of {@link #getVariables()}}
+     * The returned array must not be modified.
+     */
+    public double[] getCoefficients() {
+        return coefficients;
+    }
+
+    public Relation getRelation() {
+        return relation;
+    }
+
+    public double getBound() {
+        return bound;
+    }
+
+    /**
+     * {@return whether this constraint is only satisfied if at least one of its variables is selected}
+     */
+    public boolean isSelectionRequired() {
+        return selectionRequired;
+    }
+
+    public int size() {
+        return variables.length;
+    }
+
+    /**
+     * {@return whether this constraint is satisfied by a selection of variables}
+     *
+     * @param isSelected tests whether the variable with a given index is selected
+     */
+    public boolean isSatisfied(IntPredicate isSelected) {
+        double value = 0;
+        boolean selected = false;
+        for (int i = 0; i < variables.length; i++) {
+            if (isSelected.test(variables[i])) {
+                value += coefficients[i];
+                selected = true;
+            }
+        }
+        return (selected || !selectionRequired) && relation.test(value, bound);
+    }
+
+    /**
+     * Translates a comparison between an {@link IAttributeAggregate} and a {@link Constant} into a linear
+     * constraint.
+     * Supported comparisons are {@link Equals}, {@link NotEquals}, {@link LessThan}, {@link LessEqual},
+     * {@link GreaterEqual}, and {@link GreaterThan}, with the aggregate on either side.
+     *
+     * @param formula     the comparison
+     * @param elements    the features to aggregate over
+     * @param variableMap the variable map that assigns an index to each feature name
+     * @return the linear constraint, or a problem if the formula is not a supported comparison
+     */
+    public static Result<LinearConstraint> of(
+            IFormula formula, Collection<IFeature> elements, VariableMap variableMap) {
+        return of(formula, elements, null, variableMap);
+    }
+
+    /**
+     * Translates a comparison between an {@link IAttributeAggregate} and a {@link Constant} into a linear
+     * constraint over all instances of the given features.
+     *
+     * @param formula          the comparison
+     * @param elements         the features to aggregate over
+     * @param featureToFormula the formulas of all feature instances, or {@code null} to use the feature names
+     * @param variableMap      the variable map that assigns an index to each variable name
+     * @return the linear constraint, or a problem if the formula is not a supported comparison
+     * @see #of(IFormula, Collection, VariableMap)
+     */
+    public static Result<LinearConstraint> of(
+            IFormula formula,
+            Collection<IFeature> elements,
+            FeatureToFormula featureToFormula,
+            VariableMap variableMap) {
+        Relation relation;
+        if (formula instanceof Equals) {
+            relation = Relation.EQUAL;
+        } else if (formula instanceof NotEquals) {
+            relation = Relation.NOT_EQUAL;
+        } else if (formula instanceof LessThan) {
+            relation = Relation.LESS_THAN;
+        } else if (formula instanceof LessEqual) {
+            relation = Relation.LESS_EQUAL;
+        } else if (formula instanceof GreaterEqual) {
+            relation = Relation.GREATER_EQUAL;
+        } else if (formula instanceof GreaterThan) {
+            relation = Relation.GREATER_THAN;
+        } else {
+            return Result.empty(new Problem("Unsupported comparison " + formula.getName()));
+        }
+        List<? extends IExpression> children = formula.getChildren();
+        IExpression left = children.get(0);
+        IExpression right = children.get(1);
+        if (right instanceof IAttributeAggregate && left instanceof Constant) {
+            IExpression swap = left;
+            left = right;
+            right = swap;
+            relation = relation.mirror();
+        }
+        if (!(left instanceof IAttributeAggregate)
+                || !(right instanceof Constant)
+                || !(((Constant) right).getValue() instanceof Number)) {
+            return Result.empty(new Problem("Expected a comparison between an attribute aggregate and a constant"));
+        }
+        return ((IAttributeAggregate) left)
+                .translateLinear(
+                        elements,
+                        featureToFormula,
+                        variableMap,
+                        relation,
+                        ((Number) ((Constant) right).getValue()).doubleValue());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < variables.length; i++) {
+            if (i > 0) {
+                sb.append(" + ");
+            }
+            sb.append(coefficients[i]).append("*x").append(variables[i]);
+        }
+        if (variables.length == 0) {
+            sb.append('0');
+        }
+        sb.append(' ').append(relation).append(' ').append(bound);
+        if (selectionRequired) {
+            sb.append(" & (");
+            for (int i = 0; i < variables.length; i++) {
+                if (i > 0) {
+                    sb.append(" | ");
+                }
+                sb.append('x').append(variables[i]);
+            }
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                Arrays.hashCode(variables), Arrays.hashCode(coefficients), relation, bound, selectionRequired);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        LinearConstraint other = (LinearConstraint) obj;
+        return relation == other.relation
+                && selectionRequired == other.selectionRequired
+                && Double.compare(bound, other.bound) == 0
+                && Arrays.equals(variables, other.variables)
+                && Arrays.equals(coefficients, other.coefficients);
+    }
+}
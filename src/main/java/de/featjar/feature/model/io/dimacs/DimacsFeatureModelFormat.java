@@ -20,7 +20,6 @@
  */
 package de.featjar.feature.model.io.dimacs;
 
-import de.featjar.base.computation.Computations;
 import de.featjar.base.data.Pair;
 import de.featjar.base.data.Result;
 import de.featjar.base.io.format.ParseProblem;
@@ -29,10 +28,8 @@ import de.featjar.feature.model.FeatureModel;
 import de.featjar.feature.model.IFeatureModel;
 import de.featjar.feature.model.IFeatureTree;
 import de.featjar.feature.model.io.IFeatureModelFormat;
-import de.featjar.feature.model.transformer.ComputeFormula;
+import de.featjar.feature.model.transformer.FeatureModelFormulas;
 import de.featjar.formula.VariableMap;
-import de.featjar.formula.computation.ComputeCNFFormula;
-import de.featjar.formula.computation.ComputeNNFFormula;
 import de.featjar.formula.io.dimacs.DimacsParser;
 import de.featjar.formula.io.dimacs.DimacsSerializer;
 import de.featjar.formula.structure.IExpression;
@@ -53,12 +50,7 @@ public class DimacsFeatureModelFormat implements IFeatureModelFormat {
 
     @Override
     public Result<String> serialize(IFeatureModel featureModel) {
-        IFormula formula = Computations.of(featureModel)
-                .map(ComputeFormula::new)
-                .map(ComputeNNFFormula::new)
-                .map(ComputeCNFFormula::new)
-                .set(ComputeCNFFormula.IS_STRICT, true)
-                .compute();
+        IFormula formula = FeatureModelFormulas.getCNF(featureModel);
         VariableMap variableMap = new VariableMap(formula.getVariableMap().keySet());
         return Result.of(DimacsSerializer.serialize(
                 variableMap, ((Reference) formula).getExpression().getChildren(), c -> writeClause(c, variableMap)));
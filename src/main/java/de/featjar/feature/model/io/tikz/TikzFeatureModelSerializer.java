@@ -166,7 +166,7 @@ public class TikzFeatureModelSerializer {
                 int previousChildrenCount = 1;
                 for (int i = 0; i < featureTree.getChildrenGroups().size(); i++) {
                     if (featureTree.getChildrenGroup(i).isPresent()) {
-                        int childrenCount = featureTree.getChildren(i).size();
+                        int childrenCount = featureTree.getChildrenCount(i);
                         FeatureTree.Group group =
                                 featureTree.getChildrenGroup(i).get();
                         if (group.isOr()) {
@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.transformer;
+
+import de.featjar.base.data.Range;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Not;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.predicate.Literal;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes the cardinality constraint of a feature group into clauses using auxiliary variables.
+ * Counting encodings compute a unary representation {@code r_1, ..., r_k} of the number of selected children,
+ * where {@code r_j} is true iff at least {@code j} children are selected.
+ * Only the direction of each equivalence that is required for the given bounds is encoded.
+ * Upper bounds are encoded independently of the parent, as every child already implies its parent.
+ *
+ * @author Sebastian Krieter
+ */
+class CardinalityEncoder {
+
+    private final String prefix;
+    private final List<IFormula> constraints;
+    private final List<Variable> auxiliaryVariables;
+
+    private int auxiliaryCount;
+    private boolean encodeUpward;
+    private boolean encodeDownward;
+
+    /**
+     * Creates a new encoder.
+     *
+     * @param prefix             the unique prefix for the names of all auxiliary variables of the group
+     * @param constraints        the list to which the resulting clauses are added
+     * @param auxiliaryVariables the list to which the auxiliary variables are added
+     */
+    CardinalityEncoder(String prefix, List<IFormula> constraints, List<Variable> auxiliaryVariables) {
+        this.prefix = prefix;
+        this.constraints = constraints;
+        this.auxiliaryVariables = auxiliaryVariables;
+    }
+
+    /**
+     * Encodes that, if the parent is selected, between {@code lowerBound} and {@code upperBound} of the given
+     * literals are selected.
+     *
+     * @param encoding   the encoding to use, must not be {@link GroupEncoding#PAIRWISE}
+     * @param parent     the parent literal
+     * @param literals   the literals of the children
+     * @param lowerBound the lower bound
+     * @param upperBound the upper bound, may be {@link Range#OPEN}
+     */
+    void encode(GroupEncoding encoding, IFormula parent, List<IFormula> literals, int lowerBound, int upperBound) {
+        int n = literals.size();
+        if (lowerBound > n) {
+            constraints.add(new Not(parent));
+            return;
+        }
+        boolean atLeast = lowerBound > 0;
+        boolean atMost = upperBound != Range.OPEN && upperBound < n;
+
+        if (atLeast && lowerBound == 1) {
+            constraints.add(new Implies(parent, new Or(literals)));
+            atLeast = false;
+        }
+        if (atMost && upperBound == 0) {
+            for (IFormula literal : literals) {
+                constraints.add(new Not(literal));
+            }
+            atMost = false;
+        }
+        if (!atLeast && !atMost) {
+            return;
+        }
+        if (encoding == GroupEncoding.COMMANDER && !atLeast && upperBound == 1) {
+            encodeCommander(literals);
+            return;
+        }
+
+        encodeUpward = atMost;
+        encodeDownward = atLeast;
+        int k = Math.max(atLeast ? lowerBound : 0, atMost ? upperBound + 1 : 0);
+        List<IFormula> counter;
+        switch (encoding) {
+            case TOTALIZER:
+                counter = encodeTotalizer(literals, 0, n, k);
+                break;
+            case SORTING_NETWORK:
+                counter = encodeSortingNetwork(literals);
+                break;
+            case SEQUENTIAL_COUNTER:
+            case COMMANDER:
+                counter = encodeSequentialCounter(literals, k);
+                break;
+            default:
+                throw new IllegalArgumentException(String.valueOf(encoding));
+        }
+        if (atLeast) {
+            constraints.add(new Implies(parent, counter.get(lowerBound - 1)));
+        }
+        if (atMost) {
+            constraints.add(new Not(counter.get(upperBound)));
+        }
+    }
+
+    private void encodeCommander(List<IFormula> literals) {
+        while (literals.size() > 4) {
+            List<IFormula> commanders = new ArrayList<>((literals.size() + 2) / 3);
+            for (int i = 0; i < literals.size(); i += 3) {
+                List<IFormula> subGroup = literals.subList(i, Math.min(i + 3, literals.size()));
+                encodePairwise(subGroup);
+                IFormula commander = newAuxiliaryLiteral();
+                for (IFormula literal : subGroup) {
+                    constraints.add(new Implies(literal, commander));
+                }
+                commanders.add(commander);
+            }
+            literals = commanders;
+        }
+        encodePairwise(literals);
+    }
+
+    private void encodePairwise(List<IFormula> literals) {
+        for (int i = 0; i < literals.size(); i++) {
+            for (int j = i + 1; j < literals.size(); j++) {
+                constraints.add(new Or(new Not(literals.get(i)), new Not(literals.get(j))));
+            }
+        }
+    }
+
+    private List<IFormula> encodeSequentialCounter(List<IFormula> literals, int k) {
+        List<IFormula> previous = List.of();
+        for (int i = 0; i < literals.size(); i++) {
+            IFormula literal = literals.get(i);
+            List<IFormula> current = new ArrayList<>(Math.min(i + 1, k));
+            for (int j = 0; j < Math.min(i + 1, k); j++) {
+                IFormula s = newAuxiliaryLiteral();
+                IFormula keep = j < previous.size() ? previous.get(j) : null;
+                IFormula increment = j == 0 ? null : previous.get(j - 1);
+                if (encodeUpward) {
+                    if (keep != null) {
+                        constraints.add(new Implies(keep, s));
+                    }
+                    constraints.add(
+                            increment == null
+                                    ? new Implies(literal, s)
+                                    : new Or(new Not(literal), new Not(increment), s));
+                }
+                if (encodeDownward) {
+                    constraints.add(keep == null ? new Or(new Not(s), literal) : new Or(new Not(s), keep, literal));
+                    if (increment != null) {
+                        constraints.add(new Implies(s, increment));
+                    }
+                }
+                current.add(s);
+            }
+            previous = current;
+        }
+        return previous;
+    }
+
+    private List<IFormula> encodeTotalizer(List<IFormula> literals, int from, int to, int k) {
+        if (to - from == 1) {
+            return List.of(literals.get(from));
+        }
+        int middle = (from + to) >>> 1;
+        List<IFormula> left = encodeTotalizer(literals, from, middle, k);
+        List<IFormula> right = encodeTotalizer(literals, middle, to, k);
+        int size = Math.min(left.size() + right.size(), k);
+        List<IFormula> sum = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sum.add(newAuxiliaryLiteral());
+        }
+        for (int i = 0; i <= left.size(); i++) {
+            for (int j = 0; j <= right.size(); j++) {
+                if (encodeUpward && i + j > 0 && i + j <= size) {
+                    List<IFormula> clause = new ArrayList<>(3);
+                    if (i > 0) {
+                        clause.add(new Not(left.get(i - 1)));
+                    }
+                    if (j > 0) {
+                        clause.add(new Not(right.get(j - 1)));
+                    }
+                    clause.add(sum.get(i + j - 1));
+                    constraints.add(new Or(clause));
+                }
+                if (encodeDownward && i + j < size) {
+                    List<IFormula> clause = new ArrayList<>(3);
+                    if (i < left.size()) {
+                        clause.add(left.get(i));
+                    }
+                    if (j < right.size()) {
+                        clause.add(right.get(j));
+                    }
+                    clause.add(new Not(sum.get(i + j)));
+                    constraints.add(new Or(clause));
+                }
+            }
+        }
+        return sum;
+    }
+
+    private List<IFormula> encodeSortingNetwork(List<IFormula> literals) {
+        if (literals.size() <= 1) {
+            return literals;
+        }
+        int middle = literals.size() >>> 1;
+        return merge(
+                encodeSortingNetwork(literals.subList(0, middle)),
+                encodeSortingNetwork(literals.subList(middle, literals.size())));
+    }
+
+    private List<IFormula> merge(List<IFormula> left, List<IFormula> right) {
+        if (left.isEmpty()) {
+            return right;
+        }
+        if (right.isEmpty()) {
+            return left;
+        }
+        if (left.size() == 1 && right.size() == 1) {
+            return compare(left.get(0), right.get(0));
+        }
+        List<IFormula> odd = merge(select(left, 0), select(right, 0));
+        List<IFormula> even = merge(select(left, 1), select(right, 1));
+        List<IFormula> merged = new ArrayList<>(left.size() + right.size());
+        merged.add(odd.get(0));
+        int i = 0;
+        for (; i < even.size() && i + 1 < odd.size(); i++) {
+            merged.addAll(compare(odd.get(i + 1), even.get(i)));
+        }
+        merged.addAll(odd.subList(i + 1, odd.size()));
+        merged.addAll(even.subList(i, even.size()));
+        return merged;
+    }
+
+    private static List<IFormula> select(List<IFormula> literals, int offset) {
+        List<IFormula> selected = new ArrayList<>((literals.size() + 1) / 2);
+        for (int i = offset; i < literals.size(); i += 2) {
+            selected.add(literals.get(i));
+        }
+        return selected;
+    }
+
+    private List<IFormula> compare(IFormula a, IFormula b) {
+        IFormula max = newAuxiliaryLiteral();
+        IFormula min = newAuxiliaryLiteral();
+        if (encodeUpward) {
+            constraints.add(new Implies(a, max));
+            constraints.add(new Implies(b, max));
+            constraints.add(new Or(new Not(a), new Not(b), min));
+        }
+        if (encodeDownward) {
+            constraints.add(new Or(new Not(max), a, b));
+            constraints.add(new Implies(min, a));
+            constraints.add(new Implies(min, b));
+        }
+        return List.of(max, min);
+    }
+
+    private IFormula newAuxiliaryLiteral() {
+        Variable variable = new Variable(prefix + "_" + (++auxiliaryCount), Boolean.class);
+        auxiliaryVariables.add(variable);
+        return new Literal(variable);
+    }
+}
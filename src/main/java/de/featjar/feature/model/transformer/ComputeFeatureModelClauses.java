@@ -0,0 +1,352 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.transformer;
+
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Pair;
+import de.featjar.base.data.Range;
+import de.featjar.base.data.Result;
+import de.featjar.base.tree.Trees;
+import de.featjar.feature.model.FeatureTree.Group;
+import de.featjar.feature.model.IConstraint;
+import de.featjar.feature.model.IFeature;
+import de.featjar.feature.model.IFeatureModel;
+import de.featjar.feature.model.IFeatureTree;
+import de.featjar.feature.model.constraints.IAttributeAggregate;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Not;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.connective.Reference;
+import de.featjar.formula.structure.predicate.Literal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transforms a feature model directly into a list of clauses.
+ * In contrast to translating the result of {@link ComputeFormula} with {@link ComputeNNFFormula} and
+ * {@link ComputeCNFFormula}, the feature tree is traversed once and its clauses are emitted as integer literals
+ * without building any intermediate formula.
+ * Cross-tree constraints that are already clausal (i.e., literals, clauses, conjunctions of clauses, or implications
+ * between two literals) are emitted directly as well, all other constraints are transformed into CNF individually.
+ * Models that contain feature cardinalities, non-boolean features, or attribute aggregates are translated with the
+ * complete formula pipeline instead.
+ * The variable map is identical to the one of the formula pipeline: it contains the features of the feature tree in
+ * the order in which {@link ComputeFormula} visits them, followed by variables that only occur in constraints.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeFeatureModelClauses extends AComputation<BooleanAssignmentList> {
+    protected static final Dependency<IFeatureModel> FEATURE_MODEL = Dependency.newDependency(IFeatureModel.class);
+
+    private VariableMap variableMap;
+    private ArrayList<BooleanAssignment> clauses;
+
+    public ComputeFeatureModelClauses(IComputation<IFeatureModel> featureModel) {
+        super(featureModel);
+    }
+
+    protected ComputeFeatureModelClauses(ComputeFeatureModelClauses other) {
+        super(other);
+    }
+
+    @Override
+    public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
+        IFeatureModel featureModel = FEATURE_MODEL.get(dependencyList);
+        if (!isDirectlyTranslatable(featureModel)) {
+            return Computations.of(featureModel)
+                    .map(ComputeFormula::new)
+                    .map(ComputeNNFFormula::new)
+                    .map(ComputeCNFFormula::new)
+                    .map(ComputeBooleanClauseList::new)
+                    .computeResult();
+        }
+
+        variableMap = createVariableMap(featureModel);
+        clauses = new ArrayList<>();
+
+        createTreeClauses(featureModel);
+        for (IConstraint constraint : featureModel.getConstraints()) {
+            createConstraintClauses(constraint.getFormula(), variableMap, clauses);
+        }
+
+        return Result.of(new BooleanAssignmentList(variableMap, clauses));
+    }
+
+    /**
+     * {@return whether the given model is translated directly, i.e., without the complete formula pipeline}
+     *
+     * @param featureModel the feature model
+     */
+    static boolean isDirectlyTranslatable(IFeatureModel featureModel) {
+        for (IFeature feature : featureModel.getFeatures()) {
+            if (!Boolean.class.equals(feature.getType())) {
+                return false;
+            }
+        }
+        if (featureModel.getFeatureTreeStream().anyMatch(node -> node.getFeatureCardinalityUpperBound() > 1)) {
+            return false;
+        }
+        for (IConstraint constraint : featureModel.getConstraints()) {
+            if (Trees.preOrderStream(constraint.getFormula()).anyMatch(IAttributeAggregate.class::isInstance)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@return a variable map with all tree features in the order of {@link ComputeFormula}}
+     * Like {@link ComputeFormula}, the children of a node are numbered before any of their descendants.
+     *
+     * @param featureModel the feature model
+     */
+    private VariableMap createVariableMap(IFeatureModel featureModel) {
+        ArrayList<String> names = new ArrayList<>(featureModel.getNumberOfFeatures());
+        ArrayDeque<IFeatureTree> stack = new ArrayDeque<>();
+        stack.push(featureModel.getPseudoRoot());
+        while (!stack.isEmpty()) {
+            List<? extends IFeatureTree> children = stack.pop().getChildren();
+            for (IFeatureTree child : children) {
+                names.add(getFeatureName(child.getFeature()));
+            }
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+        return new VariableMap(names);
+    }
+
+    private void createTreeClauses(IFeatureModel featureModel) {
+        IFeatureTree pseudoRoot = featureModel.getPseudoRoot();
+        ArrayDeque<IFeatureTree> stack = new ArrayDeque<>();
+        stack.push(pseudoRoot);
+        while (!stack.isEmpty()) {
+            IFeatureTree parentNode = stack.pop();
+            createNodeClauses(parentNode, parentNode == pseudoRoot, variableMap, clauses);
+            for (IFeatureTree child : parentNode.getChildren()) {
+                stack.push(child);
+            }
+        }
+    }
+
+    /**
+     * Adds the clauses that relate the given node to its children, i.e., the implications between each child and the
+     * node and the clauses of the groups of the node.
+     * Variables that are not yet contained in the variable map are added.
+     *
+     * @param parentNode   the node
+     * @param isPseudoRoot whether the node is the pseudo root, whose children are the roots of the feature tree
+     * @param variableMap  the variable map
+     * @param clauses      the list to add the clauses to
+     */
+    static void createNodeClauses(
+            IFeatureTree parentNode, boolean isPseudoRoot, VariableMap variableMap, List<BooleanAssignment> clauses) {
+        int parentIndex = isPseudoRoot ? 0 : getIndex(variableMap, parentNode);
+
+        for (IFeatureTree child : parentNode.getChildren()) {
+            int childIndex = getIndex(variableMap, child);
+            if (parentIndex != 0) {
+                clauses.add(new BooleanAssignment(-childIndex, parentIndex));
+            }
+            if (child.getFeatureCardinalityLowerBound() > 0) {
+                clauses.add(
+                        parentIndex == 0
+                                ? new BooleanAssignment(childIndex)
+                                : new BooleanAssignment(-parentIndex, childIndex));
+            }
+        }
+
+        for (Pair<Group, List<IFeatureTree>> featureGroup : parentNode.getGroupedChildren()) {
+            Group group = featureGroup.getKey();
+            if (group != null && !group.isAnd()) {
+                List<IFeatureTree> groupNodes = featureGroup.getValue();
+                int[] groupIndices = new int[groupNodes.size()];
+                for (int i = 0; i < groupIndices.length; i++) {
+                    groupIndices[i] = getIndex(variableMap, groupNodes.get(i));
+                }
+                createGroupClauses(parentIndex, groupIndices, group.getLowerBound(), group.getUpperBound(), clauses);
+            }
+        }
+    }
+
+    /**
+     * Adds the clauses for a group with the given bounds.
+     * At least {@code lowerBound} children are encoded as one clause {@code (-parent, c_1, ..., c_k)} for every subset
+     * of {@code n - lowerBound + 1} children, at most {@code upperBound} children as one clause
+     * {@code (-c_1, ..., -c_k)} for every subset of {@code upperBound + 1} children.
+     * The parent literal can be omitted in the latter case, as every child implies its parent.
+     *
+     * @param parentIndex  the variable index of the parent, or {@code 0} for the roots
+     * @param groupIndices the variable indices of the grouped children
+     * @param lowerBound   the lower bound of the group
+     * @param upperBound   the upper bound of the group, may be {@link Range#OPEN}
+     * @param clauses      the list to add the clauses to
+     */
+    private static void createGroupClauses(
+            int parentIndex, int[] groupIndices, int lowerBound, int upperBound, List<BooleanAssignment> clauses) {
+        int n = groupIndices.length;
+        if (lowerBound > 0) {
+            int k = n - lowerBound + 1;
+            if (k <= 0) {
+                clauses.add(parentIndex == 0 ? new BooleanAssignment() : new BooleanAssignment(-parentIndex));
+            } else {
+                addCombinations(parentIndex == 0 ? 0 : -parentIndex, groupIndices, k, 1, clauses);
+            }
+        }
+        if (upperBound != Range.OPEN && upperBound < n) {
+            addCombinations(0, groupIndices, upperBound + 1, -1, clauses);
+        }
+    }
+
+    private static void addCombinations(int prefix, int[] indices, int k, int sign, List<BooleanAssignment> clauses) {
+        int offset = prefix == 0 ? 0 : 1;
+        int[] combination = new int[k];
+        int[] clause = new int[k + offset];
+        for (int i = 0; i < k; i++) {
+            combination[i] = i;
+        }
+        while (true) {
+            if (offset == 1) {
+                clause[0] = prefix;
+            }
+            for (int i = 0; i < k; i++) {
+                clause[i + offset] = sign * indices[combination[i]];
+            }
+            clauses.add(new BooleanAssignment(clause.clone()));
+
+            int i = k - 1;
+            while (i >= 0 && combination[i] == indices.length - k + i) {
+                i--;
+            }
+            if (i < 0) {
+                return;
+            }
+            combination[i]++;
+            for (int j = i + 1; j < k; j++) {
+                combination[j] = combination[j - 1] + 1;
+            }
+        }
+    }
+
+    /**
+     * Adds the clauses of the given cross-tree constraint.
+     * Variables that are not yet contained in the variable map are added.
+     *
+     * @param formula     the formula of the constraint
+     * @param variableMap the variable map
+     * @param clauses     the list to add the clauses to
+     */
+    static void createConstraintClauses(IFormula formula, VariableMap variableMap, List<BooleanAssignment> clauses) {
+        if (formula instanceof And) {
+            if (formula.getChildren().stream().allMatch(ComputeFeatureModelClauses::isClause)) {
+                for (IExpression child : formula.getChildren()) {
+                    clauses.add(toClause(child, variableMap));
+                }
+                return;
+            }
+        } else if (isClause(formula)) {
+            clauses.add(toClause(formula, variableMap));
+            return;
+        } else if (formula instanceof Implies) {
+            List<? extends IExpression> children = formula.getChildren();
+            if (isLiteral(children.get(0)) && isLiteral(children.get(1))) {
+                clauses.add(new BooleanAssignment(
+                        -getLiteral(children.get(0), variableMap), getLiteral(children.get(1), variableMap)));
+                return;
+            }
+        }
+
+        BooleanAssignmentList cnf = Computations.of((IFormula) new Reference(formula))
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+        VariableMap cnfVariableMap = cnf.getVariableMap();
+        for (BooleanAssignment clause : cnf.getAll()) {
+            int[] literals = clause.get();
+            int[] remapped = new int[literals.length];
+            for (int i = 0; i < literals.length; i++) {
+                int index = getIndex(variableMap, cnfVariableMap.get(Math.abs(literals[i])).orElseThrow());
+                remapped[i] = literals[i] < 0 ? -index : index;
+            }
+            clauses.add(new BooleanAssignment(remapped));
+        }
+    }
+
+    private static boolean isClause(IExpression expression) {
+        return isLiteral(expression)
+                || (expression instanceof Or
+                        && expression.getChildren().stream().allMatch(ComputeFeatureModelClauses::isLiteral));
+    }
+
+    private static boolean isLiteral(IExpression expression) {
+        return expression instanceof Literal
+                || (expression instanceof Not && expression.getChildren().get(0) instanceof Literal);
+    }
+
+    private static BooleanAssignment toClause(IExpression expression, VariableMap variableMap) {
+        if (isLiteral(expression)) {
+            return new BooleanAssignment(getLiteral(expression, variableMap));
+        }
+        List<? extends IExpression> children = expression.getChildren();
+        int[] literals = new int[children.size()];
+        for (int i = 0; i < literals.length; i++) {
+            literals[i] = getLiteral(children.get(i), variableMap);
+        }
+        return new BooleanAssignment(literals);
+    }
+
+    private static int getLiteral(IExpression expression, VariableMap variableMap) {
+        if (expression instanceof Not) {
+            return -getLiteral(expression.getChildren().get(0), variableMap);
+        }
+        Literal literal = (Literal) expression;
+        int index = getIndex(variableMap, literal.getExpression().getName());
+        return literal.isPositive() ? index : -index;
+    }
+
+    private static int getIndex(VariableMap variableMap, IFeatureTree node) {
+        return getIndex(variableMap, getFeatureName(node.getFeature()));
+    }
+
+    private static int getIndex(VariableMap variableMap, String name) {
+        Result<Integer> index = variableMap.get(name);
+        return index.isPresent() ? index.get() : variableMap.add(name);
+    }
+
+    private static String getFeatureName(IFeature feature) {
+        return feature.getName().orElse("???");
+    }
+}
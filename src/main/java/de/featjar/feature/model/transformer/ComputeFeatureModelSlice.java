@@ -28,7 +28,11 @@ import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
 import de.featjar.base.data.Result;
+import de.featjar.base.tree.Trees;
+import de.featjar.feature.model.FeatureModel;
+import de.featjar.feature.model.FeatureTree.Group;
 import de.featjar.feature.model.IConstraint;
 import de.featjar.feature.model.IFeature;
 import de.featjar.feature.model.IFeatureModel;
@@ -36,6 +40,8 @@ import de.featjar.feature.model.IFeatureModelElement;
 import de.featjar.feature.model.IFeatureModelElementFilter;
 import de.featjar.feature.model.IFeatureTree;
 import de.featjar.feature.model.PseudoFeatureTreeRoot;
+import de.featjar.feature.model.constraints.IAttributeAggregate;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
@@ -44,13 +50,34 @@ import de.featjar.formula.computation.ComputeNNFFormula;
 import de.featjar.formula.structure.IFormula;
 import de.featjar.formula.structure.connective.Or;
 import de.featjar.formula.structure.predicate.Literal;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Slices a feature model while preserving as much of its hierarchy and cross-tree constrains as possible.
+ * Clauses of the sliced formula that are implied by the remaining model are not added as constraints.
+ * If {@link #PARALLEL} is set, clauses are first checked against the remaining model concurrently.
+ * If {@link #TREE_AWARE} is set, removed subtrees that contain no feature referenced by a constraint are pruned from
+ * the tree directly, relaxing the group cardinalities of their parents.
+ * Only the remaining removed features are eliminated from the formula, and the formula of the remaining model reuses
+ * the clauses of all nodes whose children are unchanged.
+ * If a {@link #TIMEOUT} is set or the computing thread is interrupted, a best-effort slice is returned: clauses that
+ * are not yet checked for redundancy are kept, and if variable elimination does not finish in time, constraints of
+ * removed features are replaced by all clauses of the formula over remaining features, which over-approximates the
+ * exact slice, and the result carries a warning.
  *
  * @author Sebastian Krieter
  */
@@ -61,12 +88,18 @@ public class ComputeFeatureModelSlice extends AComputation<IFeatureModel> {
             Dependency.newDependency(IFeatureModelElementFilter.class);
     public static final Dependency<IFeatureModelElementFilter> EXCLUDE_FEATURES =
             Dependency.newDependency(IFeatureModelElementFilter.class);
+    public static final Dependency<Boolean> PARALLEL = Dependency.newDependency(Boolean.class);
+    public static final Dependency<Boolean> TREE_AWARE = Dependency.newDependency(Boolean.class);
+    public static final Dependency<Duration> TIMEOUT = Dependency.newDependency(Duration.class);
 
     public ComputeFeatureModelSlice(IComputation<IFeatureModel> formula) {
         super(
                 formula,
                 Computations.of(IFeatureModelElementFilter.ALL),
-                Computations.of(IFeatureModelElementFilter.NONE));
+                Computations.of(IFeatureModelElementFilter.NONE),
+                Computations.of(Boolean.FALSE),
+                Computations.of(Boolean.FALSE),
+                Computations.of(Duration.ZERO));
     }
 
     protected ComputeFeatureModelSlice(ComputeFormula other) {
@@ -78,15 +111,33 @@ public class ComputeFeatureModelSlice extends AComputation<IFeatureModel> {
         IFeatureModel featureModel = FEATURE_MODEL.get(dependencyList);
         IFeatureModelElementFilter include = INCLUDE_FEATURES.get(dependencyList);
         IFeatureModelElementFilter exclude = EXCLUDE_FEATURES.get(dependencyList);
+        boolean parallel = PARALLEL.get(dependencyList);
+        boolean treeAware = TREE_AWARE.get(dependencyList);
+        Budget budget = new Budget(TIMEOUT.get(dependencyList));
 
         Predicate<IFeatureModelElement> featureFilter = include.and(exclude.negate());
 
-        BooleanAssignmentList cnf = Computations.of(featureModel)
-                .map(ComputeFormula::new)
-                .map(ComputeNNFFormula::new)
-                .map(ComputeCNFFormula::new)
-                .map(ComputeBooleanClauseList::new)
-                .compute();
+        IFeatureModel slicedModel = featureModel instanceof FeatureModel
+                ? ((FeatureModel) featureModel).fork()
+                : featureModel.clone();
+
+        BooleanAssignmentList cnf;
+        List<IFeatureTree> changedNodes = null;
+        HashMap<BooleanAssignment, Integer> staleClauses = null;
+        if (treeAware && isTreeAwareSlicingSupported(featureModel)) {
+            if (!pruneUnconstrainedSubtrees(slicedModel, featureFilter)) {
+                return Result.of(slicedModel);
+            }
+            cnf = FeatureModelFormulas.getClauseList(slicedModel);
+            if (ComputeFeatureModelClauses.isDirectlyTranslatable(slicedModel)) {
+                changedNodes = findChangedNodes(slicedModel, featureFilter);
+            }
+            if (changedNodes != null) {
+                staleClauses = getStaleClauses(slicedModel, changedNodes, featureFilter, cnf.getVariableMap());
+            }
+        } else {
+            cnf = FeatureModelFormulas.getClauseList(featureModel);
+        }
 
         int[] literalsToKeep = featureModel.getFeatures().stream()
                 .filter(featureFilter)
@@ -97,14 +148,15 @@ public class ComputeFeatureModelSlice extends AComputation<IFeatureModel> {
                 .mapToInt(Result::get)
                 .toArray();
 
-        BooleanAssignmentList slicedCnf = Computations.of(cnf)
-                .map(CNFSlicer::new)
-                .set(CNFSlicer.VARIABLES_TO_KEEP, new BooleanAssignment(literalsToKeep))
-                .compute();
+        progress.setTotalSteps(2);
+        BooleanAssignmentList slicedCnf = eliminate(cnf, literalsToKeep, budget);
+        progress.incrementCurrentStep();
 
-        IFeatureModel slicedModel = featureModel.clone();
+        boolean exhausted = slicedCnf == null;
+        if (exhausted) {
+            slicedCnf = retainKeptVariables(cnf, literalsToKeep);
+        }
 
-        List<IFeatureTree> newRoots = new ArrayList<>(slicedModel.getRoots().size());
         for (IFeatureTree rootFeature : slicedModel.getRoots()) {
             PseudoFeatureTreeRoot pseudoRoot = new PseudoFeatureTreeRoot(slicedModel);
             pseudoRoot.addChild(rootFeature);
@@ -112,7 +164,7 @@ public class ComputeFeatureModelSlice extends AComputation<IFeatureModel> {
                     .postOrderStream()
                     .filter(node -> !featureFilter.test(node.getFeature()))
                     .forEach(node -> node.mutate().removeFromTree());
-            newRoots.addAll(pseudoRoot.detach());
+            pseudoRoot.detach();
         }
 
         Collection<IConstraint> constraints = new ArrayList<>(slicedModel.getConstraints());
@@ -122,33 +174,400 @@ public class ComputeFeatureModelSlice extends AComputation<IFeatureModel> {
             }
         }
 
-        BooleanAssignmentList newCnf = Computations.of(slicedModel)
-                .map(ComputeFormula::new)
-                .map(ComputeNNFFormula::new)
-                .map(ComputeCNFFormula::new)
-                .map(ComputeBooleanClauseList::new)
-                .compute();
+        BooleanAssignmentList newCnf = staleClauses != null
+                ? retainClauses(cnf, literalsToKeep, changedNodes, staleClauses)
+                : Computations.of(slicedModel)
+                        .map(ComputeFormula::new)
+                        .map(ComputeNNFFormula::new)
+                        .map(ComputeCNFFormula::new)
+                        .map(ComputeBooleanClauseList::new)
+                        .compute();
+
+        VariableMap variableMap = cnf.getVariableMap();
+        VariableMap newVariableMap = newCnf.getVariableMap();
+        List<BooleanAssignment> slicedClauses = slicedCnf.getAll();
+        List<int[]> candidates = new ArrayList<>(slicedClauses.size());
+        for (BooleanAssignment disjunction : slicedClauses) {
+            candidates.add(remap(disjunction.get(), variableMap, newVariableMap));
+        }
+
+        if (exhausted) {
+            Set<List<Integer>> treeClauses = new HashSet<>();
+            for (BooleanAssignment clause : newCnf.getAll()) {
+                treeClauses.add(toSortedList(clause.get()));
+            }
+            for (int i = 0; i < candidates.size(); i++) {
+                int[] clause = candidates.get(i);
+                if (clause == null || !treeClauses.contains(toSortedList(clause))) {
+                    slicedModel.mutate().addConstraint(createFormula(slicedClauses.get(i), variableMap));
+                }
+            }
+            return Result.of(
+                    slicedModel,
+                    List.of(new Problem(
+                            "slicing budget exhausted during variable elimination, constraints of removed features are"
+                                    + " over-approximated",
+                            Problem.Severity.WARNING)));
+        }
+
+        progress.setTotalSteps(2 + candidates.size());
+        List<BitSet> solutions = new ArrayList<>();
+        boolean[] notImplied = findNotImpliedClauses(newCnf, candidates, parallel, budget, solutions);
+        progress.incrementCurrentStep();
 
+        // solutions of the remaining model stay valid as long as they satisfy all added clauses
         SAT4JSolutionSolver solver = new SAT4JSolutionSolver(newCnf, false);
         SAT4JClauseList clauseList = solver.getClauseList();
         clauseList.addAll(newCnf);
+        for (int i = 0; i < candidates.size(); i++) {
+            progress.incrementCurrentStep();
+            if (!notImplied[i]) {
+                continue;
+            }
+            int[] clause = candidates.get(i);
+            if (clause == null || budget.isExhausted()) {
+                slicedModel.mutate().addConstraint(createFormula(slicedClauses.get(i), variableMap));
+                continue;
+            }
+            boolean keep = solutions.stream().anyMatch(solution -> isFalsified(clause, solution));
+            if (!keep) {
+                keep = solver.hasSolution(negate(clause)).orElse(Boolean.TRUE);
+            }
+            if (keep) {
+                clauseList.add(new BooleanAssignment(clause));
+                solutions.removeIf(solution -> isFalsified(clause, solution));
+                slicedModel.mutate().addConstraint(createFormula(slicedClauses.get(i), variableMap));
+            }
+        }
+        return Result.of(slicedModel);
+    }
+
+    /**
+     * Eliminates all variables but the given ones from the given formula.
+     * If the budget is limited, the elimination runs in the calling thread and stops as soon as the budget is
+     * exhausted or the calling thread is interrupted.
+     *
+     * @param cnf the formula
+     * @param literalsToKeep the variables to keep
+     * @param budget the budget
+     * @return the formula over the kept variables, or {@code null} if the budget was exhausted
+     */
+    private static BooleanAssignmentList eliminate(BooleanAssignmentList cnf, int[] literalsToKeep, Budget budget) {
+        if (budget.isUnlimited()) {
+            return Computations.of(cnf)
+                    .map(CNFSlicer::new)
+                    .set(CNFSlicer.VARIABLES_TO_KEEP, new BooleanAssignment(literalsToKeep))
+                    .compute();
+        }
+        return new VariableElimination(budget::isExhausted).eliminate(cnf, literalsToKeep);
+    }
 
-        for (BooleanAssignment disjunction : slicedCnf.getAll()) {
-            List<IFormula> clause = new ArrayList<>();
-            for (int literal : disjunction.get()) {
-                if (literal < 0) {
-                    clause.add(new Literal(
-                            false, cnf.getVariableMap().get(-literal).get()));
+    /**
+     * {@return all clauses of the given formula that contain only kept variables}
+     * Every such clause is implied by the projection of the formula onto the kept variables, so the result
+     * over-approximates the projection.
+     *
+     * @param cnf the formula
+     * @param literalsToKeep the variables to keep
+     */
+    private static BooleanAssignmentList retainKeptVariables(BooleanAssignmentList cnf, int[] literalsToKeep) {
+        BitSet keep = new BitSet();
+        for (int literal : literalsToKeep) {
+            keep.set(Math.abs(literal));
+        }
+        List<BooleanAssignment> clauses = new ArrayList<>();
+        for (BooleanAssignment clause : cnf.getAll()) {
+            if (Arrays.stream(clause.get()).allMatch(literal -> keep.get(Math.abs(literal)))) {
+                clauses.add(clause);
+            }
+        }
+        return new BooleanAssignmentList(cnf.getVariableMap(), clauses);
+    }
+
+    private static boolean isTreeAwareSlicingSupported(IFeatureModel featureModel) {
+        if (featureModel.getFeatureTreeStream().anyMatch(node -> node.getFeatureCardinalityUpperBound() > 1)) {
+            return false;
+        }
+        for (IConstraint constraint : featureModel.getConstraints()) {
+            if (Trees.preOrderStream(constraint.getFormula()).anyMatch(IAttributeAggregate.class::isInstance)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all maximal subtrees of removed features that contain no feature referenced by a constraint.
+     * The projection of the tree onto the remaining features is exact if the lower bound of the parent's group is
+     * decreased by the number of pruned group members.
+     *
+     * @param featureModel the feature model to modify
+     * @param featureFilter the filter for features to keep
+     * @return whether the tree still contains features that must be eliminated from the formula
+     */
+    private static boolean pruneUnconstrainedSubtrees(
+            IFeatureModel featureModel, Predicate<IFeatureModelElement> featureFilter) {
+        Set<IFeature> constrainedFeatures = new HashSet<>();
+        for (IConstraint constraint : featureModel.getConstraints()) {
+            constrainedFeatures.addAll(constraint.getReferencedFeatures());
+        }
+
+        Set<IFeatureTree> prunable = Collections.newSetFromMap(new IdentityHashMap<>());
+        boolean remaining = !constrainedFeatures.stream().allMatch(featureFilter);
+        for (IFeatureTree rootFeature : featureModel.getRoots()) {
+            for (IFeatureTree node : rootFeature.postOrderStream().collect(Collectors.toList())) {
+                IFeature feature = node.getFeature();
+                if (featureFilter.test(feature)) {
+                    continue;
+                }
+                if (!constrainedFeatures.contains(feature) && prunable.containsAll(node.getChildren())) {
+                    prunable.add(node);
                 } else {
-                    clause.add(
-                            new Literal(true, cnf.getVariableMap().get(literal).get()));
+                    remaining = true;
+                }
+            }
+        }
+
+        for (IFeatureTree rootFeature : new ArrayList<>(featureModel.getRoots())) {
+            if (prunable.contains(rootFeature)) {
+                featureModel.mutate().removeFeatureTreeRoot(rootFeature);
+                continue;
+            }
+            for (IFeatureTree parent : rootFeature.preOrderStream().collect(Collectors.toList())) {
+                if (prunable.contains(parent)) {
+                    continue;
+                }
+                List<IFeatureTree> prunedChildren = parent.getChildren().stream()
+                        .filter(prunable::contains)
+                        .collect(Collectors.toList());
+                for (IFeatureTree child : prunedChildren) {
+                    int groupID = child.getParentGroupID();
+                    Group group = child.getParentGroup().get();
+                    if (group.getLowerBound() > 0) {
+                        parent.mutate().toCardinalityGroup(groupID, group.getLowerBound() - 1, group.getUpperBound());
+                    }
+                    child.postOrderStream()
+                            .collect(Collectors.toList())
+                            .forEach(node -> node.mutate().removeFromTree());
                 }
             }
-            if (solver.hasSolution(disjunction.negateInts()).orElse(Boolean.TRUE)) {
-                clauseList.add(disjunction);
-                slicedModel.mutate().addConstraint(new Or(clause));
+        }
+        return remaining;
+    }
+
+    /**
+     * {@return all nodes that are kept, but have a child that is removed, or {@code null} if a root is removed}
+     * Only the clauses of these nodes differ between the formula of a model before and after slicing it.
+     *
+     * @param featureModel the feature model
+     * @param featureFilter the filter for features to keep
+     */
+    private static List<IFeatureTree> findChangedNodes(
+            IFeatureModel featureModel, Predicate<IFeatureModelElement> featureFilter) {
+        List<IFeatureTree> changedNodes = new ArrayList<>();
+        for (IFeatureTree rootFeature : featureModel.getRoots()) {
+            if (!featureFilter.test(rootFeature.getFeature())) {
+                return null;
             }
+            rootFeature
+                    .preOrderStream()
+                    .filter(node -> featureFilter.test(node.getFeature()))
+                    .filter(node -> !node.getChildren().stream()
+                            .map(IFeatureTree::getFeature)
+                            .allMatch(featureFilter))
+                    .forEach(changedNodes::add);
         }
-        return Result.of(slicedModel);
+        return changedNodes;
+    }
+
+    /**
+     * {@return the clauses of the given nodes and of all constraints that are removed by slicing, mapped to the
+     * number of their occurrences}
+     *
+     * @param featureModel the feature model
+     * @param changedNodes the kept nodes whose children change
+     * @param featureFilter the filter for features to keep
+     * @param variableMap the variable map of the formula
+     */
+    private static HashMap<BooleanAssignment, Integer> getStaleClauses(
+            IFeatureModel featureModel,
+            List<IFeatureTree> changedNodes,
+            Predicate<IFeatureModelElement> featureFilter,
+            VariableMap variableMap) {
+        List<BooleanAssignment> clauses = new ArrayList<>();
+        for (IFeatureTree node : changedNodes) {
+            ComputeFeatureModelClauses.createNodeClauses(node, false, variableMap, clauses);
+        }
+        for (IConstraint constraint : featureModel.getConstraints()) {
+            if (!constraint.getReferencedFeatures().stream().allMatch(featureFilter)) {
+                ComputeFeatureModelClauses.createConstraintClauses(constraint.getFormula(), variableMap, clauses);
+            }
+        }
+        HashMap<BooleanAssignment, Integer> clauseCounts = new HashMap<>();
+        for (BooleanAssignment clause : clauses) {
+            clauseCounts.merge(clause, 1, Integer::sum);
+        }
+        return clauseCounts;
+    }
+
+    /**
+     * {@return the formula of the sliced model, reusing the clauses of the formula of the unsliced model}
+     * All clauses over kept variables are retained, except for the stale clauses of changed nodes and removed
+     * constraints. The clauses of the changed nodes are created again from their current children.
+     *
+     * @param cnf the formula of the unsliced model
+     * @param literalsToKeep the kept variables
+     * @param changedNodes the kept nodes whose children changed
+     * @param staleClauses the clauses of the changed nodes before slicing and of the removed constraints, with the
+     *     number of their occurrences
+     */
+    private static BooleanAssignmentList retainClauses(
+            BooleanAssignmentList cnf,
+            int[] literalsToKeep,
+            List<IFeatureTree> changedNodes,
+            HashMap<BooleanAssignment, Integer> staleClauses) {
+        BitSet keptVariables = new BitSet();
+        for (int variable : literalsToKeep) {
+            keptVariables.set(variable);
+        }
+        List<BooleanAssignment> clauses = new ArrayList<>(cnf.getAll().size());
+        for (BooleanAssignment clause : cnf.getAll()) {
+            if (!Arrays.stream(clause.get()).allMatch(literal -> keptVariables.get(Math.abs(literal)))) {
+                continue;
+            }
+            Integer staleCount = staleClauses.get(clause);
+            if (staleCount == null) {
+                clauses.add(clause);
+            } else if (staleCount > 1) {
+                staleClauses.put(clause, staleCount - 1);
+            } else {
+                staleClauses.remove(clause);
+            }
+        }
+        VariableMap variableMap = cnf.getVariableMap();
+        for (IFeatureTree node : changedNodes) {
+            ComputeFeatureModelClauses.createNodeClauses(node, false, variableMap, clauses);
+        }
+        return new BooleanAssignmentList(variableMap, clauses);
+    }
+
+    /**
+     * Determines which of the given clauses are not implied by the given formula.
+     * Each solution found for the negation of a clause falsifies the clause itself and may falsify other clauses as
+     * well, which are then known to be not implied without a further solver call.
+     * If parallel, the clauses are checked concurrently by one worker per processor. Each worker creates a single
+     * solver and repeatedly takes the next unchecked clause, whose negation is passed to the solver as assumptions.
+     * Once the budget is exhausted, all unchecked clauses are considered as not implied.
+     *
+     * @param cnf the formula
+     * @param clauses the clauses, {@code null} entries are considered as not implied
+     * @param parallel whether to check the clauses concurrently
+     * @param budget the budget
+     * @param solutions the list to add all found solutions of the formula to
+     * @return for each clause, whether it is not implied by the formula
+     */
+    private static boolean[] findNotImpliedClauses(
+            BooleanAssignmentList cnf, List<int[]> clauses, boolean parallel, Budget budget, List<BitSet> solutions) {
+        boolean[] notImplied = new boolean[clauses.size()];
+        int workerCount = Math.min(
+                clauses.size(), parallel ? Math.max(1, Runtime.getRuntime().availableProcessors()) : 1);
+        AtomicInteger nextClause = new AtomicInteger();
+        IntStream workers = IntStream.range(0, workerCount);
+        (parallel ? workers.parallel() : workers).forEach(worker -> {
+            SAT4JSolutionSolver solver = new SAT4JSolutionSolver(cnf, false);
+            solver.getClauseList().addAll(cnf);
+            List<BitSet> workerSolutions = new ArrayList<>();
+            for (int i = nextClause.getAndIncrement(); i < clauses.size(); i = nextClause.getAndIncrement()) {
+                int[] clause = clauses.get(i);
+                if (clause == null
+                        || budget.isExhausted()
+                        || workerSolutions.stream().anyMatch(solution -> isFalsified(clause, solution))) {
+                    notImplied[i] = true;
+                } else if (solver.hasSolution(negate(clause)).orElse(Boolean.TRUE)) {
+                    notImplied[i] = true;
+                    int[] solution = solver.getInternalSolution();
+                    if (solution != null) {
+                        workerSolutions.add(toBitSet(solution));
+                    }
+                }
+            }
+            synchronized (solutions) {
+                solutions.addAll(workerSolutions);
+            }
+        });
+        return notImplied;
+    }
+
+    /**
+     * A time budget for slicing, which is also exhausted once the thread that created it is interrupted.
+     */
+    private static final class Budget {
+        private final long deadline;
+        private final Thread owner;
+
+        private Budget(Duration timeout) {
+            deadline = timeout.isZero() || timeout.isNegative() ? 0 : System.nanoTime() + timeout.toNanos();
+            owner = Thread.currentThread();
+        }
+
+        private boolean isUnlimited() {
+            return deadline == 0;
+        }
+
+        private boolean isExhausted() {
+            return owner.isInterrupted() || (deadline != 0 && System.nanoTime() - deadline >= 0);
+        }
+    }
+
+    private static int[] remap(int[] clause, VariableMap from, VariableMap to) {
+        int[] remapped = new int[clause.length];
+        for (int i = 0; i < clause.length; i++) {
+            int literal = clause[i];
+            Result<Integer> index = to.get(from.get(Math.abs(literal)).get());
+            if (index.isEmpty()) {
+                return null;
+            }
+            remapped[i] = literal < 0 ? -index.get() : index.get();
+        }
+        return remapped;
+    }
+
+    private static List<Integer> toSortedList(int[] clause) {
+        return Arrays.stream(clause).sorted().boxed().collect(Collectors.toList());
+    }
+
+    private static int[] negate(int[] clause) {
+        int[] negation = new int[clause.length];
+        for (int i = 0; i < clause.length; i++) {
+            negation[i] = -clause[i];
+        }
+        return negation;
+    }
+
+    private static BitSet toBitSet(int[] solution) {
+        BitSet selected = new BitSet();
+        for (int literal : solution) {
+            if (literal > 0) {
+                selected.set(literal);
+            }
+        }
+        return selected;
+    }
+
+    private static boolean isFalsified(int[] clause, BitSet solution) {
+        for (int literal : clause) {
+            if (literal > 0 == solution.get(Math.abs(literal))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static IFormula createFormula(BooleanAssignment disjunction, VariableMap variableMap) {
+        List<IFormula> clause = new ArrayList<>();
+        for (int literal : disjunction.get()) {
+            clause.add(new Literal(literal > 0, variableMap.get(Math.abs(literal)).get()));
+        }
+        return new Or(clause);
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.transformer;
+
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.feature.model.FeatureNameListFilter;
+import de.featjar.feature.model.IFeature;
+import de.featjar.feature.model.IFeatureModel;
+import de.featjar.feature.model.IFeatureModelElementFilter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Computes several slices of one feature model, one per given filter, as {@link ComputeFeatureModelSlice} would.
+ * Filters that keep the same features share one slice.
+ * Each slice is computed from the smallest other slice that keeps a superset of its features, if there is one,
+ * so elimination work is shared between overlapping filters.
+ * All other slices start from the given model. Unless {@link #TREE_AWARE} is set, they share its clause list,
+ * which is translated only once (see {@link FeatureModelFormulas}).
+ * If {@link #PARALLEL} is set, independent slices are computed concurrently in the common fork/join pool, and each
+ * slice is computed with {@link ComputeFeatureModelSlice#PARALLEL}.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeFeatureModelSlices extends AComputation<List<IFeatureModel>> {
+
+    public static final Dependency<IFeatureModel> FEATURE_MODEL = Dependency.newDependency(IFeatureModel.class);
+
+    @SuppressWarnings("unchecked")
+    public static final Dependency<List<IFeatureModelElementFilter>> FILTERS =
+            Dependency.newDependency((Class<List<IFeatureModelElementFilter>>) (Class<?>) List.class);
+
+    public static final Dependency<Boolean> PARALLEL = Dependency.newDependency(Boolean.class);
+    public static final Dependency<Boolean> TREE_AWARE = Dependency.newDependency(Boolean.class);
+
+    public ComputeFeatureModelSlices(IComputation<IFeatureModel> featureModel) {
+        super(
+                featureModel,
+                Computations.of(List.<IFeatureModelElementFilter>of()),
+                Computations.of(Boolean.FALSE),
+                Computations.of(Boolean.FALSE));
+    }
+
+    protected ComputeFeatureModelSlices(ComputeFeatureModelSlices other) {
+        super(other);
+    }
+
+    @Override
+    public Result<List<IFeatureModel>> compute(List<Object> dependencyList, Progress progress) {
+        IFeatureModel featureModel = FEATURE_MODEL.get(dependencyList);
+        List<IFeatureModelElementFilter> filters = FILTERS.get(dependencyList);
+        boolean parallel = PARALLEL.get(dependencyList);
+        boolean treeAware = TREE_AWARE.get(dependencyList);
+
+        LinkedHashMap<Set<String>, Integer> uniqueIndices = new LinkedHashMap<>();
+        int[] filterToUnique = new int[filters.size()];
+        for (int i = 0; i < filters.size(); i++) {
+            Set<String> featureNames = featureModel.getFeatures().stream()
+                    .filter(filters.get(i))
+                    .map(IFeature::getName)
+                    .map(Result::get)
+                    .collect(Collectors.toSet());
+            filterToUnique[i] = uniqueIndices.computeIfAbsent(featureNames, key -> uniqueIndices.size());
+        }
+        List<Set<String>> featureNameSets = new ArrayList<>(uniqueIndices.keySet());
+
+        List<List<Integer>> children = new ArrayList<>(featureNameSets.size());
+        List<Integer> roots = new ArrayList<>();
+        for (int i = 0; i < featureNameSets.size(); i++) {
+            children.add(new ArrayList<>());
+        }
+        for (int i = 0; i < featureNameSets.size(); i++) {
+            Set<String> featureNames = featureNameSets.get(i);
+            int parent = -1;
+            for (int j = 0; j < featureNameSets.size(); j++) {
+                Set<String> otherFeatureNames = featureNameSets.get(j);
+                if (otherFeatureNames.size() > featureNames.size()
+                        && (parent < 0 || otherFeatureNames.size() < featureNameSets.get(parent).size())
+                        && otherFeatureNames.containsAll(featureNames)) {
+                    parent = j;
+                }
+            }
+            (parent < 0 ? roots : children.get(parent)).add(i);
+        }
+
+        progress.setTotalSteps(featureNameSets.size());
+        IFeatureModel[] slices = new IFeatureModel[featureNameSets.size()];
+        IntStream rootStream = roots.stream().mapToInt(Integer::intValue);
+        (parallel ? rootStream.parallel() : rootStream)
+                .forEach(root -> computeSlices(
+                        root, featureModel, featureNameSets, children, slices, parallel, treeAware, progress));
+
+        return Result.of(Arrays.stream(filterToUnique)
+                .mapToObj(i -> slices[i])
+                .collect(Collectors.toList()));
+    }
+
+    private static void computeSlices(
+            int index,
+            IFeatureModel base,
+            List<Set<String>> featureNameSets,
+            List<List<Integer>> children,
+            IFeatureModel[] slices,
+            boolean parallel,
+            boolean treeAware,
+            Progress progress) {
+        IFeatureModel slice = Computations.of(base)
+                .map(ComputeFeatureModelSlice::new)
+                .set(ComputeFeatureModelSlice.INCLUDE_FEATURES, new FeatureNameListFilter(featureNameSets.get(index)))
+                .set(ComputeFeatureModelSlice.TREE_AWARE, treeAware)
+                .set(ComputeFeatureModelSlice.PARALLEL, parallel)
+                .compute();
+        slices[index] = slice;
+        synchronized (progress) {
+            progress.incrementCurrentStep();
+        }
+        IntStream childStream = children.get(index).stream().mapToInt(Integer::intValue);
+        (parallel ? childStream.parallel() : childStream)
+                .forEach(child -> computeSlices(
+                        child, slice, featureNameSets, children, slices, parallel, treeAware, progress));
+    }
+}
@@ -21,10 +21,12 @@
 package de.featjar.feature.model.transformer;
 
 import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Pair;
+import de.featjar.base.data.Problem;
 import de.featjar.base.data.Range;
 import de.featjar.base.data.Result;
 import de.featjar.base.tree.Trees;
@@ -38,6 +40,8 @@ import de.featjar.feature.model.IFeature;
 import de.featjar.feature.model.IFeatureModel;
 import de.featjar.feature.model.IFeatureTree;
 import de.featjar.feature.model.constraints.IAttributeAggregate;
+import de.featjar.feature.model.transformer.FeatureToFormula.FeatureInstance;
+import de.featjar.formula.structure.Expressions;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.IFormula;
 import de.featjar.formula.structure.connective.And;
@@ -51,16 +55,28 @@ import de.featjar.formula.structure.connective.Reference;
 import de.featjar.formula.structure.predicate.ILiteral;
 import de.featjar.formula.structure.predicate.True;
 import de.featjar.formula.structure.term.value.Variable;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Transforms a feature model into a boolean formula. Supports a simple way of
  * transforming cardinality features and a more complicated transformation.
+ * The cardinality constraints of alternative groups and other cardinality groups are translated according to
+ * the {@link GroupEncoding} given by {@link #ALTERNATIVE_ENCODING} and {@link #CARDINALITY_ENCODING}, respectively.
+ * If {@link #PARALLEL} is set, top-level subtrees and cross-tree constraints are translated concurrently in the
+ * common fork/join pool. The result is identical to the sequential translation.
+ * Cross-tree constraints that reference features below cardinality features are expanded for all instances of
+ * these features. By default, the expansion is a disjunction over all combinations of instances. If
+ * {@link #SCOPED_EXPANSION} is set, one constraint per combination is emitted instead, guarded by the instances of
+ * the cardinality features. {@link #EXPANSION_LIMIT} bounds the number of combinations per constraint.
  *
  * @author Klara Surmeier
  * @author Nermine Mansour
@@ -72,13 +88,37 @@ import java.util.stream.Collectors;
  */
 public class ComputeFormula extends AComputation<IFormula> {
     protected static final Dependency<IFeatureModel> FEATURE_MODEL = Dependency.newDependency(IFeatureModel.class);
+    public static final Dependency<GroupEncoding> ALTERNATIVE_ENCODING =
+            Dependency.newDependency(GroupEncoding.class);
+    public static final Dependency<GroupEncoding> CARDINALITY_ENCODING =
+            Dependency.newDependency(GroupEncoding.class);
+    public static final Dependency<Boolean> PARALLEL = Dependency.newDependency(Boolean.class);
+    public static final Dependency<Boolean> SCOPED_EXPANSION = Dependency.newDependency(Boolean.class);
+    public static final Dependency<Integer> EXPANSION_LIMIT = Dependency.newDependency(Integer.class);
+
+    /**
+     * Subtrees with a depth less than this value are translated in separate tasks, if {@link #PARALLEL} is set.
+     */
+    private static final int PARALLEL_DEPTH = 2;
 
     private IFeatureModel featureModel;
     private FeatureToFormula featureToFormula;
     private ArrayList<IFormula> constraints;
+    private GroupEncoding alternativeEncoding;
+    private GroupEncoding cardinalityEncoding;
+    private ArrayList<Variable> auxiliaryVariables;
+    private boolean parallel;
+    private boolean scopedExpansion;
+    private int expansionLimit;
 
     public ComputeFormula(IComputation<IFeatureModel> featureModel) {
-        super(featureModel);
+        super(
+                featureModel,
+                Computations.of(GroupEncoding.PAIRWISE),
+                Computations.of(GroupEncoding.PAIRWISE),
+                Computations.of(Boolean.FALSE),
+                Computations.of(Boolean.FALSE),
+                Computations.of(Integer.MAX_VALUE));
     }
 
     protected ComputeFormula(ComputeFormula other) {
@@ -88,71 +128,132 @@ public class ComputeFormula extends AComputation<IFormula> {
     @Override
     public Result<IFormula> compute(List<Object> dependencyList, Progress progress) {
         featureModel = FEATURE_MODEL.get(dependencyList);
+        alternativeEncoding = ALTERNATIVE_ENCODING.get(dependencyList);
+        cardinalityEncoding = CARDINALITY_ENCODING.get(dependencyList);
+        parallel = PARALLEL.get(dependencyList);
+        scopedExpansion = SCOPED_EXPANSION.get(dependencyList);
+        expansionLimit = EXPANSION_LIMIT.get(dependencyList);
         featureToFormula = new FeatureToFormula();
         constraints = new ArrayList<>();
+        auxiliaryVariables = new ArrayList<>();
 
         featureToFormula.initFeatureNames(featureModel.getFeatures());
 
         createTreeConstraints();
-        createCrossTreeConstraints();
+        Problem problem = createCrossTreeConstraints();
+        if (problem != null) {
+            return Result.empty(problem);
+        }
 
-        return Result.of(new Reference(new And(constraints), featureToFormula.getVariables()));
+        ArrayList<Variable> variables = new ArrayList<>(featureToFormula.getVariables());
+        variables.addAll(auxiliaryVariables);
+        return Result.of(new Reference(new And(constraints), variables));
     }
 
     private void createTreeConstraints() {
-        createTreeChildrenConstraints(featureModel.getPseudoRoot(), null, new ArrayDeque<>());
+        createTreeChildrenConstraints(featureModel.getPseudoRoot(), null, True.INSTANCE, null, 0);
+    }
+
+    /**
+     * {@return a translation with the same settings as this one, but with empty results}
+     * Used to translate a subtree independently, before its results are {@link #merge(ComputeFormula) merged}.
+     */
+    private ComputeFormula newSubtreeTranslation() {
+        ComputeFormula translation = new ComputeFormula(this);
+        translation.featureModel = featureModel;
+        translation.alternativeEncoding = alternativeEncoding;
+        translation.cardinalityEncoding = cardinalityEncoding;
+        translation.parallel = parallel;
+        translation.scopedExpansion = scopedExpansion;
+        translation.expansionLimit = expansionLimit;
+        translation.featureToFormula = featureToFormula.newSubtreeTranslation();
+        translation.constraints = new ArrayList<>();
+        translation.auxiliaryVariables = new ArrayList<>();
+        return translation;
+    }
+
+    private void merge(ComputeFormula translation) {
+        featureToFormula.addAll(translation.featureToFormula);
+        constraints.addAll(translation.constraints);
+        auxiliaryVariables.addAll(translation.auxiliaryVariables);
+    }
+
+    private class SubtreeTask extends RecursiveTask<ComputeFormula> {
+        private static final long serialVersionUID = 1L;
+
+        private final IFeatureTree node;
+        private final ILiteral literal;
+        private final FeatureInstance cardinalityParent;
+        private final int depth;
+
+        private SubtreeTask(IFeatureTree node, ILiteral literal, FeatureInstance cardinalityParent, int depth) {
+            this.node = node;
+            this.literal = literal;
+            this.cardinalityParent = cardinalityParent;
+            this.depth = depth;
+        }
+
+        @Override
+        protected ComputeFormula compute() {
+            ComputeFormula translation = newSubtreeTranslation();
+            translation.createTreeChildrenConstraints(
+                    node, literal.getVariable().getName(), literal, cardinalityParent, depth);
+            return translation;
+        }
     }
 
     /**
      * Recursively traverses a feature tree with cardinality features and adds the
      * tree constraints for every node.
+     * Each instance of a cardinality feature is the cardinality parent of all feature instances below it, so
+     * instances are identified by their feature and path instead of their name.
      *
-     * @param parentNode       from which to start the traversal
-     * @param parentName       name of the parent
-     * @param cardinalityNames name of the parents that are cardinality features
+     * @param parentNode        from which to start the traversal
+     * @param parentName        name of the parent
+     * @param parentLiteral     literal of the parent
+     * @param cardinalityParent the instance of the closest cardinality feature above the children, or {@code null}
+     * @param depth             the depth of the parent
      */
     private void createTreeChildrenConstraints(
-            IFeatureTree parentNode, String parentName, ArrayDeque<String> cardinalityNames) {
-        IFormula parentLiteral = parentName == null ? True.INSTANCE : featureToFormula.getFeatureFormula(parentName);
-
-        String cardinalityPrefix =
-                cardinalityNames.isEmpty() ? null : cardinalityNames.stream().collect(Collectors.joining("."));
-
-        for (IFeatureTree child : parentNode.getChildren()) {
+            IFeatureTree parentNode,
+            String parentName,
+            IFormula parentLiteral,
+            FeatureInstance cardinalityParent,
+            int depth) {
+        List<? extends IFeatureTree> children = parentNode.getChildren();
+        IdentityHashMap<IFeatureTree, ILiteral[]> childLiterals = new IdentityHashMap<>(children.size());
+        IdentityHashMap<IFeatureTree, FeatureInstance[]> childInstances = new IdentityHashMap<>();
+
+        for (IFeatureTree child : children) {
             int upperBound = child.getFeatureCardinalityUpperBound();
             int lowerBound = child.getFeatureCardinalityLowerBound();
             IFeature feature = child.getFeature();
-            String featureName = getFeatureName(child);
 
             if (upperBound > 1) {
-                IFormula previousLiteral = null;
-
-                for (int i = 1; i <= upperBound; i++) {
-                    String featureNameInstance = getFeatureName(featureName, cardinalityPrefix, i);
-
-                    IFormula currentLiteral = featureToFormula.createFeatureFormula(feature, featureNameInstance);
-                    if (parentLiteral != True.INSTANCE && i == 1) {
-                        constraints.add(new Implies(currentLiteral, parentLiteral));
+                ILiteral[] literals = new ILiteral[upperBound];
+                FeatureInstance[] instances = new FeatureInstance[upperBound];
+                for (int i = 0; i < upperBound; i++) {
+                    instances[i] = featureToFormula.newFeatureInstance(feature, i + 1, cardinalityParent);
+                    literals[i] = featureToFormula.createFeatureFormula(feature, instances[i]);
+                    if (i > 0) {
+                        constraints.add(new Implies(literals[i], literals[i - 1]));
+                    } else if (parentLiteral != True.INSTANCE) {
+                        constraints.add(new Implies(literals[i], parentLiteral));
                     }
-                    if (previousLiteral != null) {
-                        constraints.add(new Implies(currentLiteral, previousLiteral));
-                    }
-                    previousLiteral = currentLiteral;
                 }
 
-                for (int i = 1; i <= lowerBound; i++) {
-                    IFormula featureNameInstance =
-                            featureToFormula.getFeatureFormula(getFeatureName(featureName, cardinalityPrefix, i));
+                for (int i = 0; i < lowerBound; i++) {
                     if (parentLiteral == True.INSTANCE) {
-                        constraints.add(featureNameInstance);
+                        constraints.add(literals[i]);
                     } else {
-                        constraints.add(new Implies(parentLiteral, featureNameInstance));
+                        constraints.add(new Implies(parentLiteral, literals[i]));
                     }
                 }
+                childLiterals.put(child, literals);
+                childInstances.put(child, instances);
             } else {
-                String featureNameInstance = getFeatureName(featureName, cardinalityPrefix, 0);
-
-                IFormula currentLiteral = featureToFormula.createFeatureFormula(feature, featureNameInstance);
+                ILiteral currentLiteral = featureToFormula.createFeatureFormula(
+                        feature, featureToFormula.newFeatureInstance(feature, 0, cardinalityParent));
                 if (parentLiteral != True.INSTANCE) {
                     constraints.add(new Implies(currentLiteral, parentLiteral));
                 }
@@ -163,86 +264,116 @@ public class ComputeFormula extends AComputation<IFormula> {
                         constraints.add(new Implies(parentLiteral, currentLiteral));
                     }
                 }
+                childLiterals.put(child, new ILiteral[] {currentLiteral});
             }
         }
 
-        handleGroups(parentLiteral, parentNode, cardinalityPrefix);
-
-        for (IFeatureTree child : parentNode.getChildren()) {
-            int upperBound = child.getFeatureCardinalityUpperBound();
-            String featureName = getFeatureName(child);
+        handleGroups(parentLiteral, parentName, parentNode, childLiterals);
 
-            if (upperBound > 1) {
-                for (int i = 1; i <= upperBound; i++) {
-                    String featureNameInstance = getFeatureName(featureName, cardinalityPrefix, i);
-                    cardinalityNames.addFirst(getFeatureName(featureName, null, i));
-                    createTreeChildrenConstraints(child, featureNameInstance, cardinalityNames);
-                    cardinalityNames.removeFirst();
+        if (parallel && depth < PARALLEL_DEPTH && children.size() > 1) {
+            ArrayList<SubtreeTask> tasks = new ArrayList<>();
+            for (IFeatureTree child : children) {
+                ILiteral[] literals = childLiterals.get(child);
+                FeatureInstance[] instances = childInstances.get(child);
+                for (int i = 0; i < literals.length; i++) {
+                    tasks.add(new SubtreeTask(
+                            child, literals[i], instances != null ? instances[i] : cardinalityParent, depth + 1));
                 }
-            } else {
-                String featureNameInstance = getFeatureName(featureName, cardinalityPrefix, 0);
-                createTreeChildrenConstraints(child, featureNameInstance, cardinalityNames);
             }
+            for (SubtreeTask task : ForkJoinTask.invokeAll(tasks)) {
+                merge(task.join());
+            }
+            return;
         }
-    }
 
-    private String getFeatureName(String featureName, String cardinalitySufix, int instanceIndex) {
-        return featureName
-                + ((instanceIndex > 0) ? "_" + instanceIndex : "")
-                + ((cardinalitySufix != null) ? "." + cardinalitySufix : "");
+        for (IFeatureTree child : children) {
+            ILiteral[] literals = childLiterals.get(child);
+            FeatureInstance[] instances = childInstances.get(child);
+            for (int i = 0; i < literals.length; i++) {
+                createTreeChildrenConstraints(
+                        child,
+                        literals[i].getVariable().getName(),
+                        literals[i],
+                        instances != null ? instances[i] : cardinalityParent,
+                        depth + 1);
+            }
+        }
     }
 
     /**
      * Adds group constraints (or, alternative, cardinality) for a given node.
      *
      * @param parentLiteral literal name of the node
+     * @param parentName    name of the node, used to name auxiliary variables
      * @param parentNode
-     * @param prefix        the name prefix for feature underneath a cardinality
-     *                      feature
+     * @param childLiterals the literals of all instances of each child
      */
-    private void handleGroups(IFormula parentLiteral, IFeatureTree parentNode, String prefix) {
+    private void handleGroups(
+            IFormula parentLiteral,
+            String parentName,
+            IFeatureTree parentNode,
+            IdentityHashMap<IFeatureTree, ILiteral[]> childLiterals) {
+        int groupIndex = 0;
         for (Pair<Group, List<IFeatureTree>> featureGroup : parentNode.getGroupedChildren()) {
             Group group = featureGroup.getKey();
+            groupIndex++;
             if (group != null && !group.isAnd()) {
                 ArrayList<IFormula> groupLiterals =
                         new ArrayList<>(featureGroup.getValue().size());
                 for (IFeatureTree childNode : featureGroup.getValue()) {
-                    String featureName = getFeatureName(childNode);
-                    int upperBound = childNode.getFeatureCardinalityUpperBound();
-                    if (upperBound > 1) {
-                        for (int i = 1; i <= upperBound; i++) {
-                            groupLiterals.add(
-                                    featureToFormula.getFeatureFormula(getFeatureName(featureName, prefix, i)));
-                        }
-                    } else {
-                        groupLiterals.add(featureToFormula.getFeatureFormula(getFeatureName(featureName, prefix, 0)));
-                    }
+                    groupLiterals.addAll(Arrays.asList(childLiterals.get(childNode)));
                 }
 
+                GroupEncoding encoding = group.isAlternative() ? alternativeEncoding : cardinalityEncoding;
                 if (group.isOr()) {
                     constraints.add(new Implies(parentLiteral, new Or(groupLiterals)));
-                } else if (group.isAlternative()) {
-                    constraints.add(new Implies(parentLiteral, new Choose(1, groupLiterals)));
+                } else if (encoding != GroupEncoding.PAIRWISE) {
+                    String auxiliaryPrefix = "__" + (parentName == null ? "" : parentName) + "#" + groupIndex;
+                    new CardinalityEncoder(auxiliaryPrefix, constraints, auxiliaryVariables)
+                            .encode(
+                                    encoding,
+                                    parentLiteral,
+                                    groupLiterals,
+                                    group.getLowerBound(),
+                                    group.getUpperBound());
                 } else {
-                    int lowerBound = group.getLowerBound();
-                    int upperBound = group.getUpperBound();
-                    if (lowerBound > 0) {
-                        if (upperBound != Range.OPEN) {
-                            constraints.add(
-                                    new Implies(parentLiteral, new Between(lowerBound, upperBound, groupLiterals)));
-                        } else {
-                            constraints.add(new Implies(parentLiteral, new AtLeast(lowerBound, groupLiterals)));
-                        }
-                    } else {
-                        if (upperBound != Range.OPEN) {
-                            constraints.add(new Implies(parentLiteral, new AtMost(upperBound, groupLiterals)));
-                        }
+                    IFormula groupFormula = createPairwiseGroupConstraint(parentLiteral, group, groupLiterals);
+                    if (groupFormula != null) {
+                        constraints.add(groupFormula);
                     }
                 }
             }
         }
     }
 
+    /**
+     * {@return the constraint of an alternative or cardinality group with the {@link GroupEncoding#PAIRWISE pairwise}
+     * encoding, or {@code null} if the group does not constrain its children}
+     *
+     * @param parentLiteral the literal of the parent
+     * @param group         the group
+     * @param groupLiterals the literals of the children in the group
+     */
+    static IFormula createPairwiseGroupConstraint(IFormula parentLiteral, Group group, List<IFormula> groupLiterals) {
+        if (group.isAlternative()) {
+            return new Implies(parentLiteral, new Choose(1, groupLiterals));
+        }
+        int lowerBound = group.getLowerBound();
+        int upperBound = group.getUpperBound();
+        if (lowerBound > 0) {
+            if (upperBound != Range.OPEN) {
+                return new Implies(parentLiteral, new Between(lowerBound, upperBound, groupLiterals));
+            } else {
+                return new Implies(parentLiteral, new AtLeast(lowerBound, groupLiterals));
+            }
+        } else {
+            if (upperBound != Range.OPEN) {
+                return new Implies(parentLiteral, new AtMost(upperBound, groupLiterals));
+            }
+        }
+        return null;
+    }
+
     private String getFeatureName(IFeatureTree node) {
         return node.getFeature().getName().orElse("???");
     }
@@ -256,6 +387,7 @@ public class ComputeFormula extends AComputation<IFormula> {
         private HashMap<String, List<String>> cardinalityMap;
         private ArrayList<IFormula> expandedFormulas;
         private ArrayList<List<ILiteral>> conditionList;
+        private Consumer<IFormula> scopedOutput;
 
         private CardinalityExpander(
                 IFormula formula,
@@ -283,33 +415,49 @@ public class ComputeFormula extends AComputation<IFormula> {
             return new Pair<>(conditionList, expandedFormulas);
         }
 
+        /**
+         * Passes one constraint per combination of instances to the given consumer, instead of collecting all
+         * combinations. Each constraint is guarded by the instances of the combination.
+         *
+         * @param output the consumer for the guarded constraints
+         */
+        public void expandScoped(Consumer<IFormula> output) {
+            scopedOutput = output;
+            combineRecursive(0);
+        }
+
         private void combineRecursive(int depth) {
             if (cardinalityParentNames.size() <= depth) {
                 IFormula clonedFormula = Trees.clone(formula);
                 Trees.traverse(
                         clonedFormula,
                         new TreeNodeReplacer<>(n -> (n instanceof Variable) ? variableRemap.get(n) : null));
-                conditionList.add(new ArrayList<>(cardinalityParents));
-                expandedFormulas.add(clonedFormula);
+                if (scopedOutput != null) {
+                    IFormula guard = cardinalityParents.size() == 1
+                            ? cardinalityParents.get(0)
+                            : new And(new ArrayList<IFormula>(cardinalityParents));
+                    scopedOutput.accept(new Implies(guard, clonedFormula));
+                } else {
+                    conditionList.add(new ArrayList<>(cardinalityParents));
+                    expandedFormulas.add(clonedFormula);
+                }
                 return;
             }
 
             String cardinalityParentName = cardinalityParentNames.get(depth);
 
             List<String> cardinalityFeatureNames = cardinalityMap.get(cardinalityParentName);
-            List<String> parentNames = featureToFormula.getNamesPerFeature(cardinalityParentName);
+            List<ILiteral> parentFormulas = featureToFormula.getFormulasPerFeature(cardinalityParentName);
 
-            for (int i = 0; i < parentNames.size(); i++) {
-                cardinalityParents.set(depth, featureToFormula.getFeatureFormula(parentNames.get(i)));
+            for (int i = 0; i < parentFormulas.size(); i++) {
+                cardinalityParents.set(depth, parentFormulas.get(i));
 
                 for (String cardinalityFeatureName : cardinalityFeatureNames) {
-                    String featureName = featureToFormula
-                            .getNamesPerFeature(cardinalityFeatureName)
-                            .get(i);
-
                     Variable orgVariable = variableNames.get(cardinalityFeatureName);
-                    Variable newVariable =
-                            featureToFormula.getFeatureFormula(featureName).getVariable();
+                    Variable newVariable = featureToFormula
+                            .getFormulasPerFeature(cardinalityFeatureName)
+                            .get(i)
+                            .getVariable();
                     variableRemap.put(orgVariable, newVariable);
                 }
                 combineRecursive(depth + 1);
@@ -317,36 +465,86 @@ public class ComputeFormula extends AComputation<IFormula> {
         }
     }
 
-    private void createCrossTreeConstraints() {
-        for (IConstraint constraint : featureModel.getConstraints()) {
-            HashMap<String, List<String>> cardinalityMap = new HashMap<>();
-            HashMap<String, Variable> variables = new HashMap<>();
-            IFormula formula = constraint.getFormula();
-            formula.getVariableStream().distinct().forEach(v -> {
-                String name = v.getName();
-                variables.put(name, v);
-                featureModel
-                        .getFeatureTreeNodeStream(name)
-                        .flatMap(IFeatureTree::pathToRoot)
-                        .filter(IFeatureTree::isMultiple)
-                        .findFirst()
-                        .map(this::getFeatureName)
-                        .ifPresent(firstCardinalityParentName -> cardinalityMap
-                                .computeIfAbsent(firstCardinalityParentName, k -> new ArrayList<>())
-                                .add(name));
-            });
-
-            IFormula clonedFormula = Trees.clone(formula);
-            Trees.traverse(clonedFormula, new PostOrderVisitor<>(this::translateAggregates));
-
-            if (cardinalityMap.isEmpty()) {
-                constraints.add(clonedFormula);
-            } else {
-                Pair<ArrayList<List<ILiteral>>, ArrayList<IFormula>> expandedFormulas =
-                        new CardinalityExpander(clonedFormula, variables, cardinalityMap).expand();
-                constraints.add(new Or(expandedFormulas.getSecond()));
+    private Problem createCrossTreeConstraints() {
+        if (parallel) {
+            List<Pair<Problem, List<IFormula>>> results = new ArrayList<>(featureModel.getConstraints())
+                    .parallelStream()
+                    .map(constraint -> {
+                        ArrayList<IFormula> formulas = new ArrayList<>();
+                        return new Pair<Problem, List<IFormula>>(
+                                translateCrossTreeConstraint(constraint, formulas::add), formulas);
+                    })
+                    .collect(Collectors.toList());
+            for (Pair<Problem, List<IFormula>> result : results) {
+                if (result.getKey() != null) {
+                    return result.getKey();
+                }
+                constraints.addAll(result.getValue());
+            }
+        } else {
+            for (IConstraint constraint : featureModel.getConstraints()) {
+                Problem problem = translateCrossTreeConstraint(constraint, constraints::add);
+                if (problem != null) {
+                    return problem;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Translates a cross-tree constraint and passes the resulting formulas to the given consumer.
+     *
+     * @param constraint the constraint
+     * @param output     the consumer for the resulting formulas
+     * @return a problem, if the expansion of the constraint exceeds {@link #EXPANSION_LIMIT}, {@code null} otherwise
+     */
+    private Problem translateCrossTreeConstraint(IConstraint constraint, Consumer<IFormula> output) {
+        HashMap<String, List<String>> cardinalityMap = new HashMap<>();
+        HashMap<String, Variable> variables = new HashMap<>();
+        IFormula formula = constraint.getFormula();
+        formula.getVariableStream().distinct().forEach(v -> {
+            String name = v.getName();
+            variables.put(name, v);
+            featureModel
+                    .getFeatureTreeNodeStream(name)
+                    .flatMap(IFeatureTree::pathToRoot)
+                    .filter(IFeatureTree::isMultiple)
+                    .findFirst()
+                    .map(this::getFeatureName)
+                    .ifPresent(firstCardinalityParentName -> cardinalityMap
+                            .computeIfAbsent(firstCardinalityParentName, k -> new ArrayList<>())
+                            .add(name));
+        });
+
+        IFormula clonedFormula = Trees.clone(formula);
+        Trees.traverse(clonedFormula, new PostOrderVisitor<>(this::translateAggregates));
+
+        if (cardinalityMap.isEmpty()) {
+            output.accept(clonedFormula);
+            return null;
+        }
+
+        long combinations = 1;
+        for (String cardinalityParentName : cardinalityMap.keySet()) {
+            combinations *= featureToFormula
+                    .getFormulasPerFeature(cardinalityParentName)
+                    .size();
+            if (combinations > expansionLimit) {
+                return new Problem(String.format(
+                        "Expansion of constraint %s exceeds the limit of %d instances",
+                        constraint.getName().orElse(Expressions.print(formula)),
+                        expansionLimit));
             }
         }
+
+        CardinalityExpander expander = new CardinalityExpander(clonedFormula, variables, cardinalityMap);
+        if (scopedExpansion) {
+            expander.expandScoped(output);
+        } else {
+            output.accept(new Or(expander.expand().getSecond()));
+        }
+        return null;
     }
 
     private TraversalAction translateAggregates(List<IFormula> path) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.transformer;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.feature.model.FeatureModel;
+import de.featjar.feature.model.IFeatureModel;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes the translation of a feature model into a formula, a CNF, and a clause list.
+ * For a {@link FeatureModel}, each result is computed at most once per {@link FeatureModel#getVersion() version}
+ * of the model. For other models, the results are computed on every call.
+ * All results are shared between callers and must not be modified.
+ *
+ * @author Sebastian Krieter
+ */
+public final class FeatureModelFormulas {
+
+    private enum Key {
+        FORMULA,
+        CNF,
+        CLAUSES
+    }
+
+    private FeatureModelFormulas() {}
+
+    /**
+     * {@return the formula of the given model, as computed by {@link ComputeFormula}}
+     *
+     * @param featureModel the feature model
+     */
+    public static IFormula getFormula(IFeatureModel featureModel) {
+        return memoize(featureModel, Key.FORMULA, () -> Computations.of(featureModel)
+                .map(ComputeFormula::new)
+                .compute());
+    }
+
+    /**
+     * {@return the strict CNF of the given model}
+     *
+     * @param featureModel the feature model
+     */
+    public static IFormula getCNF(IFeatureModel featureModel) {
+        return memoize(featureModel, Key.CNF, () -> Computations.of(featureModel)
+                .map(ComputeFormula::new)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .set(ComputeCNFFormula.IS_STRICT, true)
+                .compute());
+    }
+
+    /**
+     * {@return the clause list of the CNF of the given model, as computed by {@link ComputeFeatureModelClauses}}
+     *
+     * @param featureModel the feature model
+     */
+    public static BooleanAssignmentList getClauseList(IFeatureModel featureModel) {
+        return memoize(featureModel, Key.CLAUSES, () -> Computations.of(featureModel)
+                .map(ComputeFeatureModelClauses::new)
+                .compute());
+    }
+
+    private static <T> T memoize(IFeatureModel featureModel, Key key, Supplier<T> supplier) {
+        return featureModel instanceof FeatureModel
+                ? ((FeatureModel) featureModel).memoize(key, supplier)
+                : supplier.get();
+    }
+}
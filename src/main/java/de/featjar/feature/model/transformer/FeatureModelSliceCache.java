@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.transformer;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.base.data.Result;
+import de.featjar.feature.model.FeatureModel;
+import de.featjar.feature.model.FeatureNameListFilter;
+import de.featjar.feature.model.IFeature;
+import de.featjar.feature.model.IFeatureModel;
+import de.featjar.feature.model.IFeatureModelElement;
+import de.featjar.feature.model.IFeatureModelElementFilter;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Caches slices of feature models, as computed by {@link ComputeFeatureModelSlice}.
+ * A slice is identified by the identity and {@link FeatureModel#getVersion() version} of the sliced model and the
+ * names of the features kept by the filter, so two filters that keep the same features share a slice.
+ * If no slice for a filter is cached, the smallest cached slice of the same model that keeps a superset of the
+ * features is sliced further, which is equivalent to slicing the original model.
+ * The cache holds a bounded number of slices and evicts the least recently used one.
+ * Sliced models are only weakly referenced, and slices of older versions of a model are removed as soon as a slice
+ * of a newer version is requested.
+ * Concurrent requests for the same slice wait for a single computation.
+ * Only instances of {@link FeatureModel} are cached; other models are sliced on every call.
+ * All returned slices are shared between callers and must not be modified.
+ *
+ * @author Sebastian Krieter
+ */
+public class FeatureModelSliceCache {
+
+    private static final class Key {
+        private final WeakReference<FeatureModel> featureModel;
+        private final long version;
+        private final Set<String> featureNames;
+        private final int hashCode;
+
+        private Key(FeatureModel featureModel, long version, Set<String> featureNames) {
+            this.featureModel = new WeakReference<>(featureModel);
+            this.version = version;
+            this.featureNames = featureNames;
+            hashCode = Objects.hash(System.identityHashCode(featureModel), version, featureNames);
+        }
+
+        private boolean isSameModel(Key other) {
+            FeatureModel model = featureModel.get();
+            return model != null && model == other.featureModel.get();
+        }
+
+        private boolean isSupersetOf(Key other) {
+            return version == other.version
+                    && isSameModel(other)
+                    && featureNames.size() >= other.featureNames.size()
+                    && featureNames.containsAll(other.featureNames);
+        }
+
+        /**
+         * {@return whether the slice of this key can no longer be requested, because its model was garbage collected
+         * or a slice of a newer version of its model was requested}
+         *
+         * @param newKey the key of the requested slice
+         */
+        private boolean isStale(Key newKey) {
+            return featureModel.get() == null || (version < newKey.version && isSameModel(newKey));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key other = (Key) o;
+            return version == other.version && isSameModel(other) && featureNames.equals(other.featureNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private final int capacity;
+    private final boolean treeAware;
+    private final boolean parallel;
+    private final LinkedHashMap<Key, CompletableFuture<IFeatureModel>> slices;
+
+    /**
+     * Creates a new cache with the default options of {@link ComputeFeatureModelSlice}.
+     *
+     * @param capacity the maximum number of cached slices
+     */
+    public FeatureModelSliceCache(int capacity) {
+        this(capacity, false, false);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param capacity the maximum number of cached slices
+     * @param treeAware whether to slice with {@link ComputeFeatureModelSlice#TREE_AWARE}
+     * @param parallel whether to slice with {@link ComputeFeatureModelSlice#PARALLEL}
+     */
+    public FeatureModelSliceCache(int capacity, boolean treeAware, boolean parallel) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.treeAware = treeAware;
+        this.parallel = parallel;
+        slices = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<IFeatureModel>> eldest) {
+                return size() > FeatureModelSliceCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * {@return the slice of the given model that keeps all features included and not excluded by the given filters}
+     *
+     * @param featureModel the feature model
+     * @param include the filter for features to keep
+     * @param exclude the filter for features to remove
+     */
+    public IFeatureModel getSlice(
+            IFeatureModel featureModel, IFeatureModelElementFilter include, IFeatureModelElementFilter exclude) {
+        return getSlice(featureModel, include.and(exclude.negate()));
+    }
+
+    /**
+     * {@return the slice of the given model that keeps all features accepted by the given filter}
+     *
+     * @param featureModel the feature model
+     * @param featureFilter the filter for features to keep
+     */
+    public IFeatureModel getSlice(IFeatureModel featureModel, Predicate<IFeatureModelElement> featureFilter) {
+        Set<String> featureNames = featureModel.getFeatures().stream()
+                .filter(featureFilter)
+                .map(IFeature::getName)
+                .map(Result::get)
+                .collect(Collectors.toSet());
+        if (!(featureModel instanceof FeatureModel)) {
+            return slice(featureModel, featureNames);
+        }
+        Key key = new Key((FeatureModel) featureModel, ((FeatureModel) featureModel).getVersion(), featureNames);
+
+        IFeatureModel base = featureModel;
+        CompletableFuture<IFeatureModel> future;
+        CompletableFuture<IFeatureModel> newFuture = new CompletableFuture<>();
+        synchronized (slices) {
+            future = slices.get(key);
+            if (future == null) {
+                slices.keySet().removeIf(cachedKey -> cachedKey.isStale(key));
+                Key closestKey = null;
+                for (Map.Entry<Key, CompletableFuture<IFeatureModel>> entry : slices.entrySet()) {
+                    Key cachedKey = entry.getKey();
+                    if (isSliced(entry.getValue())
+                            && cachedKey.isSupersetOf(key)
+                            && (closestKey == null
+                                    || cachedKey.featureNames.size() < closestKey.featureNames.size())) {
+                        closestKey = cachedKey;
+                    }
+                }
+                if (closestKey != null) {
+                    base = slices.get(closestKey).join();
+                }
+                slices.put(key, newFuture);
+            }
+        }
+        if (future != null) {
+            return join(future);
+        }
+
+        try {
+            IFeatureModel slice = slice(base, featureNames);
+            newFuture.complete(slice);
+            return slice;
+        } catch (RuntimeException | Error e) {
+            synchronized (slices) {
+                slices.remove(key, newFuture);
+            }
+            newFuture.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static boolean isSliced(CompletableFuture<IFeatureModel> future) {
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    private static IFeatureModel join(CompletableFuture<IFeatureModel> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Removes all cached slices.
+     */
+    public void clear() {
+        synchronized (slices) {
+            slices.clear();
+        }
+    }
+
+    /**
+     * {@return the number of cached slices}
+     */
+    public int size() {
+        synchronized (slices) {
+            return slices.size();
+        }
+    }
+
+    private IFeatureModel slice(IFeatureModel featureModel, Set<String> featureNames) {
+        return Computations.of(featureModel)
+                .map(ComputeFeatureModelSlice::new)
+                .set(ComputeFeatureModelSlice.INCLUDE_FEATURES, new FeatureNameListFilter(featureNames))
+                .set(ComputeFeatureModelSlice.TREE_AWARE, treeAware)
+                .set(ComputeFeatureModelSlice.PARALLEL, parallel)
+                .compute();
+    }
+}
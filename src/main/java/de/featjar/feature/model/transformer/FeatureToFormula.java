@@ -21,19 +21,20 @@
 package de.featjar.feature.model.transformer;
 
 import de.featjar.feature.model.IFeature;
-import de.featjar.formula.structure.IFormula;
 import de.featjar.formula.structure.predicate.ILiteral;
 import de.featjar.formula.structure.predicate.Literal;
 import de.featjar.formula.structure.predicate.NonBooleanLiteral;
 import de.featjar.formula.structure.predicate.NotEquals;
 import de.featjar.formula.structure.term.value.Variable;
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Defines useful methods to wrap a bool or numeric feature into a IFormula:
@@ -42,52 +43,335 @@ import java.util.Map;
  *      float: {@link NotEquals 0}
  *
  * Numeric features are therefore selected, if there value is not 0.
+ * Each formula belongs to a {@link FeatureInstance}, which identifies an instance of a feature by the
+ * {@link IFeature#getOrdinal() ordinal} of the feature and its path of cardinality instances.
+ * Lookups by variable name are served by an index that is only built on first use.
  *
  * @author Jonas Hanke
  * @author Sebastian Krieter
  */
 public class FeatureToFormula {
 
-    private final Map<String, ILiteral> nameToLiteral = new LinkedHashMap<>();
-    private final Map<String, List<String>> featureNameToNames = new LinkedHashMap<>();
+    /**
+     * Identifies an instance of a feature by the ordinal of the feature, the index of the instance, and the instance
+     * of the closest cardinality feature above it.
+     */
+    public static final class FeatureInstance {
+        private final IFeature feature;
+        private final int ordinal;
+        private final int index;
+        private final FeatureInstance cardinalityParent;
+        private final int hashCode;
+        private String name;
+
+        private FeatureInstance(IFeature feature, int index, FeatureInstance cardinalityParent) {
+            this.feature = feature;
+            ordinal = feature.getOrdinal();
+            if (ordinal < 0) {
+                throw new IllegalArgumentException(
+                        String.format("Feature %s has no ordinal.", feature.getName().orElse("???")));
+            }
+            this.index = index;
+            this.cardinalityParent = cardinalityParent;
+            hashCode = 31 * (31 * ordinal + index) + Objects.hashCode(cardinalityParent);
+        }
+
+        /**
+         * {@return the ordinal of the feature}
+         */
+        public int getOrdinal() {
+            return ordinal;
+        }
+
+        /**
+         * {@return the index of this instance, starting at 1, or 0 if the feature is no cardinality feature}
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * {@return the instance of the closest cardinality feature above this instance, or {@code null}}
+         */
+        public FeatureInstance getCardinalityParent() {
+            return cardinalityParent;
+        }
+
+        /**
+         * {@return the name of the variable of this instance}
+         * The name consists of the feature name, the index of the instance, if greater than 0, and the name of the
+         * cardinality parent, if any (e.g., {@code A_2.B_1}).
+         * It is built on first use from the name of the cardinality parent, which is only built once as well.
+         */
+        public String getName() {
+            String name = this.name;
+            if (name == null) {
+                String featureName = feature.getName().orElse("???");
+                name = index > 0 ? featureName + "_" + index : featureName;
+                if (cardinalityParent != null) {
+                    name = name + "." + cardinalityParent.getName();
+                }
+                this.name = name;
+            }
+            return name;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            FeatureInstance other = (FeatureInstance) obj;
+            return hashCode == other.hashCode
+                    && ordinal == other.ordinal
+                    && index == other.index
+                    && Objects.equals(cardinalityParent, other.cardinalityParent);
+        }
+    }
+
+    private final HashMap<FeatureInstance, ILiteral> instanceToLiteral = new HashMap<>();
+    private final ArrayList<IFeature> featuresPerOrdinal = new ArrayList<>();
+    private final ArrayList<ArrayList<ILiteral>> formulasPerOrdinal = new ArrayList<>();
+    private final ArrayList<List<ILiteral>> formulaViews = new ArrayList<>();
+    private final ArrayList<List<String>> nameViews = new ArrayList<>();
     private final LinkedHashSet<Variable> variables = new LinkedHashSet<>();
 
-    public ILiteral getFeatureFormula(String featureName) {
-        return nameToLiteral.get(featureName);
+    /**
+     * Maps feature names to ordinals, or {@code null} if it was not built yet.
+     */
+    private volatile HashMap<String, Integer> ordinalsByFeatureName;
+
+    /**
+     * Maps variable names to formulas, or {@code null} if it was not built yet.
+     */
+    private volatile HashMap<String, ILiteral> formulasByName;
+
+    /**
+     * {@return an empty instance to translate a subtree independently, before its formulas are
+     * {@link #addAll(FeatureToFormula) added} to this instance}
+     */
+    FeatureToFormula newSubtreeTranslation() {
+        return new FeatureToFormula();
+    }
+
+    /**
+     * {@return the formula with the given variable name, or {@code null} if it was not created}
+     * The name is either a feature name or the name of an instance (e.g., {@code A_2.B_1}).
+     *
+     * @param name the name of the variable
+     */
+    public ILiteral getFeatureFormula(String name) {
+        return getFormulasByName().get(name);
     }
 
+    /**
+     * {@return the formula of the given feature instance, or {@code null} if it was not created}
+     *
+     * @param instance the feature instance
+     */
+    public ILiteral getFeatureFormula(FeatureInstance instance) {
+        return instanceToLiteral.get(instance);
+    }
+
+    /**
+     * {@return the variable names of all instances of the given feature, in the order of their creation}
+     *
+     * @param featureName the name of the feature
+     */
     public List<String> getNamesPerFeature(String featureName) {
-        List<String> names = featureNameToNames.get(featureName);
-        return names == null ? List.of(featureName) : Collections.unmodifiableList(names);
+        Integer ordinal = getOrdinalsByFeatureName().get(featureName);
+        return ordinal == null ? List.of(featureName) : getViews(ordinal, nameViews);
+    }
+
+    /**
+     * {@return the variable names of all instances of the given feature, in the order of their creation}
+     *
+     * @param feature the feature
+     */
+    public List<String> getNamesPerFeature(IFeature feature) {
+        int ordinal = feature.getOrdinal();
+        if (ordinal < 0) {
+            return getNamesPerFeature(feature.getName().orElse("???"));
+        }
+        if (ordinal < featuresPerOrdinal.size() && featuresPerOrdinal.get(ordinal) != null) {
+            return nameViews.get(ordinal);
+        }
+        return List.of(feature.getName().orElse("???"));
+    }
+
+    /**
+     * {@return the formulas of all instances of the given feature, in the order of their creation}
+     * The i-th formula belongs to the i-th instance of the feature.
+     *
+     * @param featureName the name of the feature
+     */
+    public List<ILiteral> getFormulasPerFeature(String featureName) {
+        Integer ordinal = getOrdinalsByFeatureName().get(featureName);
+        return ordinal == null ? List.of() : getViews(ordinal, formulaViews);
+    }
+
+    /**
+     * {@return the formulas of all instances of the given feature, in the order of their creation}
+     * The i-th formula belongs to the i-th instance of the feature.
+     *
+     * @param feature the feature
+     */
+    public List<ILiteral> getFormulasPerFeature(IFeature feature) {
+        int ordinal = feature.getOrdinal();
+        return ordinal < 0 ? getFormulasPerFeature(feature.getName().orElse("???")) : getViews(ordinal, formulaViews);
+    }
+
+    /**
+     * {@return a new instance of the given feature, without creating its formula}
+     *
+     * @param feature           the feature, which must have an {@link IFeature#getOrdinal() ordinal}
+     * @param index             the index of the instance, starting at 1, or 0 if the feature is no cardinality feature
+     * @param cardinalityParent the instance of the closest cardinality feature above the feature, or {@code null}
+     */
+    public FeatureInstance newFeatureInstance(IFeature feature, int index, FeatureInstance cardinalityParent) {
+        return new FeatureInstance(feature, index, cardinalityParent);
+    }
+
+    public ILiteral createFeatureFormula(IFeature feature) {
+        return createFeatureFormula(feature, newFeatureInstance(feature, 0, null));
     }
 
-    public IFormula createFeatureFormula(IFeature feature) {
-        return createFeatureFormula(feature, feature.getName().orElse("???"));
+    public ILiteral createFeatureFormula(IFeature feature, FeatureInstance instance) {
+        if (instanceToLiteral.containsKey(instance)) {
+            throw new IllegalAccessError(String.format("Formula for feature %s already exists.", instance.getName()));
+        }
+        ILiteral formula = createLiteral(feature, instance.getName());
+        instanceToLiteral.put(instance, formula);
+        register(feature, formula);
+        return formula;
     }
 
-    public IFormula createFeatureFormula(IFeature feature, String featureName) {
-        if (nameToLiteral.containsKey(featureName)) {
+    /**
+     * {@return a new formula for the given feature with the given variable name}
+     * In contrast to {@link #createFeatureFormula(IFeature, FeatureInstance)}, the formula is identified by its name
+     * only and cannot be retrieved by {@link #getFeatureFormula(FeatureInstance)}.
+     *
+     * @param feature     the feature
+     * @param featureName the name of the variable
+     */
+    public ILiteral createFeatureFormula(IFeature feature, String featureName) {
+        if (getFormulasByName().containsKey(featureName)) {
             throw new IllegalAccessError(String.format("Formula for feature %s already exists.", featureName));
         }
-        ILiteral formula = newFeatureFormula(feature, featureName);
-        nameToLiteral.put(featureName, formula);
-        featureNameToNames
-                .computeIfAbsent(feature.getName().orElse("???"), k -> new LinkedList<>())
-                .add(featureName);
+        ILiteral formula = createLiteral(feature, featureName);
+        register(feature, formula);
         return formula;
     }
 
     public void initFeatureNames(Collection<IFeature> features) {
         for (IFeature feature : features) {
-            featureNameToNames.computeIfAbsent(feature.getName().orElse("???"), k -> new LinkedList<>());
+            getFormulas(feature);
+        }
+    }
+
+    /**
+     * {@return the name of the variable of the given instance}
+     *
+     * @param instance the feature instance
+     * @see FeatureInstance#getName()
+     */
+    public String getName(FeatureInstance instance) {
+        return instance.getName();
+    }
+
+    private void register(IFeature feature, ILiteral formula) {
+        variables.add(formula.getVariable());
+        getFormulas(feature).add(formula);
+        if (formulasByName != null) {
+            formulasByName.put(formula.getVariable().getName(), formula);
+        }
+    }
+
+    private ArrayList<ILiteral> getFormulas(IFeature feature) {
+        int ordinal = feature.getOrdinal();
+        if (ordinal < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Feature %s has no ordinal.", feature.getName().orElse("???")));
+        }
+        ArrayList<ILiteral> formulas = getFormulas(ordinal);
+        if (featuresPerOrdinal.get(ordinal) == null) {
+            featuresPerOrdinal.set(ordinal, feature);
+            if (ordinalsByFeatureName != null) {
+                ordinalsByFeatureName.put(feature.getName().orElse("???"), ordinal);
+            }
         }
+        return formulas;
     }
 
-    private ILiteral newFeatureFormula(IFeature feature, String featureName) {
+    private ArrayList<ILiteral> getFormulas(int ordinal) {
+        while (formulasPerOrdinal.size() <= ordinal) {
+            ArrayList<ILiteral> formulas = new ArrayList<>();
+            featuresPerOrdinal.add(null);
+            formulasPerOrdinal.add(formulas);
+            formulaViews.add(Collections.unmodifiableList(formulas));
+            nameViews.add(new AbstractList<String>() {
+                @Override
+                public String get(int index) {
+                    return formulas.get(index).getVariable().getName();
+                }
+
+                @Override
+                public int size() {
+                    return formulas.size();
+                }
+            });
+        }
+        return formulasPerOrdinal.get(ordinal);
+    }
+
+    private <T> List<T> getViews(int ordinal, ArrayList<List<T>> views) {
+        return ordinal < views.size() ? views.get(ordinal) : List.of();
+    }
+
+    private HashMap<String, Integer> getOrdinalsByFeatureName() {
+        if (ordinalsByFeatureName == null) {
+            HashMap<String, Integer> ordinals = new HashMap<>();
+            for (int ordinal = 0; ordinal < featuresPerOrdinal.size(); ordinal++) {
+                IFeature feature = featuresPerOrdinal.get(ordinal);
+                if (feature != null) {
+                    ordinals.put(feature.getName().orElse("???"), ordinal);
+                }
+            }
+            ordinalsByFeatureName = ordinals;
+        }
+        return ordinalsByFeatureName;
+    }
+
+    private HashMap<String, ILiteral> getFormulasByName() {
+        if (formulasByName == null) {
+            HashMap<String, ILiteral> formulas = new HashMap<>();
+            for (ArrayList<ILiteral> formulasOfFeature : formulasPerOrdinal) {
+                for (ILiteral formula : formulasOfFeature) {
+                    formulas.put(formula.getVariable().getName(), formula);
+                }
+            }
+            formulasByName = formulas;
+        }
+        return formulasByName;
+    }
+
+    /**
+     * {@return a new literal for the given feature, without registering it}
+     *
+     * @param feature     the feature
+     * @param featureName the name of the variable
+     */
+    static ILiteral createLiteral(IFeature feature, String featureName) {
         Class<?> type = feature.getType();
         Variable variable = new Variable(featureName, type);
-        variables.add(variable);
-
         if (type.equals(Boolean.class)) {
             return new Literal(variable);
         } else {
@@ -95,6 +379,34 @@ public class FeatureToFormula {
         }
     }
 
+    /**
+     * Appends all formulas created by a {@link #newSubtreeTranslation() subtree translation} of this instance,
+     * preserving their order.
+     *
+     * @param other the other instance
+     */
+    void addAll(FeatureToFormula other) {
+        for (Map.Entry<FeatureInstance, ILiteral> entry : other.instanceToLiteral.entrySet()) {
+            if (instanceToLiteral.putIfAbsent(entry.getKey(), entry.getValue()) != null) {
+                throw new IllegalAccessError(
+                        String.format("Formula for feature %s already exists.", entry.getKey().getName()));
+            }
+        }
+        for (int ordinal = 0; ordinal < other.formulasPerOrdinal.size(); ordinal++) {
+            IFeature feature = other.featuresPerOrdinal.get(ordinal);
+            if (feature != null) {
+                ArrayList<ILiteral> formulas = other.formulasPerOrdinal.get(ordinal);
+                getFormulas(feature).addAll(formulas);
+                if (formulasByName != null) {
+                    for (ILiteral formula : formulas) {
+                        formulasByName.put(formula.getVariable().getName(), formula);
+                    }
+                }
+            }
+        }
+        variables.addAll(other.variables);
+    }
+
     public Collection<Variable> getVariables() {
         return Collections.unmodifiableCollection(variables);
     }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.transformer;
+
+/**
+ * Encodings for the cardinality constraints of feature groups, as used by {@link ComputeFormula}.
+ * All encodings except {@link #PAIRWISE} introduce auxiliary variables, which keeps the size of the resulting CNF
+ * linear or near-linear in the size of the group.
+ *
+ * @author Sebastian Krieter
+ */
+public enum GroupEncoding {
+    /**
+     * Translates groups into {@link de.featjar.formula.structure.connective.Choose},
+     * {@link de.featjar.formula.structure.connective.Between}, {@link de.featjar.formula.structure.connective.AtLeast},
+     * and {@link de.featjar.formula.structure.connective.AtMost} formulas, which are expanded combinatorially when
+     * transformed into CNF. Does not introduce auxiliary variables.
+     */
+    PAIRWISE,
+    /**
+     * Sequential counter encoding (Sinz 2005). Requires {@code O(n * k)} clauses and auxiliary variables.
+     */
+    SEQUENTIAL_COUNTER,
+    /**
+     * Commander encoding (Klieber and Kwon 2007) for at-most-one constraints, with groups of three.
+     * Requires {@code O(n)} clauses and auxiliary variables.
+     * Other upper bounds are encoded with a {@link #SEQUENTIAL_COUNTER}.
+     */
+    COMMANDER,
+    /**
+     * Totalizer encoding (Bailleux and Boufkhad 2003). Requires {@code O(n * k)} clauses and
+     * {@code O(n log n)} auxiliary variables.
+     */
+    TOTALIZER,
+    /**
+     * Odd-even merge sorting network (Batcher 1968). Requires {@code O(n log^2 n)} clauses and auxiliary variables.
+     */
+    SORTING_NETWORK
+}
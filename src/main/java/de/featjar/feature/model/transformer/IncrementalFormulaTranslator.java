@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.transformer;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.base.data.Pair;
+import de.featjar.base.data.Result;
+import de.featjar.base.tree.Trees;
+import de.featjar.feature.model.FeatureModel;
+import de.featjar.feature.model.FeatureModelEvent;
+import de.featjar.feature.model.FeatureTree.Group;
+import de.featjar.feature.model.IConstraint;
+import de.featjar.feature.model.IFeature;
+import de.featjar.feature.model.IFeatureModel;
+import de.featjar.feature.model.IFeatureModelListener;
+import de.featjar.feature.model.IFeatureTree;
+import de.featjar.feature.model.constraints.IAttributeAggregate;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.connective.Reference;
+import de.featjar.formula.structure.predicate.ILiteral;
+import de.featjar.formula.structure.predicate.True;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Translates a {@link FeatureModel} into the same formula as {@link ComputeFormula} and keeps the translation up to
+ * date incrementally.
+ * The translator listens to the {@link FeatureModelEvent events} of the model and caches the tree constraints of
+ * every node and the translation of every cross-tree constraint. On {@link #getFormula()}, only the pieces of
+ * modified nodes and constraints are translated again, all other children of the resulting {@link And} are reused.
+ * Models with feature cardinalities or attribute aggregates are translated with {@link ComputeFormula} as a whole.
+ * Groups are always translated with the {@link GroupEncoding#PAIRWISE pairwise} encoding.
+ * This class is not thread-safe.
+ *
+ * @author Sebastian Krieter
+ */
+public class IncrementalFormulaTranslator implements IFeatureModelListener, AutoCloseable {
+
+    private static final class NodeTranslation {
+        private final IFeatureTree parent;
+        private final List<IFormula> constraints;
+        private final List<Variable> variables;
+
+        private NodeTranslation(IFeatureTree parent, List<IFormula> constraints, List<Variable> variables) {
+            this.parent = parent;
+            this.constraints = constraints;
+            this.variables = variables;
+        }
+    }
+
+    private final FeatureModel featureModel;
+
+    private final HashMap<String, ILiteral> literals = new HashMap<>();
+    private IdentityHashMap<IFeatureTree, NodeTranslation> nodeTranslations = new IdentityHashMap<>();
+    private IdentityHashMap<IConstraint, IFormula> constraintTranslations = new IdentityHashMap<>();
+    private final Set<IFeatureTree> modifiedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private IFormula formula;
+    private long formulaVersion = -1;
+    private long eventVersion;
+
+    /**
+     * Creates a new translator and registers it as a listener of the given model.
+     *
+     * @param featureModel the feature model
+     */
+    public IncrementalFormulaTranslator(FeatureModel featureModel) {
+        this.featureModel = featureModel;
+        eventVersion = featureModel.getVersion();
+        featureModel.addListener(this);
+    }
+
+    /**
+     * Unregisters this translator from its model.
+     */
+    @Override
+    public void close() {
+        featureModel.removeListener(this);
+    }
+
+    @Override
+    public void modelChanged(List<FeatureModelEvent> events) {
+        for (FeatureModelEvent event : events) {
+            switch (event.getType()) {
+                case FEATURE_RENAMED:
+                case FEATURE_TYPE_CHANGED:
+                    reset();
+                    break;
+                case TREE_NODE_MOVED:
+                    markModified((IFeatureTree) event.getOldValue());
+                    markModified((IFeatureTree) event.getNewValue());
+                    // fall through
+                case TREE_NODE_ADDED:
+                case TREE_NODE_REMOVED:
+                case TREE_PARENT_GROUP_CHANGED:
+                case TREE_GROUPS_CHANGED:
+                case TREE_CARDINALITY_CHANGED:
+                    IFeatureTree node = (IFeatureTree) event.getSource();
+                    markModified(node);
+                    NodeTranslation nodeTranslation = nodeTranslations.get(node);
+                    if (nodeTranslation != null) {
+                        markModified(nodeTranslation.parent);
+                    }
+                    Result<IFeatureTree> parent = node.getParent();
+                    if (parent.isPresent()) {
+                        markModified(parent.get());
+                    }
+                    break;
+                case CONSTRAINT_REMOVED:
+                case CONSTRAINT_FORMULA_CHANGED:
+                    constraintTranslations.remove(event.getSource());
+                    break;
+                default:
+                    break;
+            }
+        }
+        // every event increments the version once, so any other increment is a modification without an event
+        eventVersion += events.size();
+    }
+
+    private void markModified(IFeatureTree node) {
+        if (node != null) {
+            modifiedNodes.add(node);
+        }
+    }
+
+    private void reset() {
+        literals.clear();
+        nodeTranslations.clear();
+        constraintTranslations.clear();
+        modifiedNodes.clear();
+    }
+
+    /**
+     * {@return the formula of the current state of the model}
+     * Unmodified children of the formula are identical to the children of the previously returned formula.
+     */
+    public IFormula getFormula() {
+        long version = featureModel.getVersion();
+        if (formula != null && version == formulaVersion) {
+            return formula;
+        }
+        if (version != eventVersion) {
+            // the model was modified without an event, so no cached piece can be trusted
+            reset();
+            eventVersion = version;
+        }
+
+        ArrayList<IFormula> constraints = new ArrayList<>();
+        ArrayList<Variable> variables = new ArrayList<>();
+        IdentityHashMap<IFeatureTree, NodeTranslation> newNodeTranslations = new IdentityHashMap<>();
+        ArrayDeque<IFeatureTree> stack = new ArrayDeque<>();
+        IFeatureTree pseudoRoot = featureModel.getPseudoRoot();
+        stack.push(pseudoRoot);
+        while (!stack.isEmpty()) {
+            IFeatureTree node = stack.pop();
+            if (node.getFeatureCardinalityUpperBound() > 1 && node != pseudoRoot) {
+                return fallback(version);
+            }
+            NodeTranslation nodeTranslation = modifiedNodes.contains(node) ? null : nodeTranslations.get(node);
+            if (nodeTranslation == null) {
+                nodeTranslation = translateNode(node, node == pseudoRoot);
+            }
+            newNodeTranslations.put(node, nodeTranslation);
+            constraints.addAll(nodeTranslation.constraints);
+            variables.addAll(nodeTranslation.variables);
+            List<? extends IFeatureTree> children = node.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+
+        IdentityHashMap<IConstraint, IFormula> newConstraintTranslations = new IdentityHashMap<>();
+        for (IConstraint constraint : featureModel.getConstraints()) {
+            IFormula constraintFormula = constraintTranslations.get(constraint);
+            if (constraintFormula == null) {
+                if (Trees.preOrderStream(constraint.getFormula()).anyMatch(IAttributeAggregate.class::isInstance)) {
+                    return fallback(version);
+                }
+                constraintFormula = Trees.clone(constraint.getFormula());
+            }
+            newConstraintTranslations.put(constraint, constraintFormula);
+            constraints.add(constraintFormula);
+        }
+
+        nodeTranslations = newNodeTranslations;
+        constraintTranslations = newConstraintTranslations;
+        modifiedNodes.clear();
+        formula = new Reference(new And(constraints), variables);
+        formulaVersion = version;
+        return formula;
+    }
+
+    private IFormula fallback(long version) {
+        reset();
+        formula = Computations.of((IFeatureModel) featureModel)
+                .map(ComputeFormula::new)
+                .compute();
+        formulaVersion = version;
+        return formula;
+    }
+
+    private NodeTranslation translateNode(IFeatureTree parentNode, boolean isPseudoRoot) {
+        IFormula parentLiteral = isPseudoRoot ? True.INSTANCE : getLiteral(parentNode.getFeature());
+        List<? extends IFeatureTree> children = parentNode.getChildren();
+        ArrayList<IFormula> constraints = new ArrayList<>();
+        ArrayList<Variable> variables = new ArrayList<>(children.size());
+
+        for (IFeatureTree child : children) {
+            ILiteral currentLiteral = getLiteral(child.getFeature());
+            variables.add(currentLiteral.getVariable());
+            if (parentLiteral != True.INSTANCE) {
+                constraints.add(new Implies(currentLiteral, parentLiteral));
+            }
+            if (child.getFeatureCardinalityLowerBound() > 0) {
+                if (parentLiteral == True.INSTANCE) {
+                    constraints.add(currentLiteral);
+                } else {
+                    constraints.add(new Implies(parentLiteral, currentLiteral));
+                }
+            }
+        }
+
+        for (Pair<Group, List<IFeatureTree>> featureGroup : parentNode.getGroupedChildren()) {
+            Group group = featureGroup.getKey();
+            if (group != null && !group.isAnd()) {
+                ArrayList<IFormula> groupLiterals =
+                        new ArrayList<>(featureGroup.getValue().size());
+                for (IFeatureTree childNode : featureGroup.getValue()) {
+                    groupLiterals.add(getLiteral(childNode.getFeature()));
+                }
+                IFormula groupFormula = group.isOr()
+                        ? new Implies(parentLiteral, new Or(groupLiterals))
+                        : ComputeFormula.createPairwiseGroupConstraint(parentLiteral, group, groupLiterals);
+                if (groupFormula != null) {
+                    constraints.add(groupFormula);
+                }
+            }
+        }
+
+        IFeatureTree parent = isPseudoRoot ? null : parentNode.getParent().orElse(null);
+        return new NodeTranslation(parent, constraints, variables);
+    }
+
+    private ILiteral getLiteral(IFeature feature) {
+        String featureName = feature.getName().orElse("???");
+        return literals.computeIfAbsent(featureName, name -> FeatureToFormula.createLiteral(feature, name));
+    }
+}
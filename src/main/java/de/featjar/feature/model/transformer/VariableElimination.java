@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.transformer;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Eliminates variables from a CNF by resolution, while regularly checking whether it is cancelled.
+ * In each step, the variable with the fewest possible resolvents is eliminated. Tautologies and duplicate clauses
+ * are omitted. In contrast to {@link de.featjar.analysis.sat4j.slice.CNFSlicer}, the elimination runs in the
+ * calling thread and stops as soon as it is cancelled.
+ *
+ * @author Sebastian Krieter
+ */
+class VariableElimination {
+
+    private static final class Clause {
+        private final int[] literals;
+        private final int hashCode;
+
+        private Clause(int[] literals) {
+            this.literals = literals;
+            hashCode = Arrays.hashCode(literals);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj || (obj instanceof Clause && Arrays.equals(literals, ((Clause) obj).literals));
+        }
+    }
+
+    private final BooleanSupplier cancelled;
+
+    private LinkedHashSet<Clause> clauses;
+    private List<LinkedHashSet<Clause>> positive;
+    private List<LinkedHashSet<Clause>> negative;
+
+    /**
+     * Creates a new elimination.
+     *
+     * @param cancelled tests whether the elimination is cancelled
+     */
+    VariableElimination(BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * {@return the given formula with all variables but the given ones eliminated, or {@code null} if the
+     * elimination was cancelled}
+     *
+     * @param cnf the formula
+     * @param variablesToKeep the variables to keep
+     */
+    BooleanAssignmentList eliminate(BooleanAssignmentList cnf, int[] variablesToKeep) {
+        VariableMap variableMap = cnf.getVariableMap();
+        int variableCount = variableMap.maxIndex() + 1;
+        clauses = new LinkedHashSet<>();
+        positive = new ArrayList<>(variableCount);
+        negative = new ArrayList<>(variableCount);
+        for (int i = 0; i < variableCount; i++) {
+            positive.add(new LinkedHashSet<>());
+            negative.add(new LinkedHashSet<>());
+        }
+        for (BooleanAssignment clause : cnf.getAll()) {
+            add(clause.get().clone());
+        }
+
+        boolean[] eliminate = new boolean[variableCount];
+        Arrays.fill(eliminate, 1, variableCount, true);
+        for (int variable : variablesToKeep) {
+            eliminate[Math.abs(variable)] = false;
+        }
+        while (true) {
+            if (cancelled.getAsBoolean()) {
+                return null;
+            }
+            int variable = 0;
+            long minResolvents = Long.MAX_VALUE;
+            for (int i = 1; i < variableCount; i++) {
+                if (eliminate[i]) {
+                    long resolvents = (long) positive.get(i).size() * negative.get(i).size();
+                    if (resolvents < minResolvents) {
+                        minResolvents = resolvents;
+                        variable = i;
+                    }
+                }
+            }
+            if (variable == 0) {
+                break;
+            }
+            eliminate[variable] = false;
+            if (!resolve(variable)) {
+                return null;
+            }
+        }
+
+        List<BooleanAssignment> result = new ArrayList<>(clauses.size());
+        for (Clause clause : clauses) {
+            result.add(new BooleanAssignment(clause.literals));
+        }
+        return new BooleanAssignmentList(variableMap, result);
+    }
+
+    private boolean resolve(int variable) {
+        List<Clause> positiveClauses = new ArrayList<>(positive.get(variable));
+        List<Clause> negativeClauses = new ArrayList<>(negative.get(variable));
+        positiveClauses.forEach(this::remove);
+        negativeClauses.forEach(this::remove);
+        for (Clause positiveClause : positiveClauses) {
+            if (cancelled.getAsBoolean()) {
+                return false;
+            }
+            for (Clause negativeClause : negativeClauses) {
+                int[] resolvent = resolve(positiveClause.literals, negativeClause.literals, variable);
+                if (resolvent != null) {
+                    add(resolvent);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@return the sorted resolvent of two sorted clauses on the given variable, or {@code null} if it is a
+     * tautology}
+     */
+    private static int[] resolve(int[] positiveClause, int[] negativeClause, int variable) {
+        int[] resolvent = new int[positiveClause.length + negativeClause.length - 2];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < positiveClause.length || j < negativeClause.length) {
+            int literal;
+            if (j == negativeClause.length
+                    || (i < positiveClause.length && positiveClause[i] <= negativeClause[j])) {
+                literal = positiveClause[i++];
+                if (j < negativeClause.length && negativeClause[j] == literal) {
+                    j++;
+                }
+            } else {
+                literal = negativeClause[j++];
+            }
+            if (Math.abs(literal) == variable) {
+                continue;
+            }
+            if (size > 0 && resolvent[size - 1] == literal) {
+                continue;
+            }
+            resolvent[size++] = literal;
+        }
+        int[] sorted = Arrays.copyOf(resolvent, size);
+        return isTautology(sorted) ? null : sorted;
+    }
+
+    private void add(int[] literals) {
+        Arrays.sort(literals);
+        if (isTautology(literals)) {
+            return;
+        }
+        Clause clause = new Clause(literals);
+        if (clauses.add(clause)) {
+            for (int literal : literals) {
+                (literal > 0 ? positive : negative).get(Math.abs(literal)).add(clause);
+            }
+        }
+    }
+
+    private void remove(Clause clause) {
+        clauses.remove(clause);
+        for (int literal : clause.literals) {
+            (literal > 0 ? positive : negative).get(Math.abs(literal)).remove(clause);
+        }
+    }
+
+    /**
+     * {@return whether a sorted clause contains a literal and its negation}
+     */
+    private static boolean isTautology(int[] literals) {
+        for (int literal : literals) {
+            if (literal > 0) {
+                break;
+            }
+            if (Arrays.binarySearch(literals, -literal) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
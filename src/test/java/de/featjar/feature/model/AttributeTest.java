@@ -30,7 +30,17 @@ import de.featjar.base.data.IAttribute;
 import de.featjar.base.data.Name;
 import de.featjar.base.data.Result;
 import de.featjar.base.data.identifier.Identifiers;
+import de.featjar.feature.model.constraints.AttributeAverage;
+import de.featjar.feature.model.constraints.AttributeSum;
+import de.featjar.feature.model.constraints.LinearConstraint;
+import de.featjar.feature.model.transformer.FeatureToFormula;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.structure.predicate.GreaterThan;
+import de.featjar.formula.structure.predicate.LessEqual;
+import de.featjar.formula.structure.predicate.LessThan;
+import de.featjar.formula.structure.term.value.Constant;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterAll;
@@ -124,4 +134,90 @@ public class AttributeTest {
         Assertions.assertTrue(addFeature.isHidden());
         Assertions.assertFalse(addFeature.mutate().toggleHidden());
     }
+
+    @Test
+    public void attributeColumn() {
+        Attribute<Integer> cost = Attributes.get(new Name("any", "cost"), Integer.class);
+        IFeature featureA = featureModel.addFeature("A");
+        IFeature featureB = featureModel.addFeature("B");
+        featureA.mutate().setAttributeValue(cost, 3);
+
+        AttributeColumn column = featureModel.storeInColumn(cost);
+        assertEquals(Result.of(3), featureA.getAttributeValue(cost));
+        assertEquals(Result.empty(), featureB.getAttributeValue(cost));
+
+        featureB.mutate().setAttributeValue(cost, 5);
+        assertEquals(5L, column.getLong(((Feature) featureB).getOrdinal()));
+        assertEquals(Map.of(cost, 5, FeatureModelAttributes.NAME, "B"), featureB.getAttributes().get());
+
+        FeatureModel clonedModel = featureModel.clone();
+        featureB.mutate().removeAttributeValue(cost);
+        assertEquals(Result.empty(), featureB.getAttributeValue(cost));
+        assertEquals(Result.of(5), clonedModel.getFeature("B").get().getAttributeValue(cost));
+
+        featureModel.removeFeature(featureA);
+        assertEquals(Result.of(3), featureA.getAttributeValue(cost));
+        assertTrue(!column.isPresent(((Feature) featureB).getOrdinal()));
+    }
+
+    @Test
+    public void linearConstraint() {
+        Attribute<Integer> cost = Attributes.get(new Name("any", "weight"), Integer.class);
+        IFeature featureA = featureModel.addFeature("A");
+        IFeature featureB = featureModel.addFeature("B");
+        featureModel.addFeature("C");
+        featureA.mutate().setAttributeValue(cost, 3);
+        featureB.mutate().setAttributeValue(cost, 5);
+        VariableMap variableMap = new VariableMap(List.of("A", "B", "C"));
+
+        Result<LinearConstraint> sum = LinearConstraint.of(
+                new LessThan(new Constant(7L), new AttributeSum(cost)), featureModel.getFeatures(), variableMap);
+        assertTrue(sum.isPresent(), sum.printProblems());
+        assertEquals(
+                new LinearConstraint(new int[] {1, 2}, new double[] {3, 5}, LinearConstraint.Relation.GREATER_THAN, 7),
+                sum.get());
+        assertTrue(sum.get().isSatisfied(i -> true));
+        assertTrue(!sum.get().isSatisfied(i -> i != 2));
+
+        Result<LinearConstraint> average = LinearConstraint.of(
+                new LessThan(new AttributeAverage(cost), new Constant(4L)), featureModel.getFeatures(), variableMap);
+        assertTrue(average.isPresent(), average.printProblems());
+        assertTrue(average.get().isSatisfied(i -> i == 1));
+        assertTrue(!average.get().isSatisfied(i -> i == 2));
+        assertTrue(!average.get().isSatisfied(i -> true));
+        assertTrue(!average.get().isSatisfied(i -> false));
+
+        Result<LinearConstraint> atMostAverage = LinearConstraint.of(
+                new LessEqual(new AttributeAverage(cost), new Constant(4L)), featureModel.getFeatures(), variableMap);
+        assertTrue(atMostAverage.isPresent(), atMostAverage.printProblems());
+        assertTrue(atMostAverage.get().isSatisfied(i -> i == 1));
+        assertTrue(!atMostAverage.get().isSatisfied(i -> false));
+    }
+
+    @Test
+    public void linearConstraintOfFeatureInstances() {
+        Attribute<Integer> cost = Attributes.get(new Name("any", "weight"), Integer.class);
+        IFeature featureA = featureModel.addFeature("A");
+        featureA.mutate().setAttributeValue(cost, 3);
+        FeatureToFormula featureToFormula = new FeatureToFormula();
+        featureToFormula.createFeatureFormula(featureA, featureToFormula.newFeatureInstance(featureA, 1, null));
+        featureToFormula.createFeatureFormula(featureA, featureToFormula.newFeatureInstance(featureA, 2, null));
+        assertEquals(List.of("A_1", "A_2"), featureToFormula.getNamesPerFeature("A"));
+        assertEquals(
+                featureToFormula.getFeatureFormula(featureToFormula.newFeatureInstance(featureA, 2, null)),
+                featureToFormula.getFeatureFormula("A_2"));
+        VariableMap variableMap = new VariableMap(List.of("A_1", "A_2"));
+
+        Result<LinearConstraint> sum = LinearConstraint.of(
+                new GreaterThan(new AttributeSum(cost), new Constant(4L)),
+                featureModel.getFeatures(),
+                featureToFormula,
+                variableMap);
+        assertTrue(sum.isPresent(), sum.printProblems());
+        assertEquals(
+                new LinearConstraint(new int[] {1, 2}, new double[] {3, 3}, LinearConstraint.Relation.GREATER_THAN, 4),
+                sum.get());
+        assertTrue(sum.get().isSatisfied(i -> true));
+        assertTrue(!sum.get().isSatisfied(i -> i == 1));
+    }
 }
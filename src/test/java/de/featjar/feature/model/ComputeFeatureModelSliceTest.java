@@ -20,12 +20,32 @@
  */
 package de.featjar.feature.model;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import de.featjar.Common;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
 import de.featjar.base.FeatJAR;
 import de.featjar.base.computation.Computations;
+import de.featjar.base.data.Result;
+import de.featjar.base.data.identifier.Identifiers;
+import de.featjar.feature.model.IFeatureModel.IMutableFeatureModel;
+import de.featjar.feature.model.IFeatureTree.IMutableFeatureTree;
 import de.featjar.feature.model.io.xml.XMLFeatureModelFormat;
 import de.featjar.feature.model.transformer.ComputeFeatureModelSlice;
+import de.featjar.feature.model.transformer.ComputeFeatureModelSlices;
+import de.featjar.feature.model.transformer.FeatureModelFormulas;
+import de.featjar.feature.model.transformer.FeatureModelSliceCache;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.predicate.Literal;
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -54,4 +74,195 @@ public class ComputeFeatureModelSliceTest extends Common {
                 .compute();
         FeatJAR.log().error(compute.toString());
     }
+
+    @Test
+    public void parallelSliceIsIdentical() {
+        IFeatureModel featureModel = load("testFeatureModels/car.xml", new XMLFeatureModelFormat());
+        FeatureNameListFilter exclude = new FeatureNameListFilter(List.of("Europe", "Navigation"));
+
+        IFeatureModel sequential = Computations.of(featureModel)
+                .map(ComputeFeatureModelSlice::new)
+                .set(ComputeFeatureModelSlice.EXCLUDE_FEATURES, exclude)
+                .compute();
+        IFeatureModel parallel = Computations.of(featureModel)
+                .map(ComputeFeatureModelSlice::new)
+                .set(ComputeFeatureModelSlice.EXCLUDE_FEATURES, exclude)
+                .set(ComputeFeatureModelSlice.PARALLEL, Boolean.TRUE)
+                .compute();
+
+        assertEquals(getConstraintStrings(sequential), getConstraintStrings(parallel));
+    }
+
+    private static List<String> getConstraintStrings(IFeatureModel featureModel) {
+        return featureModel.getConstraints().stream()
+                .map(constraint -> constraint.getFormula().print())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void treeAwareSliceRelaxesGroups() {
+        IMutableFeatureModel featureModel =
+                new FeatureModel(Identifiers.newCounterIdentifier()).mutate();
+        IMutableFeatureTree root =
+                featureModel.addFeatureTreeRoot(featureModel.addFeature("root")).mutate();
+        root.makeMandatory();
+        IMutableFeatureTree alternative = below(featureModel, root, "Alternative");
+        alternative.makeMandatory();
+        alternative.toAlternativeGroup();
+        below(featureModel, alternative, "A");
+        IMutableFeatureTree b = below(featureModel, alternative, "B");
+        below(featureModel, b, "B1");
+        below(featureModel, b, "B2");
+        below(featureModel, root, "C");
+        below(featureModel, root, "D");
+        IMutableFeatureTree e = below(featureModel, root, "E");
+        below(featureModel, e, "E1");
+        featureModel.addConstraint(new Implies(new Literal("C"), new Literal("D")));
+
+        IFeatureModel slicedModel = Computations.of((IFeatureModel) featureModel)
+                .map(ComputeFeatureModelSlice::new)
+                .set(
+                        ComputeFeatureModelSlice.EXCLUDE_FEATURES,
+                        new FeatureNameListFilter(List.of("B", "B1", "B2", "C", "E1")))
+                .set(ComputeFeatureModelSlice.TREE_AWARE, Boolean.TRUE)
+                .compute();
+
+        assertEquals(8, countSolutions(slicedModel, List.of("root", "Alternative", "A", "D", "E")));
+    }
+
+    @Test
+    public void treeAwareSliceKeepsClausesOfRemovedConstraints() {
+        IMutableFeatureModel featureModel =
+                new FeatureModel(Identifiers.newCounterIdentifier()).mutate();
+        IMutableFeatureTree root =
+                featureModel.addFeatureTreeRoot(featureModel.addFeature("root")).mutate();
+        root.makeMandatory();
+        below(featureModel, root, "A");
+        below(featureModel, root, "B");
+        below(featureModel, root, "R");
+        IMutableFeatureTree e = below(featureModel, root, "E");
+        below(featureModel, e, "E1");
+        featureModel.addConstraint(new And(new Literal("A"), new Or(new Literal("R"), new Literal("B"))));
+
+        IFeatureModel slicedModel = Computations.of((IFeatureModel) featureModel)
+                .map(ComputeFeatureModelSlice::new)
+                .set(ComputeFeatureModelSlice.EXCLUDE_FEATURES, new FeatureNameListFilter(List.of("R", "E1")))
+                .set(ComputeFeatureModelSlice.TREE_AWARE, Boolean.TRUE)
+                .compute();
+
+        assertEquals(4, countSolutions(slicedModel, List.of("root", "A", "B", "E")));
+    }
+
+    @Test
+    public void exhaustedBudgetYieldsSoundSlice() {
+        IMutableFeatureModel featureModel =
+                new FeatureModel(Identifiers.newCounterIdentifier()).mutate();
+        IMutableFeatureTree root =
+                featureModel.addFeatureTreeRoot(featureModel.addFeature("root")).mutate();
+        root.makeMandatory();
+        below(featureModel, root, "A");
+        below(featureModel, root, "B");
+        below(featureModel, root, "C");
+        featureModel.addConstraint(new Implies(new Literal("A"), new Literal("B")));
+        featureModel.addConstraint(new Implies(new Literal("B"), new Literal("C")));
+
+        Result<IFeatureModel> result = Computations.of((IFeatureModel) featureModel)
+                .map(ComputeFeatureModelSlice::new)
+                .set(ComputeFeatureModelSlice.EXCLUDE_FEATURES, new FeatureNameListFilter(List.of("B")))
+                .set(ComputeFeatureModelSlice.TIMEOUT, Duration.ofNanos(1))
+                .computeResult();
+
+        assertTrue(result.isPresent(), result.printProblems());
+        assertTrue(!result.getProblems().isEmpty());
+        IFeatureModel slicedModel = result.get();
+        assertEquals(0, slicedModel.getConstraints().size());
+        assertEquals(4, countSolutions(slicedModel, List.of("root", "A", "C")));
+    }
+
+    @Test
+    public void sliceCacheReusesSlices() {
+        IMutableFeatureModel featureModel =
+                new FeatureModel(Identifiers.newCounterIdentifier()).mutate();
+        IMutableFeatureTree root =
+                featureModel.addFeatureTreeRoot(featureModel.addFeature("root")).mutate();
+        root.makeMandatory();
+        root.toOrGroup();
+        below(featureModel, root, "A");
+        below(featureModel, root, "B");
+        below(featureModel, root, "C");
+        featureModel.addConstraint(new Implies(new Literal("A"), new Literal("B")));
+
+        FeatureModelSliceCache cache = new FeatureModelSliceCache(2, true, false);
+        IFeatureModel withoutA = cache.getSlice(
+                featureModel, IFeatureModelElementFilter.ALL, new FeatureNameListFilter(List.of("A")));
+        assertSame(
+                withoutA,
+                cache.getSlice(featureModel, new FeatureNameListFilter(List.of("root", "B", "C")), e -> false));
+
+        IFeatureModel onlyC = cache.getSlice(
+                featureModel, IFeatureModelElementFilter.ALL, new FeatureNameListFilter(List.of("A", "B")));
+        assertEquals(2, cache.size());
+        assertEquals(2, countSolutions(onlyC, List.of("root", "C")));
+
+        featureModel.addFeature("D");
+        assertNotSame(
+                withoutA,
+                cache.getSlice(
+                        featureModel, IFeatureModelElementFilter.ALL, new FeatureNameListFilter(List.of("A", "D"))));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void batchSliceSharesSlices() {
+        IMutableFeatureModel featureModel =
+                new FeatureModel(Identifiers.newCounterIdentifier()).mutate();
+        IMutableFeatureTree root =
+                featureModel.addFeatureTreeRoot(featureModel.addFeature("root")).mutate();
+        root.makeMandatory();
+        below(featureModel, root, "A");
+        below(featureModel, root, "B");
+        below(featureModel, root, "C");
+        featureModel.addConstraint(new Implies(new Literal("A"), new Literal("B")));
+        featureModel.addConstraint(new Implies(new Literal("B"), new Literal("C")));
+
+        List<IFeatureModel> slices = Computations.of((IFeatureModel) featureModel)
+                .map(ComputeFeatureModelSlices::new)
+                .set(
+                        ComputeFeatureModelSlices.FILTERS,
+                        List.of(
+                                new FeatureNameListFilter(List.of("root", "A", "C")),
+                                new FeatureNameListFilter(List.of("root", "A")),
+                                IFeatureModelElementFilter.featuresByName(List.of("root", "C", "A"))))
+                .set(ComputeFeatureModelSlices.PARALLEL, Boolean.TRUE)
+                .compute();
+
+        assertEquals(3, slices.size());
+        assertSame(slices.get(0), slices.get(2));
+        assertEquals(3, countSolutions(slices.get(0), List.of("root", "A", "C")));
+        assertEquals(2, countSolutions(slices.get(1), List.of("root", "A")));
+    }
+
+    private static IMutableFeatureTree below(
+            IMutableFeatureModel featureModel, IMutableFeatureTree parentTreeNode, String name) {
+        return parentTreeNode.addFeatureBelow(featureModel.addFeature(name)).mutate();
+    }
+
+    private static int countSolutions(IFeatureModel featureModel, List<String> names) {
+        BooleanAssignmentList cnf = FeatureModelFormulas.getClauseList(featureModel);
+        SAT4JSolutionSolver solver = new SAT4JSolutionSolver(cnf, false);
+        solver.getClauseList().addAll(cnf);
+
+        int count = 0;
+        for (int selection = 0; selection < (1 << names.size()); selection++) {
+            int[] assumptions = new int[names.size()];
+            for (int i = 0; i < names.size(); i++) {
+                int index = cnf.getVariableMap().get(names.get(i)).orElseThrow();
+                assumptions[i] = (selection & (1 << i)) != 0 ? index : -index;
+            }
+            if (solver.hasSolution(assumptions).orElseThrow()) {
+                count++;
+            }
+        }
+        return count;
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.identifier.Identifiers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentFeatureModelTest {
+
+    @Test
+    public void readersSeeCompleteWrites() throws Exception {
+        ConcurrentFeatureModel featureModel =
+                new ConcurrentFeatureModel(new FeatureModel(Identifiers.newCounterIdentifier()));
+        IFeatureTree root = featureModel.write(m -> m.addFeatureTreeRoot(m.addFeature("root")));
+        AtomicBoolean done = new AtomicBoolean();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> readers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            readers.add(executor.submit(() -> {
+                boolean consistent = true;
+                while (!done.get()) {
+                    consistent &= featureModel.read(
+                            m -> m.getNumberOfFeatures() == m.getFeatureTreeStream().count());
+                }
+                return consistent;
+            }));
+        }
+        for (int i = 0; i < 500; i++) {
+            String name = "F" + i;
+            featureModel.write(m -> root.mutate().addFeatureBelow(m.addFeature(name)));
+        }
+        done.set(true);
+        for (Future<Boolean> reader : readers) {
+            assertTrue(reader.get());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(501, featureModel.getNumberOfFeatures());
+        assertEquals(501, featureModel.getFeatureTreeStream().count());
+        assertTrue(featureModel.freeze().hasFeature("F499"));
+        assertSame(featureModel.freeze(), featureModel.freeze());
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> featureModel.getRoots().get(0).mutate().addFeatureBelow(root.getFeature()));
+
+        IFeature feature = featureModel.getFeature("F0").get();
+        assertEquals(feature, featureModel.getFeatureTree("F0").get().getFeature());
+        assertThrows(UnsupportedOperationException.class, () -> feature.mutate());
+        IFeature addedFeature = featureModel.addFeature("G");
+        assertEquals(addedFeature, featureModel.getFeature("G").get());
+        assertTrue(featureModel.removeFeature(addedFeature));
+        assertFalse(featureModel.hasFeature("G"));
+    }
+}
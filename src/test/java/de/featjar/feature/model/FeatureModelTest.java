@@ -22,10 +22,15 @@ package de.featjar.feature.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import de.featjar.base.data.Attribute;
 import de.featjar.base.data.Result;
 import de.featjar.base.data.identifier.Identifiers;
 import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.predicate.Literal;
 import java.util.*;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -99,4 +104,301 @@ public class FeatureModelTest {
         childTree.mutate().removeFromTree();
         assertEquals(List.of(), rootFeature.getFeatureTree().get().getChildren());
     }
+
+    @Test
+    public void featureNameIndex() {
+        IFeature featureA = featureModel.mutate().addFeature("A");
+        IFeature featureB = featureModel.mutate().addFeature("B");
+        Assertions.assertEquals(Result.of(featureA), featureModel.getFeature("A"));
+        Assertions.assertTrue(featureModel.hasFeature("B"));
+
+        featureA.mutate().setName("C");
+        Assertions.assertTrue(featureModel.getFeature("A").isEmpty());
+        Assertions.assertEquals(Result.of(featureA), featureModel.getFeature("C"));
+
+        featureB.mutate().setAttributeValue(FeatureModelAttributes.NAME, "D");
+        Assertions.assertFalse(featureModel.hasFeature("B"));
+        Assertions.assertEquals(Result.of(featureB), featureModel.getFeature("D"));
+
+        featureModel.mutate().removeFeature(featureA);
+        Assertions.assertTrue(featureModel.getFeature("C").isEmpty());
+        Assertions.assertEquals(1, featureModel.getNumberOfFeatures());
+
+        IFeatureModel clonedModel = featureModel.clone();
+        IFeature clonedFeatureB = clonedModel.getFeature("D").get();
+        clonedFeatureB.mutate().setName("E");
+        Assertions.assertTrue(clonedModel.hasFeature("E"));
+        Assertions.assertFalse(clonedModel.hasFeature("D"));
+        Assertions.assertEquals(Result.of(featureB), featureModel.getFeature("D"));
+
+        IFeature featureF = featureModel.mutate().addFeature("F");
+        featureF.mutate().setName("D");
+        Assertions.assertEquals(Result.of(featureB), featureModel.getFeature("D"));
+        featureModel.mutate().removeFeature(featureB);
+        Assertions.assertEquals(Result.of(featureF), featureModel.getFeature("D"));
+    }
+
+    @Test
+    public void featureTreeNodeIndex() {
+        IFeature rootFeature = featureModel.mutate().addFeature("root");
+        IFeatureTree rootTree = featureModel.mutate().addFeatureTreeRoot(rootFeature);
+        IFeature childFeature = featureModel.mutate().addFeature("child");
+        IFeatureTree childTree = rootTree.mutate().addFeatureBelow(childFeature);
+        IFeature middleFeature = featureModel.mutate().addFeature("middle");
+        IFeatureTree middleTree = childTree.mutate().addFeatureAbove(middleFeature);
+
+        assertEquals(List.of(childTree), featureModel.getFeatureTreeNodes("child"));
+        assertEquals(List.of(middleTree), featureModel.getFeatureTreeNodes(middleFeature));
+        assertSame(rootTree, featureModel.getFeatureTree("root").get());
+        assertTrue(featureModel.hasTreeFeature(middleFeature));
+
+        middleTree.mutate().removeFromTree();
+        assertTrue(middleFeature.getFeatureTree().isEmpty());
+        assertSame(rootTree, childTree.getParent().get());
+
+        IFeatureModel clonedModel = featureModel.clone();
+        IFeature clonedChildFeature = clonedModel.getFeature("child").get();
+        IFeatureTree clonedChildTree = clonedChildFeature.getFeatureTree().get();
+        assertSame(clonedChildFeature, clonedChildTree.getFeature());
+        assertSame(clonedModel.getFeature("root").get(), clonedChildTree.getParent().get().getFeature());
+
+        featureModel.mutate().removeFeatureTreeRoot(rootTree);
+        assertTrue(featureModel.getFeatureTree(rootFeature).isEmpty());
+        assertTrue(featureModel.getFeatureTreeNodes(childFeature).isEmpty());
+        assertTrue(clonedChildFeature.getFeatureTree().isPresent());
+    }
+
+    @Test
+    public void groupedChildren() {
+        IFeatureTree rootTree =
+                featureModel.mutate().addFeatureTreeRoot(featureModel.mutate().addFeature("root"));
+        int alternativeGroupID = rootTree.mutate().addAlternativeGroup();
+        IFeatureTree childTree1 = rootTree.mutate().addFeatureBelow(featureModel.mutate().addFeature("A"));
+        IFeatureTree childTree2 =
+                rootTree.mutate().addFeatureBelow(featureModel.mutate().addFeature("B"), 1, alternativeGroupID);
+        IFeatureTree childTree3 =
+                rootTree.mutate().addFeatureBelow(featureModel.mutate().addFeature("C"), 2, alternativeGroupID);
+
+        assertEquals(List.of(childTree1), rootTree.getChildren(0));
+        assertEquals(List.of(childTree2, childTree3), rootTree.getChildren(alternativeGroupID));
+        assertEquals(2, rootTree.getChildrenCount(alternativeGroupID));
+        assertEquals(2, rootTree.getGroupedChildren().size());
+        assertSame(rootTree.getGroupedChildren(), rootTree.getGroupedChildren());
+
+        childTree3.mutate().setParentGroupID(0);
+        assertEquals(List.of(childTree1, childTree3), rootTree.getChildren(0));
+        assertEquals(1, rootTree.getChildrenCount(alternativeGroupID));
+
+        childTree1.mutate().removeFromTree();
+        assertEquals(List.of(childTree3), rootTree.getChildren(0));
+
+        rootTree.mutate().removeCardinalityGroup(alternativeGroupID);
+        assertEquals(List.of(childTree2, childTree3), rootTree.getChildren(0));
+        assertEquals(1, rootTree.getGroupedChildren().size());
+    }
+
+    @Test
+    public void constraintIncidence() {
+        IFeature featureA = featureModel.mutate().addFeature("A");
+        IFeature featureB = featureModel.mutate().addFeature("B");
+        IFeature featureC = featureModel.mutate().addFeature("C");
+        IConstraint constraint1 = featureModel.mutate().addConstraint(new Or(new Literal("A"), new Literal("B")));
+        IConstraint constraint2 = featureModel.mutate().addConstraint(new Literal(false, "B"));
+
+        assertEquals(Set.of(featureA, featureB), constraint1.getReferencedFeatures());
+        assertEquals(Set.of(constraint1, constraint2), featureB.getReferencingConstraints());
+        assertEquals(Set.of(), featureC.getReferencingConstraints());
+
+        constraint2.mutate().setFormula(new Literal("C"));
+        assertEquals(Set.of(constraint1), featureB.getReferencingConstraints());
+        assertEquals(Set.of(constraint2), featureC.getReferencingConstraints());
+
+        ((Constraint) constraint1).modifyFormula(formula -> ((Or) formula).addChild(new Literal("C")));
+        assertEquals(Set.of(featureA, featureB, featureC), constraint1.getReferencedFeatures());
+        assertEquals(Set.of(constraint1, constraint2), featureC.getReferencingConstraints());
+
+        constraint1.mutate().remove();
+        assertEquals(Set.of(), featureA.getReferencingConstraints());
+        assertEquals(Set.of(featureC), constraint2.getReferencedFeatures());
+    }
+
+    @Test
+    public void freeze() {
+        IFeature featureA = featureModel.mutate().addFeature("A");
+        IFeature featureB = featureModel.mutate().addFeature("B");
+        IFeature featureC = featureModel.mutate().addFeature("C");
+        featureB.mutate().setAbstract();
+        Attribute<Long> cost = FeatureModelAttributes.get("cost", Long.class);
+        featureB.mutate().setAttributeValue(cost, 3L);
+        featureC.mutate().setDescription("description");
+        IFeatureTree rootTree = featureModel.mutate().addFeatureTreeRoot(featureA);
+        rootTree.mutate().toAlternativeGroup();
+        rootTree.mutate().addFeatureBelow(featureB);
+        rootTree.mutate().addFeatureBelow(featureC);
+        featureModel.mutate().addConstraint(new Or(new Literal("B"), new Literal("C")));
+
+        FrozenFeatureModel frozen = featureModel.freeze();
+        featureModel.mutate().addFeature("D");
+
+        assertEquals(3, frozen.getNumberOfFeatures());
+        assertEquals(3, frozen.getNumberOfNodes());
+        assertEquals(-1, frozen.getFeatureIndex("D"));
+        int b = frozen.getFeatureIndex("B");
+        assertEquals("B", frozen.getFeatureName(b));
+        assertTrue(frozen.isAbstract(b));
+        assertFalse(frozen.isAbstract(frozen.getFeatureIndex("A")));
+
+        int root = frozen.getFirstRoot();
+        assertEquals("A", frozen.getFeatureName(frozen.getFeature(root)));
+        assertEquals(-1, frozen.getParent(root));
+        assertEquals(1, frozen.getGroupLowerBound(root, 0));
+        assertEquals(1, frozen.getGroupUpperBound(root, 0));
+        int child = frozen.getFirstChild(root);
+        assertEquals(frozen.getFeatureNode(b), child);
+        assertEquals(root, frozen.getParent(child));
+        assertEquals("C", frozen.getFeatureName(frozen.getFeature(frozen.getNextSibling(child))));
+        assertEquals(1, frozen.getNumberOfConstraints());
+
+        IFeatureModel frozenModel = frozen;
+        IFeature frozenB = frozenModel.getFeature("B").get();
+        assertEquals(featureB.getIdentifier(), frozenB.getIdentifier());
+        assertTrue(frozenB.isAbstract());
+        assertEquals(3L, frozenB.getAttributeValue(cost).get());
+        assertEquals(3L, frozen.getAttributeColumn(cost).get().getLong(b));
+        assertEquals("description", frozenModel.getFeature("C").get().getDescription().get());
+        assertEquals(List.of("A"), frozenModel.getRootFeatures().stream()
+                .map(f -> f.getName().get())
+                .collect(Collectors.toList()));
+        IFeatureTree frozenRoot = frozenModel.getFeatureTree("A").get();
+        assertEquals(2, frozenRoot.getChildrenCount());
+        assertTrue(frozenRoot.getChildrenGroup(0).get().isAlternative());
+        assertEquals(frozenRoot, frozenB.getFeatureTree().get().getParent().get());
+        assertEquals(
+                Set.of(frozenB, frozenModel.getFeature("C").get()),
+                frozenModel.getConstraints().iterator().next().getReferencedFeatures());
+        assertThrows(UnsupportedOperationException.class, () -> frozenModel.mutate());
+        assertThrows(UnsupportedOperationException.class, () -> frozenB.mutate());
+        assertThrows(UnsupportedOperationException.class, () -> frozenRoot.mutate());
+        assertThrows(UnsupportedOperationException.class, () -> frozenRoot.removeChild(0));
+
+        FeatureModel thawed = frozen.toFeatureModel();
+        assertEquals(3, thawed.getNumberOfFeatures());
+        assertTrue(thawed.getFeatureTree("A").get().getChildrenGroup(0).get().isAlternative());
+        assertEquals(1, thawed.getConstraints().size());
+        assertEquals(3L, thawed.getFeature("B").get().getAttributeValue(cost).get());
+    }
+
+    @Test
+    public void fork() {
+        FeatureModel original = new FeatureModel(Identifiers.newCounterIdentifier());
+        IFeature featureA = original.mutate().addFeature("A");
+        featureA.mutate().setDescription("description");
+        original.mutate().addFeatureTreeRoot(featureA);
+        IConstraint constraint = original.mutate().addConstraint(new Literal("A"));
+
+        FeatureModel fork = original.fork();
+        IFeature forkedA = fork.getFeature("A").get();
+        IConstraint forkedConstraint = fork.getConstraints().iterator().next();
+        assertNotSame(featureA, forkedA);
+        assertSame(fork, forkedA.getFeatureModel());
+        assertSame(constraint.getFormula(), forkedConstraint.getFormula());
+        assertEquals(Set.of(forkedConstraint), forkedA.getReferencingConstraints());
+
+        forkedA.mutate().setDescription("changed");
+        assertEquals("description", featureA.getDescription().get());
+        assertEquals("changed", forkedA.getDescription().get());
+
+        IFormula formula = constraint.getFormula();
+        long version = fork.getVersion();
+        ((Constraint) forkedConstraint).modifyFormula(f -> assertNotSame(formula, f));
+        assertTrue(fork.getVersion() > version);
+        assertSame(formula, constraint.getFormula());
+        forkedConstraint.mutate().setFormula(new Literal(false, "A"));
+        assertSame(formula, constraint.getFormula());
+        assertEquals(Set.of(constraint), featureA.getReferencingConstraints());
+
+        FeatureModel secondFork = original.fork();
+        featureA.mutate().setDescription("changed in original");
+        ((Constraint) constraint).modifyFormula(f -> assertNotSame(formula, f));
+        assertEquals("description", secondFork.getFeature("A").get().getDescription().get());
+        assertSame(formula, secondFork.getConstraints().iterator().next().getFormula());
+
+        Attribute<Long> cost = FeatureModelAttributes.get("cost", Long.class);
+        original.storeInColumn(cost);
+        featureA.mutate().setAttributeValue(cost, 1L);
+        FeatureModel columnFork = original.fork();
+        assertSame(original.getAttributeColumn(cost).get(), columnFork.getAttributeColumn(cost).get());
+        columnFork.getFeature("A").get().mutate().setAttributeValue(cost, 2L);
+        assertEquals(1L, featureA.getAttributeValue(cost).get());
+        assertEquals(2L, columnFork.getFeature("A").get().getAttributeValue(cost).get());
+        featureA.mutate().setAttributeValue(cost, 3L);
+        assertEquals(2L, columnFork.getFeature("A").get().getAttributeValue(cost).get());
+    }
+
+    @Test
+    public void events() {
+        FeatureModel model = (FeatureModel) featureModel;
+        List<List<FeatureModelEvent>> notifications = new ArrayList<>();
+        model.addListener(notifications::add);
+
+        IFeature featureA = model.addFeature("A");
+        IFeatureTree treeA = model.addFeatureTreeRoot(featureA);
+        featureA.mutate().setName("A2");
+        assertEquals(3, notifications.size());
+        assertEquals(FeatureModelEvent.Type.FEATURE_ADDED, notifications.get(0).get(0).getType());
+        assertEquals(FeatureModelEvent.Type.TREE_NODE_ADDED, notifications.get(1).get(0).getType());
+        FeatureModelEvent renamed = notifications.get(2).get(0);
+        assertEquals(FeatureModelEvent.Type.FEATURE_RENAMED, renamed.getType());
+        assertEquals("A", renamed.getOldValue());
+        assertEquals("A2", renamed.getNewValue());
+
+        notifications.clear();
+        model.batch(() -> {
+            IFeature featureB = model.addFeature("B");
+            treeA.mutate().addFeatureBelow(featureB).mutate().makeMandatory();
+            treeA.mutate().toOrGroup();
+            IConstraint constraint = model.addConstraint(new Literal("B"));
+            constraint.mutate().setFormula(new Literal(false, "B"));
+        });
+        assertEquals(1, notifications.size());
+        assertEquals(
+                List.of(
+                        FeatureModelEvent.Type.FEATURE_ADDED,
+                        FeatureModelEvent.Type.TREE_NODE_ADDED,
+                        FeatureModelEvent.Type.TREE_CARDINALITY_CHANGED,
+                        FeatureModelEvent.Type.TREE_GROUPS_CHANGED,
+                        FeatureModelEvent.Type.CONSTRAINT_ADDED,
+                        FeatureModelEvent.Type.CONSTRAINT_FORMULA_CHANGED),
+                notifications.get(0).stream().map(FeatureModelEvent::getType).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void ordinals() {
+        FeatureModel model = (FeatureModel) featureModel;
+        IFeature featureA = model.addFeature("A");
+        IFeature featureB = model.addFeature("B");
+        IFeature featureC = model.addFeature("C");
+        IConstraint constraint1 = model.addConstraint(new Literal("A"));
+        IConstraint constraint2 = model.addConstraint(new Literal("C"));
+        assertEquals(List.of(0, 1, 2), List.of(featureA.getOrdinal(), featureB.getOrdinal(), featureC.getOrdinal()));
+        assertEquals(1, constraint2.getOrdinal());
+        assertSame(featureB, model.getFeatureByOrdinal(1).get());
+
+        model.removeFeature(featureB);
+        model.removeConstraint(constraint1);
+        assertEquals(-1, featureB.getOrdinal());
+        assertTrue(model.getFeatureByOrdinal(1).isEmpty());
+        assertEquals(3, model.getFeatureOrdinalLimit());
+
+        FeatureModel clone = model.clone();
+        assertEquals(2, clone.getFeature("C").get().getOrdinal());
+
+        assertTrue(model.compactOrdinals());
+        assertFalse(model.compactOrdinals());
+        assertEquals(2, model.getFeatureOrdinalLimit());
+        assertEquals(1, featureC.getOrdinal());
+        assertSame(featureC, model.getFeatureByOrdinal(1).get());
+        assertEquals(0, constraint2.getOrdinal());
+        assertSame(constraint2, model.getConstraintByOrdinal(0).get());
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.feature.configuration.BooleanConfiguration;
+import de.featjar.feature.configuration.Configuration.SelectionNotPossibleException;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class BooleanConfigurationTest {
+
+    private static final VariableMap VARIABLE_MAP = new VariableMap(List.of("A", "B", "C", "D"));
+
+    @Test
+    public void testQueries() {
+        BooleanConfiguration configuration = new BooleanConfiguration(new BooleanAssignment(1, -2), VARIABLE_MAP);
+        configuration.setAutomatic("C", Boolean.TRUE);
+
+        assertEquals(List.of("A", "C"), configuration.getSelected());
+        assertEquals(List.of("B"), configuration.getDeselected());
+        assertEquals(List.of("D"), configuration.getUndefined());
+        assertEquals(List.of("A", "B"), configuration.getManual());
+        assertEquals(List.of("C"), configuration.getAutomatic());
+        assertArrayEquals(new int[] {1, -2, 3}, configuration.toBooleanAssignment().get());
+        assertSame(VARIABLE_MAP, configuration.clone().getVariableMap());
+    }
+
+    @Test
+    public void testSelectionNotPossible() {
+        BooleanConfiguration configuration = new BooleanConfiguration(VARIABLE_MAP);
+        configuration.setManual("A", Boolean.TRUE);
+        assertThrows(SelectionNotPossibleException.class, () -> configuration.setAutomatic("A", Boolean.FALSE));
+        configuration.setAutomatic("A", Boolean.TRUE);
+        assertEquals(Boolean.TRUE, configuration.getSelection("A").get());
+    }
+
+    @Test
+    public void testMakeManualAndReset() {
+        BooleanConfiguration configuration = new BooleanConfiguration(VARIABLE_MAP);
+        configuration.setManual("A", Boolean.FALSE);
+        configuration.setAutomatic("B", Boolean.TRUE);
+        configuration.setAutomatic("C", Boolean.FALSE);
+
+        BooleanConfiguration copy = configuration.clone();
+        copy.resetAutomatic(false);
+        assertEquals(List.of("B"), copy.getAutomatic());
+
+        configuration.makeManual();
+        assertTrue(configuration.getAutomatic().isEmpty());
+        assertEquals(List.of("A", "B", "C"), configuration.getManual());
+        assertEquals(Boolean.TRUE, configuration.getManual(2));
+        assertEquals(Boolean.FALSE, configuration.getManual(3));
+
+        copy.adopt(configuration);
+        assertEquals(configuration, copy);
+
+        configuration.reset();
+        assertNull(configuration.getSelection(1));
+        assertEquals(List.of("A", "B", "C", "D"), configuration.getUndefined());
+    }
+}
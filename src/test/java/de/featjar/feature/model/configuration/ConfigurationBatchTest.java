@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.featjar.feature.configuration.ConfigurationBatch;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ConfigurationBatchTest {
+
+    private static BooleanAssignmentList createSample() {
+        return new BooleanAssignmentList(
+                new VariableMap(List.of("A", "B", "C")),
+                List.of(
+                        new BooleanAssignment(1, 2, -3),
+                        new BooleanAssignment(-1, 2),
+                        new BooleanAssignment(1, -2, 3)));
+    }
+
+    @Test
+    public void testCounts() {
+        ConfigurationBatch batch = new ConfigurationBatch(createSample());
+        assertEquals(3, batch.size());
+        assertEquals(2, batch.countSelected(1));
+        assertEquals(1, batch.countDeselected(1));
+        assertEquals(0, batch.countUndefined(1));
+        assertEquals(1, batch.countSelected(3));
+        assertEquals(1, batch.countUndefined(3));
+    }
+
+    @Test
+    public void testContradictingLiterals() {
+        ConfigurationBatch batch = new ConfigurationBatch(new BooleanAssignmentList(
+                new VariableMap(List.of("A", "B")), List.of(new BooleanAssignment(1, -1, 2))));
+        assertEquals(1, batch.countSelected(1));
+        assertEquals(0, batch.countDeselected(1));
+        assertEquals(0, batch.countUndefined(1));
+    }
+
+    @Test
+    public void testInvalidLiterals() {
+        ConfigurationBatch batch = new ConfigurationBatch(createSample());
+        assertThrows(IllegalArgumentException.class, () -> batch.getMatching(0));
+        assertThrows(IllegalArgumentException.class, () -> batch.getMatching(4));
+        assertThrows(IllegalArgumentException.class, () -> batch.getMatching(1, -4));
+    }
+
+    @Test
+    public void testConversion() {
+        BooleanAssignmentList sample = createSample();
+        BooleanAssignmentList converted = new ConfigurationBatch(sample).toBooleanAssignmentList();
+        assertEquals(sample.getAll().size(), converted.getAll().size());
+        for (int i = 0; i < sample.getAll().size(); i++) {
+            assertArrayEquals(
+                    sample.getAll().get(i).get(), converted.getAll().get(i).get());
+        }
+    }
+
+    @Test
+    public void testFilterAndProject() {
+        ConfigurationBatch batch = new ConfigurationBatch(createSample());
+        ConfigurationBatch filtered = batch.filter(batch.getMatching(1));
+        assertEquals(2, filtered.size());
+        assertArrayEquals(new int[] {1, -2, 3}, filtered.getAssignment(1).get());
+
+        ConfigurationBatch projected = batch.project(List.of("C", "A"));
+        assertEquals(1, projected.getVariableMap().get("C").get());
+        assertArrayEquals(new int[] {1, -2}, projected.getAssignment(0).get());
+        assertEquals(1, projected.countUndefined(1));
+    }
+}
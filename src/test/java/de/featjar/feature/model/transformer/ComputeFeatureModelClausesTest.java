@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.transformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.data.Range;
+import de.featjar.base.data.Result;
+import de.featjar.base.data.identifier.Identifiers;
+import de.featjar.feature.model.FeatureModel;
+import de.featjar.feature.model.IFeatureModel.IMutableFeatureModel;
+import de.featjar.feature.model.IFeatureTree.IMutableFeatureTree;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.connective.BiImplies;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Not;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.predicate.Literal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link ComputeFeatureModelClauses} is equivalent to the translation via {@link ComputeFormula}.
+ *
+ * @author Sebastian Krieter
+ */
+class ComputeFeatureModelClausesTest {
+
+    @BeforeAll
+    public static void init() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void deinit() {
+        FeatJAR.deinitialize();
+    }
+
+    private IMutableFeatureTree below(
+            IMutableFeatureModel featureModel, IMutableFeatureTree parentTreeNode, String name) {
+        return parentTreeNode.addFeatureBelow(featureModel.addFeature(name)).mutate();
+    }
+
+    @Test
+    void directTranslationIsEquivalent() {
+        IMutableFeatureModel model = new FeatureModel(Identifiers.newCounterIdentifier()).mutate();
+        IMutableFeatureTree root =
+                model.addFeatureTreeRoot(model.addFeature("root")).mutate();
+        root.makeMandatory();
+        root.toOrGroup();
+        IMutableFeatureTree a = below(model, root, "A");
+        below(model, root, "B");
+        a.toAlternativeGroup();
+        below(model, a, "C");
+        below(model, a, "D");
+        below(model, a, "E");
+        IMutableFeatureTree f = below(model, root, "F");
+        f.toCardinalityGroup(Range.of(1, 2));
+        below(model, f, "G");
+        below(model, f, "H");
+        below(model, f, "I");
+
+        model.addConstraint(new Implies(new Literal("C"), new Literal("B")));
+        model.addConstraint(new Or(new Not(new Literal("D")), new Literal("G")));
+        model.addConstraint(new BiImplies(new Literal("B"), new Literal("H")));
+
+        Result<BooleanAssignmentList> direct =
+                Computations.of(model).map(ComputeFeatureModelClauses::new).computeResult();
+        assertTrue(direct.isPresent(), direct.printProblems());
+        BooleanAssignmentList expected = Computations.of(model)
+                .map(ComputeFormula::new)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+
+        List<String> names = model.getFeatures().stream()
+                .map(feature -> feature.getName().get())
+                .collect(Collectors.toList());
+        VariableMap expectedVariableMap = expected.getVariableMap();
+        VariableMap directVariableMap = direct.get().getVariableMap();
+        assertEquals(expectedVariableMap.maxIndex(), directVariableMap.maxIndex());
+        for (int i = 1; i <= expectedVariableMap.maxIndex(); i++) {
+            assertEquals(expectedVariableMap.get(i), directVariableMap.get(i));
+        }
+        assertEquals(
+                List.of("root", "A", "B", "F", "C", "D", "E", "G", "H", "I"),
+                directVariableMap.getVariableNames().stream().limit(10).collect(Collectors.toList()));
+
+        for (int selection = 0; selection < (1 << names.size()); selection++) {
+            int bits = selection;
+            Map<String, Boolean> assignment = names.stream()
+                    .collect(Collectors.toMap(
+                            Function.identity(), name -> (bits & (1 << names.indexOf(name))) != 0));
+            assertEquals(isSatisfied(expected, assignment), isSatisfied(direct.get(), assignment));
+        }
+    }
+
+    private static boolean isSatisfied(BooleanAssignmentList clauses, Map<String, Boolean> assignment) {
+        VariableMap variableMap = clauses.getVariableMap();
+        for (BooleanAssignment clause : clauses.getAll()) {
+            boolean satisfied = false;
+            for (int literal : clause.get()) {
+                String name = variableMap.get(Math.abs(literal)).orElseThrow();
+                if (assignment.get(name) == literal > 0) {
+                    satisfied = true;
+                    break;
+                }
+            }
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -21,8 +21,11 @@
 package de.featjar.feature.model.transformer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
 import de.featjar.base.FeatJAR;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.data.Attribute;
@@ -36,6 +39,10 @@ import de.featjar.feature.model.IFeatureModel.IMutableFeatureModel;
 import de.featjar.feature.model.IFeatureTree.IMutableFeatureTree;
 import de.featjar.feature.model.constraints.AttributeAverage;
 import de.featjar.feature.model.constraints.AttributeSum;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
 import de.featjar.formula.structure.Expressions;
 import de.featjar.formula.structure.IFormula;
 import de.featjar.formula.structure.connective.And;
@@ -55,6 +62,11 @@ import de.featjar.formula.structure.term.IfThenElse;
 import de.featjar.formula.structure.term.function.integer.IntegerAdd;
 import de.featjar.formula.structure.term.function.integer.IntegerDivide;
 import de.featjar.formula.structure.term.value.Constant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -659,4 +671,198 @@ class ComputeFormulaTest {
 
         translateAndCompareFeatureModel(model, expected);
     }
+
+    @Test
+    void formulaIsMemoizedPerVersion() {
+        FeatureModel model = new FeatureModel(Identifiers.newCounterIdentifier());
+        IMutableFeatureTree root =
+                model.addFeatureTreeRoot(model.addFeature("root")).mutate();
+        below(model, root, "A");
+
+        long version = model.getVersion();
+        IFormula formula = FeatureModelFormulas.getFormula(model);
+        assertSame(formula, FeatureModelFormulas.getFormula(model));
+        assertEquals(version, model.getVersion());
+
+        below(model, root, "B");
+        assertTrue(model.getVersion() > version);
+        IFormula newFormula = FeatureModelFormulas.getFormula(model);
+        assertNotSame(formula, newFormula);
+        assertEquals(
+                Expressions.print(Computations.of((IFeatureModel) model)
+                        .map(ComputeFormula::new)
+                        .compute()),
+                Expressions.print(newFormula));
+    }
+
+    @Test
+    void groupEncodingsAreEquivalent() {
+        IMutableFeatureModel model = new FeatureModel(Identifiers.newCounterIdentifier()).mutate();
+        IMutableFeatureTree root =
+                model.addFeatureTreeRoot(model.addFeature("root")).mutate();
+        root.makeMandatory();
+        root.toAlternativeGroup();
+        IMutableFeatureTree a1 = below(model, root, "A1");
+        for (int i = 2; i <= 6; i++) {
+            below(model, root, "A" + i);
+        }
+        a1.toCardinalityGroup(Range.of(2, 3));
+        for (int i = 1; i <= 5; i++) {
+            below(model, a1, "B" + i);
+        }
+
+        List<String> names = model.getFeatures().stream()
+                .map(feature -> feature.getName().get())
+                .collect(Collectors.toList());
+        Set<Integer> expected = getSolutions(model, GroupEncoding.PAIRWISE, names);
+        assertTrue(expected.size() > 1);
+        for (GroupEncoding encoding : GroupEncoding.values()) {
+            assertEquals(expected, getSolutions(model, encoding, names), encoding.name());
+        }
+    }
+
+    private static Set<Integer> getSolutions(IFeatureModel model, GroupEncoding encoding, List<String> names) {
+        BooleanAssignmentList cnf = Computations.of(model)
+                .map(ComputeFormula::new)
+                .set(ComputeFormula.ALTERNATIVE_ENCODING, encoding)
+                .set(ComputeFormula.CARDINALITY_ENCODING, encoding)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+        SAT4JSolutionSolver solver = new SAT4JSolutionSolver(cnf, false);
+        solver.getClauseList().addAll(cnf);
+
+        Set<Integer> solutions = new HashSet<>();
+        for (int selection = 0; selection < (1 << names.size()); selection++) {
+            int[] assumptions = new int[names.size()];
+            for (int i = 0; i < names.size(); i++) {
+                int index = cnf.getVariableMap().get(names.get(i)).orElseThrow();
+                assumptions[i] = (selection & (1 << i)) != 0 ? index : -index;
+            }
+            if (solver.hasSolution(assumptions).orElseThrow()) {
+                solutions.add(selection);
+            }
+        }
+        return solutions;
+    }
+
+    @Test
+    void parallelTranslationIsIdentical() {
+        IMutableFeatureModel model = new FeatureModel(Identifiers.newCounterIdentifier()).mutate();
+        IMutableFeatureTree root =
+                model.addFeatureTreeRoot(model.addFeature("root")).mutate();
+        root.makeMandatory();
+        for (int i = 0; i < 4; i++) {
+            IMutableFeatureTree child = below(model, root, "A" + i);
+            child.toAlternativeGroup();
+            for (int j = 0; j < 3; j++) {
+                IMutableFeatureTree grandChild = below(model, child, "A" + i + "B" + j);
+                grandChild.toOrGroup();
+                below(model, grandChild, "A" + i + "B" + j + "C");
+                below(model, grandChild, "A" + i + "B" + j + "D");
+            }
+        }
+        IMutableFeatureTree multiple = below(model, root, "M");
+        multiple.setFeatureCardinality(Range.of(0, 2));
+        below(model, multiple, "MA");
+        below(model, multiple, "MB");
+        for (int i = 0; i < 4; i++) {
+            model.addConstraint(new Implies(positive("A" + i + "B0C"), positive("A" + ((i + 1) % 4) + "B1D")));
+        }
+        model.addConstraint(new Implies(positive("MA"), positive("A0")));
+
+        IFormula sequential = Computations.of((IFeatureModel) model)
+                .map(ComputeFormula::new)
+                .set(ComputeFormula.ALTERNATIVE_ENCODING, GroupEncoding.SEQUENTIAL_COUNTER)
+                .compute();
+        IFormula parallel = Computations.of((IFeatureModel) model)
+                .map(ComputeFormula::new)
+                .set(ComputeFormula.ALTERNATIVE_ENCODING, GroupEncoding.SEQUENTIAL_COUNTER)
+                .set(ComputeFormula.PARALLEL, Boolean.TRUE)
+                .compute();
+
+        assertEquals(Expressions.print(sequential), Expressions.print(parallel));
+        assertEquals(
+                new ArrayList<>(sequential.getVariableMap().keySet()),
+                new ArrayList<>(parallel.getVariableMap().keySet()));
+    }
+
+    @Test
+    void nestedFeatureCardinalityVariablesAreNamedByPath() {
+        IMutableFeatureModel model = new FeatureModel(Identifiers.newCounterIdentifier()).mutate();
+        IMutableFeatureTree root =
+                model.addFeatureTreeRoot(model.addFeature("root")).mutate();
+        root.makeMandatory();
+        IMutableFeatureTree a = below(model, root, "A");
+        a.setFeatureCardinality(Range.of(0, 2));
+        IMutableFeatureTree b = below(model, a, "B");
+        b.setFeatureCardinality(Range.of(0, 2));
+        below(model, b, "BA");
+        model.addConstraint(implies(positive("BA"), positive("root")));
+
+        IFormula sequential = Computations.of((IFeatureModel) model)
+                .map(ComputeFormula::new)
+                .compute();
+        IFormula parallel = Computations.of((IFeatureModel) model)
+                .map(ComputeFormula::new)
+                .set(ComputeFormula.PARALLEL, Boolean.TRUE)
+                .compute();
+
+        assertEquals(
+                List.of(
+                        "root",
+                        "A_1",
+                        "A_2",
+                        "B_1.A_1",
+                        "B_2.A_1",
+                        "BA.B_1.A_1",
+                        "BA.B_2.A_1",
+                        "B_1.A_2",
+                        "B_2.A_2",
+                        "BA.B_1.A_2",
+                        "BA.B_2.A_2"),
+                new ArrayList<>(sequential.getVariableMap().keySet()));
+        assertEquals(Expressions.print(sequential), Expressions.print(parallel));
+        assertEquals(
+                new ArrayList<>(sequential.getVariableMap().keySet()),
+                new ArrayList<>(parallel.getVariableMap().keySet()));
+        String expandedConstraint = Expressions.print(implies(positive("BA.B_2.A_2"), positive("root")));
+        assertTrue(Expressions.print(sequential).contains(expandedConstraint), Expressions.print(sequential));
+    }
+
+    @Test
+    void scopedExpansionEmitsGuardedConstraints() {
+        IMutableFeatureModel model = new FeatureModel(Identifiers.newCounterIdentifier()).mutate();
+        IMutableFeatureTree root =
+                model.addFeatureTreeRoot(model.addFeature("root")).mutate();
+        root.makeMandatory();
+        IMutableFeatureTree a = below(model, root, "A");
+        a.setFeatureCardinality(Range.of(0, 2));
+        below(model, a, "AA");
+        below(model, root, "B");
+        model.addConstraint(implies(positive("AA"), positive("B")));
+
+        IFormula expected = new Reference(and(
+                positive("root"),
+                implies(positive("A_1"), positive("root")),
+                implies(positive("A_2"), positive("A_1")),
+                implies(positive("B"), positive("root")),
+                implies(positive("AA.A_1"), positive("A_1")),
+                implies(positive("AA.A_2"), positive("A_2")),
+                implies(positive("A_1"), implies(positive("AA.A_1"), positive("B"))),
+                implies(positive("A_2"), implies(positive("AA.A_2"), positive("B")))));
+        Result<IFormula> result = Computations.of((IFeatureModel) model)
+                .map(ComputeFormula::new)
+                .set(ComputeFormula.SCOPED_EXPANSION, Boolean.TRUE)
+                .computeResult();
+        assertTrue(result.isPresent(), result.printProblems());
+        assertEquals(Expressions.print(expected), Expressions.print(result.get()));
+
+        Result<IFormula> limitedResult = Computations.of((IFeatureModel) model)
+                .map(ComputeFormula::new)
+                .set(ComputeFormula.EXPANSION_LIMIT, 1)
+                .computeResult();
+        assertTrue(limitedResult.isEmpty());
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-feature-model.
+ *
+ * feature-model is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * feature-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with feature-model. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-feature-model> for further information.
+ */
+package de.featjar.feature.model.transformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.data.identifier.Identifiers;
+import de.featjar.feature.model.FeatureModel;
+import de.featjar.feature.model.IConstraint;
+import de.featjar.feature.model.IFeatureModel;
+import de.featjar.feature.model.IFeatureTree.IMutableFeatureTree;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Reference;
+import de.featjar.formula.structure.predicate.Literal;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link IncrementalFormulaTranslator} produces the same formula as {@link ComputeFormula}.
+ *
+ * @author Sebastian Krieter
+ */
+class IncrementalFormulaTranslatorTest {
+
+    @BeforeAll
+    public static void init() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void deinit() {
+        FeatJAR.deinitialize();
+    }
+
+    private IMutableFeatureTree below(FeatureModel featureModel, IMutableFeatureTree parentTreeNode, String name) {
+        return parentTreeNode.addFeatureBelow(featureModel.addFeature(name)).mutate();
+    }
+
+    private static void assertTranslation(FeatureModel featureModel, IFormula formula) {
+        assertEquals(
+                Expressions.print(Computations.of((IFeatureModel) featureModel)
+                        .map(ComputeFormula::new)
+                        .compute()),
+                Expressions.print(formula));
+    }
+
+    private static List<? extends IExpression> getChildren(IFormula formula) {
+        return ((Reference) formula).getExpression().getChildren();
+    }
+
+    @Test
+    void translationIsUpdatedIncrementally() {
+        FeatureModel model = new FeatureModel(Identifiers.newCounterIdentifier());
+        IMutableFeatureTree root =
+                model.addFeatureTreeRoot(model.addFeature("root")).mutate();
+        root.makeMandatory();
+        IMutableFeatureTree a = below(model, root, "A");
+        a.toAlternativeGroup();
+        below(model, a, "AA");
+        below(model, a, "AB");
+        IMutableFeatureTree b = below(model, root, "B");
+        b.toOrGroup();
+        IMutableFeatureTree ba = below(model, b, "BA");
+        below(model, b, "BB");
+        IConstraint constraint = model.addConstraint(new Implies(new Literal("AA"), new Literal("BA")));
+
+        try (IncrementalFormulaTranslator translator = new IncrementalFormulaTranslator(model)) {
+            IFormula formula = translator.getFormula();
+            assertTranslation(model, formula);
+            assertSame(formula, translator.getFormula());
+
+            model.addConstraint(new Implies(new Literal("AB"), new Literal("BB")));
+            IFormula newFormula = translator.getFormula();
+            assertTranslation(model, newFormula);
+            assertNotSame(formula, newFormula);
+            for (int i = 0; i < getChildren(formula).size(); i++) {
+                assertSame(getChildren(formula).get(i), getChildren(newFormula).get(i));
+            }
+
+            below(model, ba, "BAA");
+            assertTranslation(model, translator.getFormula());
+
+            model.getFeatureTreeNodes("AB").get(0).mutate().removeFromTree();
+            assertTranslation(model, translator.getFormula());
+
+            a.makeOptional();
+            b.toAlternativeGroup();
+            assertTranslation(model, translator.getFormula());
+
+            model.removeConstraint(constraint);
+            assertTranslation(model, translator.getFormula());
+
+            model.getFeature("BB").get().mutate().setName("BC");
+            assertTranslation(model, translator.getFormula());
+        }
+    }
+}